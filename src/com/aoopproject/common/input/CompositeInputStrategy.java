@@ -0,0 +1,50 @@
+package com.aoopproject.common.input;
+
+import com.aoopproject.framework.core.GameView;
+import com.aoopproject.framework.core.InputStrategy;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An {@link InputStrategy} that combines several strategies, so that a controller holding a single
+ * strategy can take input from several sources at once (e.g., the keyboard and the mouse).
+ * Every call is forwarded to each strategy in the given order.
+ */
+public class CompositeInputStrategy implements InputStrategy {
+
+    private final List<InputStrategy> strategies;
+
+    /**
+     * Constructs a CompositeInputStrategy.
+     *
+     * @param strategies The strategies to combine. Neither the array nor its elements may be null.
+     */
+    public CompositeInputStrategy(InputStrategy... strategies) {
+        Objects.requireNonNull(strategies, "Strategies cannot be null for CompositeInputStrategy.");
+        for (InputStrategy strategy : strategies) {
+            Objects.requireNonNull(strategy, "A combined input strategy cannot be null.");
+        }
+        this.strategies = List.of(strategies);
+    }
+
+    /**
+     * Initializes each combined strategy with the given view.
+     *
+     * @param gameView The game view passed on to each strategy.
+     */
+    @Override
+    public void initialize(GameView gameView) {
+        for (InputStrategy strategy : strategies) {
+            strategy.initialize(gameView);
+        }
+    }
+
+    /** Disposes of each combined strategy. */
+    @Override
+    public void dispose() {
+        for (InputStrategy strategy : strategies) {
+            strategy.dispose();
+        }
+    }
+}
@@ -6,7 +6,10 @@ import com.aoopproject.framework.core.GameView;
 import com.aoopproject.framework.core.InputStrategy;
 import com.aoopproject.games.samegame.SameGameViewSwing;
 import com.aoopproject.games.samegame.action.SameGameSelectAction;
+import com.aoopproject.games.sokoban.action.SokobanWalkAction;
+import com.aoopproject.games.sokoban.view.SokobanViewSwing;
 
+import javax.swing.JPanel;
 import javax.swing.SwingUtilities;
 import java.awt.Point;
 import java.awt.event.MouseAdapter;
@@ -14,13 +17,16 @@ import java.awt.event.MouseEvent;
 
 
 /**
- * An {@link InputStrategy} that captures mouse clicks on a {@link SameGameViewSwing.GamePanel}.
- * It converts mouse coordinates to tile coordinates and generates {@link SameGameSelectAction}s.
+ * An {@link InputStrategy} that captures mouse clicks on the game panel of a Swing view.
+ * It converts mouse coordinates to tile coordinates and generates a game-specific action:
+ * a {@link SameGameSelectAction} on a {@link SameGameViewSwing.GamePanel}, or a
+ * {@link SokobanWalkAction} (click-to-move) on a {@link SokobanViewSwing.GamePanel}.
  */
 public class MouseInputStrategy implements InputStrategy {
 
-    private SameGameViewSwing swingView;
-    private SameGameViewSwing.GamePanel gamePanel;
+    private JPanel gamePanel;
+    /** {@code true} when attached to a Sokoban panel, {@code false} for SameGame. */
+    private boolean sokobanMode;
     private AbstractGameController gameController;
 
 
@@ -41,18 +47,18 @@ public class MouseInputStrategy implements InputStrategy {
         if (gameView == null) {
             throw new IllegalArgumentException("GameView passed to MouseInputStrategy.initialize cannot be null. Ensure a view is available.");
         }
-        if (!(gameView instanceof SameGameViewSwing)) {
-            throw new IllegalArgumentException("MouseInputStrategy requires a SameGameViewSwing instance. Received: " + gameView.getClass().getName());
+        if (gameView instanceof SameGameViewSwing) {
+            this.gamePanel = ((SameGameViewSwing) gameView).getGamePanel();
+            this.sokobanMode = false;
+        } else if (gameView instanceof SokobanViewSwing) {
+            this.gamePanel = ((SokobanViewSwing) gameView).getGamePanel();
+            this.sokobanMode = true;
+        } else {
+            throw new IllegalArgumentException("MouseInputStrategy requires a SameGameViewSwing or SokobanViewSwing instance. Received: " + gameView.getClass().getName());
         }
-        this.swingView = (SameGameViewSwing) gameView;
-        if (!(gameView instanceof SameGameViewSwing)) {
-            throw new IllegalArgumentException("MouseInputStrategy requires a SameGameViewSwing instance.");
-        }
-        this.swingView = (SameGameViewSwing) gameView;
-        this.gamePanel = this.swingView.getGamePanel();
 
         if (this.gamePanel == null) {
-            throw new IllegalStateException("GamePanel is null in SameGameViewSwing. Ensure view is fully initialized.");
+            throw new IllegalStateException("GamePanel is null in " + gameView.getClass().getSimpleName() + ". Ensure view is fully initialized.");
         }
         for (java.awt.event.MouseListener ml : this.gamePanel.getMouseListeners()) {
             if (ml instanceof PanelMouseListener) {
@@ -80,6 +86,7 @@ public class MouseInputStrategy implements InputStrategy {
      * Inner class to handle mouse events on the GamePanel.
      * This listener converts click coordinates from the mouse event into
      * game-specific tile coordinates. It then creates a {@link SameGameSelectAction}
+     * (or a {@link SokobanWalkAction} in Sokoban mode)
      * and submits this action directly to the game controller via its
      * {@link AbstractGameController#submitUserAction(GameAction)} method.
      */
@@ -92,13 +99,15 @@ public class MouseInputStrategy implements InputStrategy {
                 return;
             }
 
-            Point tileCoords = gamePanel.getTileCoordinatesForMouse(e.getX(), e.getY());
+            Point tileCoords = sokobanMode
+                    ? ((SokobanViewSwing.GamePanel) gamePanel).getTileCoordinatesForMouse(e.getX(), e.getY())
+                    : ((SameGameViewSwing.GamePanel) gamePanel).getTileCoordinatesForMouse(e.getX(), e.getY());
 
             if (tileCoords != null) {
                 int row = tileCoords.x;
                 int col = tileCoords.y;
 
-                SameGameSelectAction action = new SameGameSelectAction(row, col);
+                GameAction action = sokobanMode ? new SokobanWalkAction(row, col) : new SameGameSelectAction(row, col);
                 System.out.println("Mouse click generated action: " + action.getName());
                 gameController.submitUserAction(action);
             }
@@ -2,7 +2,8 @@ package com.aoopproject.common.model;
 
 /**
  * Represents the predefined difficulty levels for SameGame.
- * Each level has associated settings for rows, columns, and number of colors.
+ * Each level has associated settings for rows, columns, and number of colors, and may ask for
+ * boards that are known to be clearable.
  */
 public enum DifficultyLevel {
     EASY("Easy", 8, 12, 3),
@@ -13,12 +14,18 @@ public enum DifficultyLevel {
     private final int rows;
     private final int cols;
     private final int numColors;
+    private final boolean solvableOnly;
 
     DifficultyLevel(String displayName, int rows, int cols, int numColors) {
+        this(displayName, rows, cols, numColors, false);
+    }
+
+    DifficultyLevel(String displayName, int rows, int cols, int numColors, boolean solvableOnly) {
         this.displayName = displayName;
         this.rows = rows;
         this.cols = cols;
         this.numColors = numColors;
+        this.solvableOnly = solvableOnly;
     }
 
     public String getDisplayName() {
@@ -37,6 +44,16 @@ public enum DifficultyLevel {
         return numColors;
     }
 
+    /**
+     * Checks whether only boards that can be cleared completely are dealt at this level.
+     * No predefined level asks for them yet; a game can still request them through
+     * {@code SameGameModel.setSolvableOnly(boolean)}.
+     * @return {@code true} if every board dealt can be cleared.
+     */
+    public boolean isSolvableOnly() {
+        return solvableOnly;
+    }
+
     @Override
     public String toString() {
         return displayName;
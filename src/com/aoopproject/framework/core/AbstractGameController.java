@@ -114,7 +114,7 @@ public class AbstractGameController {
 
     /**
      * Cleans up resources when the game is over or the controller is disposed.
-     * This involves disposing of the views and the input strategy.
+     * This involves disposing of the views, the input strategy and the model's background resources.
      */
     public void dispose() {
         if (inputStrategy != null) {
@@ -124,6 +124,9 @@ public class AbstractGameController {
             removeGameView(view);
         }
         gameViews.clear();
+        if (gameModel != null) {
+            gameModel.dispose();
+        }
     }
 
     /**
@@ -5,9 +5,7 @@ import com.aoopproject.common.action.QuitAction;
 import com.aoopproject.common.action.UndoAction;
 import com.aoopproject.common.score.ScoreEntry;
 
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Deque;
 import java.util.List;
 import java.util.Objects;
 
@@ -19,7 +17,8 @@ import java.util.Objects;
  * <li>The current score.</li>
  * <li>The current {@link GameStatus} (e.g., PLAYING, GAME_OVER_WIN).</li>
  * <li>A list of {@link GameObserver}s to be notified of {@link GameEvent}s.</li>
- * <li>A history stack ({@code Deque<Object>}) for implementing undo functionality.</li>
+ * <li>A memory-bounded {@link GameHistory} for implementing undo functionality, created by the
+ * concrete model through {@link #createHistory(HistoryParticipant)} and limited by a {@link HistoryPolicy}.</li>
  * </ul>
  * This class provides a template for action processing by handling common framework
  * actions (New Game, Undo, Quit) in its final {@link #processInputAction(GameAction)} method
@@ -42,20 +41,67 @@ public abstract class AbstractGameModel {
     protected GameStatus currentStatus;
     /** List of registered observers to be notified of game events. */
     private final List<GameObserver> observers;
-    /** Stack to store game states for undo functionality. Subclasses manage the type of state objects. */
-    protected final Deque<Object> historyStack;
+    /** The undo history registered by the concrete model, or {@code null} if it keeps none. */
+    private GameHistory<?> history;
+    /** The limits applied to {@link #history}. */
+    private HistoryPolicy historyPolicy = HistoryPolicy.DEFAULT;
 
     /**
      * Constructs an {@code AbstractGameModel}.
      * Initializes the list of observers, sets the initial score to 0,
-     * the initial game status to {@link GameStatus#INITIALIZING},
-     * and initializes the history stack for undo operations.
+     * and the initial game status to {@link GameStatus#INITIALIZING}.
+     * Concrete models create their undo history with {@link #createHistory(HistoryParticipant)}.
      */
     protected AbstractGameModel() {
         this.observers = new ArrayList<>();
         this.score = 0;
         this.currentStatus = GameStatus.INITIALIZING;
-        this.historyStack = new ArrayDeque<>();
+    }
+
+    /**
+     * Creates the undo history of this model, limited by the current {@link #getHistoryPolicy() history policy}.
+     * Concrete models call this once, typically on first use rather than while being constructed, and record
+     * their moves in the returned history.
+     *
+     * @param participant The model's snapshot and delta handler.
+     * @param <S>         The snapshot type.
+     * @return The new history, also available through {@link #getHistory()}.
+     */
+    protected final <S> GameHistory<S> createHistory(HistoryParticipant<S> participant) {
+        GameHistory<S> newHistory = new GameHistory<>(participant, historyPolicy);
+        this.history = newHistory;
+        return newHistory;
+    }
+
+    /**
+     * Gets the undo history of this model, e.g. to inspect its memory footprint.
+     *
+     * @return The history, or {@code null} if the model keeps none or has not created it yet.
+     */
+    public GameHistory<?> getHistory() {
+        return history;
+    }
+
+    /**
+     * Gets the limits applied to the undo history.
+     *
+     * @return The current {@link HistoryPolicy}.
+     */
+    public HistoryPolicy getHistoryPolicy() {
+        return historyPolicy;
+    }
+
+    /**
+     * Sets the limits applied to the undo history. An existing history is trimmed to the new limits immediately.
+     *
+     * @param historyPolicy The new policy. Must not be {@code null}.
+     * @throws NullPointerException if historyPolicy is {@code null}.
+     */
+    public void setHistoryPolicy(HistoryPolicy historyPolicy) {
+        this.historyPolicy = Objects.requireNonNull(historyPolicy, "HistoryPolicy cannot be null.");
+        if (this.history != null) {
+            this.history.setPolicy(historyPolicy);
+        }
     }
 
     /**
@@ -223,7 +269,7 @@ public abstract class AbstractGameModel {
      * Initializes or resets the game to its starting state specific to the concrete game.
      * This typically involves setting up the game board ({@link #gameBoard}),
      * resetting the score ({@link #score}), setting the {@link #currentStatus}
-     * (usually to {@link GameStatus#PLAYING}), clearing any history ({@link #historyStack}),
+     * (usually to {@link GameStatus#PLAYING}), clearing any history ({@link GameHistory#clear()}),
      * and notifying observers with appropriate events like "BOARD_INITIALIZED" and "NEW_GAME_STARTED".
      */
     public abstract void initializeGame();
@@ -238,7 +284,7 @@ public abstract class AbstractGameModel {
      * <ul>
      * <li>Validate the game-specific action.</li>
      * <li>If valid, update the game state (board, score, player position, etc.).</li>
-     * <li>Push previous state to {@link #historyStack} if the action is undoable.</li>
+     * <li>Record the move in the model's {@link GameHistory} if the action is undoable.</li>
      * <li>Notify observers of relevant changes (e.g., "BOARD_CHANGED", "SCORE_UPDATED", game-specific events).</li>
      * <li>Call {@link #checkEndGameConditions()} if the action could lead to game end.</li>
      * <li>If the action is invalid by game rules (but passed initial type checks), notify observers
@@ -273,9 +319,9 @@ public abstract class AbstractGameModel {
 
     /**
      * Reverts the game state to before the last successfully processed and undoable move.
-     * Concrete game models must implement this by popping a saved state from the
-     * {@link #historyStack} and restoring all relevant game attributes (board, score,
-     * player position, specific game counters, etc.).
+     * Concrete game models must implement this by undoing the latest move of their
+     * {@link GameHistory}, which restores all relevant game attributes (board, score,
+     * player position, specific game counters, etc.) through their {@link HistoryParticipant}.
      * After restoring, it should set the status (usually to {@link GameStatus#PLAYING})
      * and notify observers of changes ("BOARD_CHANGED", "UNDO_PERFORMED", etc.).
      */
@@ -283,9 +329,18 @@ public abstract class AbstractGameModel {
 
     /**
      * Checks if an undo operation can currently be performed.
-     * Typically, this means checking if the {@link #historyStack} is not empty.
+     * Typically, this means checking {@link GameHistory#canUndo()}.
      *
      * @return {@code true} if an undo operation is possible, {@code false} otherwise.
      */
     public abstract boolean canUndo();
-}
\ No newline at end of file
+
+    /**
+     * Releases resources the model holds outside the game state, such as background worker threads.
+     * Called when the model's game session ends, e.g. by {@link AbstractGameController#dispose()} or when
+     * its window is closed. The base implementation holds no such resources and does nothing; models
+     * that start workers override it. A disposed model may still be used, restarting workers as needed.
+     */
+    public void dispose() {
+    }
+}
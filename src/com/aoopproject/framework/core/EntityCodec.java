@@ -0,0 +1,41 @@
+package com.aoopproject.framework.core;
+
+/**
+ * Maps the entities of a game to small integer codes and back, so that a board
+ * can be stored as primitive values (see {@link PackedGrid}) instead of one object per cell.
+ * <p>
+ * Codes are dense: every code lies in {@code [0, codeCount())}. Code {@code 0} is the
+ * value every cell of a freshly created {@link PackedGrid} starts with, so codecs
+ * conventionally map it to their empty entity. Entities returned by {@link #decode(int)}
+ * are shared flyweight instances and must be treated as read-only by callers.
+ * </p>
+ *
+ * @param <T> The type of {@link GameEntity} handled by this codec.
+ */
+public interface EntityCodec<T extends GameEntity> {
+
+    /**
+     * Gets the number of distinct codes this codec can produce.
+     * A {@link PackedGrid} uses this to pick the narrowest primitive cell type.
+     *
+     * @return The number of codes; all codes are in {@code [0, codeCount())}.
+     */
+    int codeCount();
+
+    /**
+     * Encodes an entity as its cell code.
+     *
+     * @param entity The entity to encode. Implementations decide how {@code null} is handled.
+     * @return The code representing the entity.
+     * @throws IllegalArgumentException if the entity cannot be represented by this codec.
+     */
+    int encode(T entity);
+
+    /**
+     * Decodes a cell code into its (shared) entity instance.
+     *
+     * @param code A code in {@code [0, codeCount())}.
+     * @return The flyweight entity for the code.
+     */
+    T decode(int code);
+}
@@ -0,0 +1,375 @@
+package com.aoopproject.framework.core;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Objects;
+
+/**
+ * A memory-bounded undo history shared by all game models.
+ * <p>
+ * Each move is recorded as a short run of {@code int} delta words in one growable buffer;
+ * reverting a move hands its words back to the {@link HistoryParticipant}. Every
+ * {@link HistoryPolicy#checkpointInterval()} moves a full snapshot (a <em>checkpoint</em>)
+ * is taken as well, so that {@link #undoTo(int)} can jump back to a checkpoint instead of
+ * reverting every move in between. A move whose change cannot be expressed as a delta can
+ * be recorded with {@link #recordWithSnapshot(Object)}; it is undone by restoring that snapshot.
+ * </p>
+ * <p>
+ * Moves are numbered from 0 since the last {@link #clear()}; checkpoint {@code k} holds the state
+ * after {@code k} moves. When the history exceeds its {@link HistoryPolicy}, it first merges the
+ * delta spans around the oldest periodic checkpoints by dropping those checkpoints, and only then
+ * evicts the oldest moves, which makes them no longer undoable.
+ * </p>
+ *
+ * @param <S> The snapshot type of the participant.
+ */
+public final class GameHistory<S> {
+
+    /** Estimated bookkeeping cost of one checkpoint beyond its snapshot. */
+    private static final long CHECKPOINT_OVERHEAD_BYTES = 32;
+    /** Bookkeeping cost of one recorded move: its word offset and length. */
+    private static final long MOVE_OVERHEAD_BYTES = 2L * Integer.BYTES;
+    /** Length marker of a move that is undone from a snapshot rather than a delta. */
+    private static final int SNAPSHOT_MOVE = -1;
+
+    /** A full snapshot of the state after {@code index} moves. */
+    private record Checkpoint<S>(int index, S snapshot, long bytes, boolean pinned) {}
+
+    private final HistoryParticipant<S> participant;
+    private HistoryPolicy policy;
+
+    private int[] words = new int[256];
+    private int wordStart;
+    private int wordEnd;
+
+    private int[] moveOffsets = new int[64];
+    private int[] moveLengths = new int[64];
+    private int moveHead;
+    private int moveTail;
+
+    /** Number of the oldest retained move. */
+    private int firstMove;
+    /** Number of moves made since the last clear; also the number of the next move. */
+    private int moveCount;
+
+    private final Deque<Checkpoint<S>> checkpoints = new ArrayDeque<>();
+    private long checkpointBytes;
+
+    /**
+     * Creates an empty history.
+     *
+     * @param participant The game-specific snapshot and delta handler. Must not be null.
+     * @param policy      The limits to enforce. Must not be null.
+     */
+    public GameHistory(HistoryParticipant<S> participant, HistoryPolicy policy) {
+        this.participant = Objects.requireNonNull(participant, "HistoryParticipant cannot be null.");
+        this.policy = Objects.requireNonNull(policy, "HistoryPolicy cannot be null.");
+    }
+
+    /**
+     * Records a move that has just been made.
+     *
+     * @param delta  The words the participant needs to revert the move; they are copied.
+     * @param offset The index of the first word.
+     * @param length The number of words.
+     */
+    public void record(int[] delta, int offset, int length) {
+        if (policy.maxEntries() == 0) {
+            return;
+        }
+        ensureWordCapacity(length);
+        System.arraycopy(delta, offset, words, wordEnd, length);
+        appendMove(wordEnd, length);
+        wordEnd += length;
+        afterMove();
+    }
+
+    /**
+     * Records a move that has just been made.
+     *
+     * @param delta The words the participant needs to revert the move; they are copied.
+     */
+    public void record(int... delta) {
+        record(delta, 0, delta.length);
+    }
+
+    /**
+     * Records a move that has just been made and can only be undone by restoring
+     * the state from before it.
+     *
+     * @param stateBefore A snapshot of the game state before the move.
+     */
+    public void recordWithSnapshot(S stateBefore) {
+        if (policy.maxEntries() == 0) {
+            return;
+        }
+        Checkpoint<S> last = checkpoints.peekLast();
+        if (last != null && last.index() == moveCount) {
+            removeLastCheckpoint();
+        }
+        addCheckpoint(moveCount, stateBefore, true);
+        appendMove(wordEnd, SNAPSHOT_MOVE);
+        afterMove();
+    }
+
+    /**
+     * Checks whether a move can be undone.
+     *
+     * @return {@code true} if at least one move is retained.
+     */
+    public boolean canUndo() {
+        return moveTail > moveHead;
+    }
+
+    /**
+     * Undoes the most recent move.
+     *
+     * @return {@code true} if a move was undone, {@code false} if the history was empty.
+     */
+    public boolean undo() {
+        if (!canUndo()) {
+            return false;
+        }
+        int slot = moveTail - 1;
+        int length = moveLengths[slot];
+        moveTail--;
+        wordEnd = moveOffsets[slot];
+        moveCount--;
+        dropCheckpointsAfter(moveCount);
+        if (length == SNAPSHOT_MOVE) {
+            participant.restoreSnapshot(checkpoints.peekLast().snapshot());
+        } else {
+            participant.revertDelta(words, wordEnd, length);
+        }
+        unpinLastCheckpoint();
+        return true;
+    }
+
+    /**
+     * Undoes moves until only {@code targetMoveCount} moves remain, restoring the nearest
+     * checkpoint at or after the target first when that saves reverting moves.
+     *
+     * @param targetMoveCount The move count to go back to.
+     * @return {@code true} if the target was reached, {@code false} if it lies before the
+     * oldest retained move or after the current move.
+     */
+    public boolean undoTo(int targetMoveCount) {
+        if (targetMoveCount < firstMove || targetMoveCount > moveCount) {
+            return false;
+        }
+        for (Checkpoint<S> checkpoint : checkpoints) {
+            if (checkpoint.index() < targetMoveCount) {
+                continue;
+            }
+            if (checkpoint.index() < moveCount) {
+                participant.restoreSnapshot(checkpoint.snapshot());
+                int slot = moveHead + (checkpoint.index() - firstMove);
+                wordEnd = moveOffsets[slot];
+                moveTail = slot;
+                moveCount = checkpoint.index();
+                dropCheckpointsAfter(moveCount);
+                unpinLastCheckpoint();
+            }
+            break;
+        }
+        while (moveCount > targetMoveCount) {
+            undo();
+        }
+        return true;
+    }
+
+    /** Forgets all moves and checkpoints and restarts move numbering at 0. */
+    public void clear() {
+        wordStart = 0;
+        wordEnd = 0;
+        moveHead = 0;
+        moveTail = 0;
+        firstMove = 0;
+        moveCount = 0;
+        checkpoints.clear();
+        checkpointBytes = 0;
+    }
+
+    /**
+     * Gets the number of moves that can currently be undone.
+     *
+     * @return The number of retained moves.
+     */
+    public int size() {
+        return moveTail - moveHead;
+    }
+
+    /**
+     * Gets the number of moves made since the last {@link #clear()}, including evicted ones.
+     *
+     * @return The move count.
+     */
+    public int getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Gets the number of the oldest move that can still be undone.
+     *
+     * @return The oldest retained move number; equal to {@link #getMoveCount()} when nothing can be undone.
+     */
+    public int getFirstUndoableMove() {
+        return firstMove;
+    }
+
+    /**
+     * Gets the number of full snapshots currently held.
+     *
+     * @return The checkpoint count.
+     */
+    public int getCheckpointCount() {
+        return checkpoints.size();
+    }
+
+    /**
+     * Gets the estimated memory retained by the history: delta words, per-move bookkeeping,
+     * and the snapshots held by checkpoints (as estimated by the participant).
+     *
+     * @return The footprint in bytes.
+     */
+    public long getFootprintBytes() {
+        return (long) (wordEnd - wordStart) * Integer.BYTES + size() * MOVE_OVERHEAD_BYTES + checkpointBytes;
+    }
+
+    /**
+     * Gets the limits currently enforced.
+     *
+     * @return The policy.
+     */
+    public HistoryPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Changes the limits and immediately trims the history to fit them.
+     *
+     * @param policy The new policy. Must not be null.
+     */
+    public void setPolicy(HistoryPolicy policy) {
+        this.policy = Objects.requireNonNull(policy, "HistoryPolicy cannot be null.");
+        enforceBudget();
+    }
+
+    private void afterMove() {
+        moveCount++;
+        int interval = policy.checkpointInterval();
+        if (interval > 0 && moveCount % interval == 0) {
+            addCheckpoint(moveCount, participant.captureSnapshot(), false);
+        }
+        enforceBudget();
+    }
+
+    private void enforceBudget() {
+        while (size() > 0 && (size() > policy.maxEntries() || getFootprintBytes() > policy.maxBytes())) {
+            if (size() <= policy.maxEntries() && dropOldestPeriodicCheckpoint()) {
+                continue;
+            }
+            evictOldestMove();
+        }
+        if (size() == 0) {
+            dropCheckpointsAfter(-1);
+            firstMove = moveCount;
+        }
+    }
+
+    /**
+     * Drops the oldest checkpoint that is not needed to undo a move, merging the delta spans on either side.
+     *
+     * @return {@code true} if a checkpoint was dropped.
+     */
+    private boolean dropOldestPeriodicCheckpoint() {
+        Iterator<Checkpoint<S>> iterator = checkpoints.iterator();
+        while (iterator.hasNext()) {
+            Checkpoint<S> checkpoint = iterator.next();
+            if (!checkpoint.pinned()) {
+                iterator.remove();
+                checkpointBytes -= checkpoint.bytes();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void evictOldestMove() {
+        moveHead++;
+        firstMove++;
+        wordStart = moveHead < moveTail ? moveOffsets[moveHead] : wordEnd;
+        while (!checkpoints.isEmpty() && checkpoints.peekFirst().index() < firstMove) {
+            checkpointBytes -= checkpoints.removeFirst().bytes();
+        }
+    }
+
+    private void addCheckpoint(int index, S snapshot, boolean pinned) {
+        long bytes = participant.estimateSnapshotBytes(snapshot) + CHECKPOINT_OVERHEAD_BYTES;
+        checkpoints.addLast(new Checkpoint<>(index, snapshot, bytes, pinned));
+        checkpointBytes += bytes;
+    }
+
+    private void removeLastCheckpoint() {
+        checkpointBytes -= checkpoints.removeLast().bytes();
+    }
+
+    /**
+     * Turns a pinned checkpoint for the current move count into a periodic one
+     * once the move it belonged to has been undone.
+     */
+    private void unpinLastCheckpoint() {
+        Checkpoint<S> last = checkpoints.peekLast();
+        if (last != null && last.pinned() && last.index() == moveCount) {
+            checkpoints.removeLast();
+            checkpoints.addLast(new Checkpoint<>(last.index(), last.snapshot(), last.bytes(), false));
+        }
+    }
+
+    private void dropCheckpointsAfter(int index) {
+        while (!checkpoints.isEmpty() && checkpoints.peekLast().index() > index) {
+            removeLastCheckpoint();
+        }
+    }
+
+    private void appendMove(int offset, int length) {
+        if (moveTail == moveOffsets.length) {
+            int live = moveTail - moveHead;
+            if (live + 1 > moveOffsets.length / 2) {
+                moveOffsets = Arrays.copyOf(moveOffsets, moveOffsets.length * 2);
+                moveLengths = Arrays.copyOf(moveLengths, moveLengths.length * 2);
+            }
+            System.arraycopy(moveOffsets, moveHead, moveOffsets, 0, live);
+            System.arraycopy(moveLengths, moveHead, moveLengths, 0, live);
+            moveHead = 0;
+            moveTail = live;
+        }
+        moveOffsets[moveTail] = offset;
+        moveLengths[moveTail] = length;
+        moveTail++;
+    }
+
+    /**
+     * Makes room for {@code extra} more words, sliding live words to the front of the buffer
+     * when at least half of it is free and growing it otherwise.
+     */
+    private void ensureWordCapacity(int extra) {
+        if (wordEnd + extra <= words.length) {
+            return;
+        }
+        int live = wordEnd - wordStart;
+        int capacity = words.length;
+        while (live + extra > capacity / 2) {
+            capacity *= 2;
+        }
+        words = capacity == words.length ? words : Arrays.copyOf(words, capacity);
+        System.arraycopy(words, wordStart, words, 0, live);
+        for (int i = moveHead; i < moveTail; i++) {
+            moveOffsets[i] -= wordStart;
+        }
+        wordEnd = live;
+        wordStart = 0;
+    }
+}
@@ -1,7 +1,5 @@
 package com.aoopproject.framework.core;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.function.Supplier;
 import java.util.function.Function;
 
@@ -10,6 +8,13 @@ import java.util.function.Function;
  * This class is generic and can hold any type that extends {@link GameEntity}.
  * It provides basic functionalities for accessing and modifying entities
  * on the grid.
+ * <p>
+ * Cells are stored in a single row-major {@code Object[]}, so the cell at
+ * {@code (row, column)} lives at index {@code row * columns + column}. Besides the
+ * bounds-checked accessors, the grid offers unchecked accessors
+ * ({@link #getUnchecked(int, int)}, {@link #setUnchecked(int, int, GameEntity)}) for
+ * internal hot loops whose coordinates are already known to be valid.
+ * </p>
  *
  * @param <T> The type of {@link GameEntity} this grid will hold.
  */
@@ -17,7 +22,7 @@ public class Grid<T extends GameEntity> {
 
     private final int rows;
     private final int columns;
-    private final List<List<T>> gridData;
+    private final Object[] cells;
 
     /**
      * Constructs a new Grid with the specified number of rows and columns.
@@ -28,19 +33,7 @@ public class Grid<T extends GameEntity> {
      * @throws IllegalArgumentException if rows or columns are not positive.
      */
     public Grid(int rows, int columns) {
-        if (rows <= 0 || columns <= 0) {
-            throw new IllegalArgumentException("Grid dimensions must be positive.");
-        }
-        this.rows = rows;
-        this.columns = columns;
-        this.gridData = new ArrayList<>(rows);
-        for (int i = 0; i < rows; i++) {
-            List<T> row = new ArrayList<>(columns);
-            for (int j = 0; j < columns; j++) {
-                row.add(null);
-            }
-            this.gridData.add(row);
-        }
+        this(rows, columns, true);
     }
 
     /**
@@ -54,16 +47,27 @@ public class Grid<T extends GameEntity> {
      */
     public Grid(int rows, int columns, Supplier<T> entitySupplier) {
         this(rows, columns);
-        if (entitySupplier == null) {
-            throw new IllegalArgumentException("Entity supplier cannot be null.");
-        }
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < columns; c++) {
-                setEntity(r, c, entitySupplier.get());
-            }
-        }
+        fill(entitySupplier);
     }
 
+    /**
+     * Constructor for subclasses that keep cell data in their own storage
+     * (for example {@link PackedGrid}) and override the cell accessors accordingly.
+     *
+     * @param rows          The number of rows in the grid. Must be positive.
+     * @param columns       The number of columns in the grid. Must be positive.
+     * @param allocateCells {@code true} to allocate the default {@code Object[]} cell storage,
+     *                      {@code false} if the subclass provides its own.
+     * @throws IllegalArgumentException if rows or columns are not positive.
+     */
+    protected Grid(int rows, int columns, boolean allocateCells) {
+        if (rows <= 0 || columns <= 0) {
+            throw new IllegalArgumentException("Grid dimensions must be positive.");
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.cells = allocateCells ? new Object[rows * columns] : null;
+    }
 
     /**
      * Gets the entity at the specified row and column.
@@ -75,7 +79,7 @@ public class Grid<T extends GameEntity> {
      */
     public T getEntity(int row, int column) {
         if (isValidCoordinate(row, column)) {
-            return this.gridData.get(row).get(column);
+            return getUnchecked(row, column);
         }
         return null;
     }
@@ -92,7 +96,34 @@ public class Grid<T extends GameEntity> {
         if (!isValidCoordinate(row, column)) {
             throw new IndexOutOfBoundsException("Invalid grid coordinates: row=" + row + ", col=" + column);
         }
-        this.gridData.get(row).set(column, entity);
+        setUnchecked(row, column, entity);
+    }
+
+    /**
+     * Gets the entity at the specified row and column without checking the coordinates.
+     * Intended for internal loops that already iterate within {@code [0, rows) x [0, columns)};
+     * passing invalid coordinates yields an unspecified cell or an
+     * {@link ArrayIndexOutOfBoundsException}.
+     *
+     * @param row    The row index (0-based), assumed valid.
+     * @param column The column index (0-based), assumed valid.
+     * @return The entity at the specified position, possibly null.
+     */
+    @SuppressWarnings("unchecked")
+    public T getUnchecked(int row, int column) {
+        return (T) cells[row * columns + column];
+    }
+
+    /**
+     * Sets the entity at the specified row and column without checking the coordinates.
+     * The counterpart of {@link #getUnchecked(int, int)}.
+     *
+     * @param row    The row index (0-based), assumed valid.
+     * @param column The column index (0-based), assumed valid.
+     * @param entity The entity to place in the cell. Can be null.
+     */
+    public void setUnchecked(int row, int column, T entity) {
+        cells[row * columns + column] = entity;
     }
 
     /**
@@ -134,12 +165,23 @@ public class Grid<T extends GameEntity> {
         if (entitySupplier == null) {
             throw new IllegalArgumentException("Entity supplier cannot be null.");
         }
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < columns; c++) {
-                setEntity(r, c, entitySupplier.get());
-            }
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = entitySupplier.get();
         }
     }
+
+    /**
+     * Creates a copy of this grid that shares its entities with the original.
+     * This is sufficient whenever the entities are immutable, and costs a single array copy.
+     *
+     * @return A new Grid holding the same entity references.
+     */
+    public Grid<T> copy() {
+        Grid<T> newGrid = new Grid<>(this.rows, this.columns);
+        System.arraycopy(this.cells, 0, newGrid.cells, 0, this.cells.length);
+        return newGrid;
+    }
+
     /**
      * Creates a deep copy of this grid.
      * Each entity in the grid is copied using the provided entity copier function.
@@ -147,18 +189,15 @@ public class Grid<T extends GameEntity> {
      * @param entityCopier A function that takes an entity of type T and returns a deep copy of it.
      * @return A new Grid instance containing deep copies of all entities.
      */
-    public Grid<T> deepCopy(java.util.function.Function<T, T> entityCopier) {
+    @SuppressWarnings("unchecked")
+    public Grid<T> deepCopy(Function<T, T> entityCopier) {
         Grid<T> newGrid = new Grid<>(this.rows, this.columns);
-        for (int r = 0; r < this.rows; r++) {
-            for (int c = 0; c < this.columns; c++) {
-                T originalEntity = this.getEntity(r, c);
-                if (originalEntity != null) {
-                    newGrid.setEntity(r, c, entityCopier.apply(originalEntity));
-                } else {
-                    newGrid.setEntity(r, c, null);
-                }
-            }
+        Object[] source = this.cells;
+        Object[] target = newGrid.cells;
+        for (int i = 0; i < source.length; i++) {
+            T originalEntity = (T) source[i];
+            target[i] = originalEntity != null ? entityCopier.apply(originalEntity) : null;
         }
         return newGrid;
     }
-}
\ No newline at end of file
+}
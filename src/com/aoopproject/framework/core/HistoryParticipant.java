@@ -0,0 +1,44 @@
+package com.aoopproject.framework.core;
+
+/**
+ * The game-specific side of a {@link GameHistory}.
+ * A participant knows how to take a full snapshot of its game state, how to restore one,
+ * and how to revert a single move from the compact delta it recorded for that move.
+ *
+ * @param <S> The snapshot type.
+ */
+public interface HistoryParticipant<S> {
+
+    /**
+     * Captures the complete current game state.
+     * The returned snapshot is kept by the history and must not share mutable state with the game.
+     *
+     * @return A new snapshot.
+     */
+    S captureSnapshot();
+
+    /**
+     * Restores the game state from a snapshot. The history may restore the same snapshot
+     * more than once, so the participant must copy from it rather than adopt it.
+     *
+     * @param snapshot A snapshot previously returned by {@link #captureSnapshot()}.
+     */
+    void restoreSnapshot(S snapshot);
+
+    /**
+     * Estimates the memory retained by a snapshot, used for the history's byte budget.
+     *
+     * @param snapshot The snapshot to measure.
+     * @return The estimated size in bytes.
+     */
+    long estimateSnapshotBytes(S snapshot);
+
+    /**
+     * Reverts the most recent move, given the delta words recorded for it.
+     *
+     * @param words  The history's word buffer; must not be modified.
+     * @param offset The index of the move's first word.
+     * @param length The number of words recorded for the move.
+     */
+    void revertDelta(int[] words, int offset, int length);
+}
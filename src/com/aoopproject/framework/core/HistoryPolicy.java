@@ -0,0 +1,31 @@
+package com.aoopproject.framework.core;
+
+/**
+ * Limits applied by a {@link GameHistory}.
+ *
+ * @param maxEntries         The maximum number of undoable moves kept; the oldest are evicted first.
+ *                           {@code 0} disables the history entirely.
+ * @param maxBytes           The maximum estimated memory footprint of the history, in bytes.
+ * @param checkpointInterval A full snapshot is taken every this many moves; {@code 0} disables
+ *                           periodic snapshots so that only deltas are kept.
+ */
+public record HistoryPolicy(int maxEntries, long maxBytes, int checkpointInterval) {
+
+    /** The policy used by game models unless configured otherwise: 10,000 moves, 8 MiB, a snapshot every 64 moves. */
+    public static final HistoryPolicy DEFAULT = new HistoryPolicy(10_000, 8L * 1024 * 1024, 64);
+
+    /** A policy that records nothing, so undo is never available. */
+    public static final HistoryPolicy DISABLED = new HistoryPolicy(0, 0, 0);
+
+    /**
+     * Validates the limits.
+     *
+     * @throws IllegalArgumentException if any limit is negative.
+     */
+    public HistoryPolicy {
+        if (maxEntries < 0 || maxBytes < 0 || checkpointInterval < 0) {
+            throw new IllegalArgumentException("History limits cannot be negative: entries=" + maxEntries
+                    + ", bytes=" + maxBytes + ", checkpointInterval=" + checkpointInterval);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.aoopproject.framework.core;
+
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A {@link Grid} that stores each cell as a primitive code instead of an object reference.
+ * The mapping between entities and codes is provided by an {@link EntityCodec}; depending
+ * on {@link EntityCodec#codeCount()} the cells are kept in a {@code byte[]}, {@code short[]}
+ * or {@code int[]} laid out row-major like {@link Grid}.
+ * <p>
+ * Code that reads the board through {@link #getEntity(int, int)} keeps working unchanged:
+ * entities are decoded on demand and are the codec's shared flyweight instances, so they
+ * must not be modified. Writes through {@link #setEntity(int, int, GameEntity)} store only
+ * the entity's code. Game logic that knows the codes can use {@link #getCode(int, int)}
+ * and {@link #setCode(int, int, int)} directly.
+ * </p>
+ *
+ * @param <T> The type of {@link GameEntity} this grid represents.
+ */
+public class PackedGrid<T extends GameEntity> extends Grid<T> {
+
+    private final EntityCodec<T> codec;
+    private final byte[] byteCells;
+    private final short[] shortCells;
+    private final int[] intCells;
+
+    /**
+     * Constructs a new PackedGrid with every cell set to code {@code 0}.
+     *
+     * @param rows    The number of rows in the grid. Must be positive.
+     * @param columns The number of columns in the grid. Must be positive.
+     * @param codec   The codec mapping entities to cell codes. Must not be null.
+     * @throws IllegalArgumentException if rows or columns are not positive.
+     */
+    public PackedGrid(int rows, int columns, EntityCodec<T> codec) {
+        super(rows, columns, false);
+        this.codec = Objects.requireNonNull(codec, "EntityCodec cannot be null.");
+        int size = rows * columns;
+        int codeCount = codec.codeCount();
+        this.byteCells = codeCount <= 1 << 8 ? new byte[size] : null;
+        this.shortCells = byteCells == null && codeCount <= 1 << 16 ? new short[size] : null;
+        this.intCells = byteCells == null && shortCells == null ? new int[size] : null;
+    }
+
+    /**
+     * Copy constructor used by {@link #copy()}; clones the primitive storage.
+     *
+     * @param source The grid to copy.
+     */
+    private PackedGrid(PackedGrid<T> source) {
+        super(source.getRows(), source.getColumns(), false);
+        this.codec = source.codec;
+        this.byteCells = source.byteCells != null ? source.byteCells.clone() : null;
+        this.shortCells = source.shortCells != null ? source.shortCells.clone() : null;
+        this.intCells = source.intCells != null ? source.intCells.clone() : null;
+    }
+
+    /**
+     * Creates a packed copy of an object-backed grid.
+     *
+     * @param source The grid to pack. Every entity in it must be encodable by the codec.
+     * @param codec  The codec used to encode the entities.
+     * @param <T>    The entity type.
+     * @return A new PackedGrid with the same dimensions and cell codes.
+     * @throws IllegalArgumentException if an entity cannot be encoded.
+     */
+    public static <T extends GameEntity> PackedGrid<T> pack(Grid<T> source, EntityCodec<T> codec) {
+        PackedGrid<T> packed = new PackedGrid<>(source.getRows(), source.getColumns(), codec);
+        for (int r = 0; r < source.getRows(); r++) {
+            for (int c = 0; c < source.getColumns(); c++) {
+                packed.setCodeAt(packed.indexOf(r, c), codec.encode(source.getUnchecked(r, c)));
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * Expands this grid into an object-backed {@link Grid}, passing each decoded flyweight
+     * through the given function (typically a copy function when the caller needs
+     * independent, mutable entities).
+     *
+     * @param entityCopier Applied to every decoded entity before it is stored.
+     * @return A new object-backed Grid.
+     */
+    public Grid<T> unpack(Function<T, T> entityCopier) {
+        Grid<T> grid = new Grid<>(getRows(), getColumns());
+        for (int r = 0; r < getRows(); r++) {
+            for (int c = 0; c < getColumns(); c++) {
+                grid.setUnchecked(r, c, entityCopier.apply(getUnchecked(r, c)));
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Gets the codec used by this grid.
+     *
+     * @return The {@link EntityCodec}.
+     */
+    public EntityCodec<T> getCodec() {
+        return codec;
+    }
+
+    /**
+     * Converts row and column into the row-major cell index used by the code accessors.
+     *
+     * @param row    The row index, assumed valid.
+     * @param column The column index, assumed valid.
+     * @return The cell index.
+     */
+    public int indexOf(int row, int column) {
+        return row * getColumns() + column;
+    }
+
+    /**
+     * Gets the code stored at a row-major cell index, without bounds checks beyond the array's own.
+     *
+     * @param index The cell index.
+     * @return The cell code.
+     */
+    public int getCodeAt(int index) {
+        if (byteCells != null) return byteCells[index] & 0xFF;
+        if (shortCells != null) return shortCells[index] & 0xFFFF;
+        return intCells[index];
+    }
+
+    /**
+     * Stores a code at a row-major cell index, without validating the code.
+     *
+     * @param index The cell index.
+     * @param code  The cell code, expected in {@code [0, codec.codeCount())}.
+     */
+    public void setCodeAt(int index, int code) {
+        if (byteCells != null) {
+            byteCells[index] = (byte) code;
+        } else if (shortCells != null) {
+            shortCells[index] = (short) code;
+        } else {
+            intCells[index] = code;
+        }
+    }
+
+    /**
+     * Gets the code of the cell at the specified row and column.
+     *
+     * @param row    The row index (0-based).
+     * @param column The column index (0-based).
+     * @return The cell code.
+     * @throws IndexOutOfBoundsException if the coordinates are invalid.
+     */
+    public int getCode(int row, int column) {
+        if (!isValidCoordinate(row, column)) {
+            throw new IndexOutOfBoundsException("Invalid grid coordinates: row=" + row + ", col=" + column);
+        }
+        return getCodeAt(indexOf(row, column));
+    }
+
+    /**
+     * Sets the code of the cell at the specified row and column.
+     *
+     * @param row    The row index (0-based).
+     * @param column The column index (0-based).
+     * @param code   The cell code.
+     * @throws IndexOutOfBoundsException if the coordinates are invalid.
+     * @throws IllegalArgumentException if the code is outside the codec's range.
+     */
+    public void setCode(int row, int column, int code) {
+        if (!isValidCoordinate(row, column)) {
+            throw new IndexOutOfBoundsException("Invalid grid coordinates: row=" + row + ", col=" + column);
+        }
+        if (code < 0 || code >= codec.codeCount()) {
+            throw new IllegalArgumentException("Cell code out of range: " + code);
+        }
+        setCodeAt(indexOf(row, column), code);
+    }
+
+    @Override
+    public T getUnchecked(int row, int column) {
+        return codec.decode(getCodeAt(indexOf(row, column)));
+    }
+
+    @Override
+    public void setUnchecked(int row, int column, T entity) {
+        setCodeAt(indexOf(row, column), codec.encode(entity));
+    }
+
+    @Override
+    public void fill(Supplier<T> entitySupplier) {
+        if (entitySupplier == null) {
+            throw new IllegalArgumentException("Entity supplier cannot be null.");
+        }
+        int size = getRows() * getColumns();
+        for (int i = 0; i < size; i++) {
+            setCodeAt(i, codec.encode(entitySupplier.get()));
+        }
+    }
+
+    /**
+     * Creates a copy of this grid by cloning its primitive storage.
+     *
+     * @return A new PackedGrid with the same codec and cell codes.
+     */
+    @Override
+    public PackedGrid<T> copy() {
+        return new PackedGrid<>(this);
+    }
+
+    /**
+     * Creates a copy of this grid by cloning its primitive storage.
+     * Since entities are flyweights decoded from codes, the copier is not needed and is ignored.
+     *
+     * @param entityCopier Ignored.
+     * @return A new PackedGrid with the same codec and cell codes.
+     */
+    @Override
+    public Grid<T> deepCopy(Function<T, T> entityCopier) {
+        return copy();
+    }
+}
@@ -0,0 +1,86 @@
+package com.aoopproject.framework.util;
+
+import java.util.SplittableRandom;
+
+/**
+ * A table of random 64-bit keys for Zobrist hashing of game states.
+ * <p>
+ * A state is hashed as the XOR of one key per (square, piece) pair it contains, with each pair mapped to
+ * a key index by the game. Because XOR is its own inverse, a move updates the hash in constant time per
+ * changed square: XOR out the key of what left it and XOR in the key of what arrived. Equal states always
+ * have equal hashes; different states collide with a probability of about 2<sup>-64</sup> per pair.
+ * </p>
+ * <p>
+ * Keys are drawn in order from a {@link SplittableRandom} with a fixed seed, so a table's keys are the same
+ * in every run and a smaller table is a prefix of a larger one. {@link #shared(int)} relies on this to hand
+ * out one growing table, which makes hashes comparable between boards, models and runs. Tables are
+ * immutable and can be used by any number of threads.
+ * </p>
+ */
+public final class ZobristTable {
+
+    /** The seed of the keys of {@link #shared(int)} tables. */
+    public static final long DEFAULT_SEED = 0x5DEECE66DL;
+
+    /** Volatile so that {@link #shared(int)} only locks when the table has to grow. */
+    private static volatile ZobristTable shared = new ZobristTable(0, DEFAULT_SEED);
+
+    private final long[] keys;
+
+    /**
+     * Creates a table of keys drawn from a seed. No key is zero, so every (square, piece) pair changes the hash.
+     *
+     * @param keyCount The number of keys. Must not be negative.
+     * @param seed     The seed of the key sequence.
+     * @throws IllegalArgumentException if {@code keyCount} is negative.
+     */
+    public ZobristTable(int keyCount, long seed) {
+        if (keyCount < 0) {
+            throw new IllegalArgumentException("Key count cannot be negative: " + keyCount);
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        this.keys = new long[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            long key;
+            do {
+                key = random.nextLong();
+            } while (key == 0);
+            keys[i] = key;
+        }
+    }
+
+    /**
+     * Gets a table with the {@link #DEFAULT_SEED} holding at least a number of keys. All shared tables agree
+     * on every key they have in common, so their hashes can be compared and mixed freely.
+     *
+     * @param keyCount The number of keys needed.
+     * @return The shared table, grown if it was too small.
+     */
+    public static ZobristTable shared(int keyCount) {
+        ZobristTable table = shared;
+        if (table.keys.length >= keyCount) {
+            return table;
+        }
+        synchronized (ZobristTable.class) {
+            if (shared.keys.length < keyCount) {
+                shared = new ZobristTable(Math.max(keyCount, shared.keys.length * 2), DEFAULT_SEED);
+            }
+            return shared;
+        }
+    }
+
+    /** @return The number of keys in the table. */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Gets a key.
+     *
+     * @param index The key index, from 0 to {@code size() - 1}.
+     * @return The key, never zero.
+     */
+    public long key(int index) {
+        return keys[index];
+    }
+}
@@ -0,0 +1,596 @@
+package com.aoopproject.games.samegame;
+
+import com.aoopproject.framework.core.Grid;
+import com.aoopproject.framework.util.ZobristTable;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A column-major SameGame board.
+ * Each column is stored as its own contiguous {@code byte[]} of tile codes
+ * (see {@link SameGameTileCodec}), indexed from the bottom row upwards, together with a
+ * height counter: slots at or above a column's height are always empty.
+ * <p>
+ * This layout matches the SameGame mechanics: gravity is a compaction inside a single
+ * column array, and removing an empty column only reorders column references. Columns
+ * that had tiles removed are remembered, so {@link #applyGravity()} touches only those
+ * and a move costs time proportional to the tiles it removes rather than rows x columns.
+ * </p>
+ * <p>
+ * The board also keeps the counts needed to detect the end of a game without a search:
+ * the number of tiles, and the number of adjacent equal-colored pairs, kept per column
+ * (vertical pairs) and per boundary between neighbouring columns (horizontal pairs).
+ * A move exists exactly when at least one such pair exists. Changes only mark the touched
+ * columns and boundaries, which are recounted on the next query.
+ * </p>
+ * <p>
+ * A Zobrist hash of the tiles ({@link #stateHash()}) is updated by every change: a tile set or removed
+ * changes one key, and a tile that falls or a column that shifts swaps the keys of the tiles that moved.
+ * </p>
+ * The class extends {@link Grid} so that views and tests can keep reading the board
+ * through {@link #getEntity(int, int)}; entities are decoded on demand into the codec's
+ * shared flyweight tiles, which must not be modified.
+ */
+public class SameGameBoard extends Grid<SameGameTile> {
+
+    private static final SameGameTileCodec CODEC = SameGameTileCodec.INSTANCE;
+    private static final int[] NO_COLUMNS = new int[0];
+
+    /** Tile codes per column, index 0 being the bottom row. */
+    private final byte[][] columnCells;
+    /** Number of slots per column, from the bottom, that may hold tiles. */
+    private final int[] heights;
+    /** Columns that have had tiles removed below their height since the last gravity pass. */
+    private final boolean[] hasGaps;
+    /** Incremented on every change to the board's tiles. */
+    private long version;
+    /** Keys for each tile code on each column slot: {@code columnSlotIndex * codeCount + code}. */
+    private final ZobristTable zobrist;
+    private long stateHash;
+
+    /** Number of non-empty cells. */
+    private int tileCount;
+    /** Adjacent equal pairs inside each column. */
+    private final int[] verticalPairs;
+    /** Adjacent equal pairs between column {@code c} and column {@code c + 1}. */
+    private final int[] horizontalPairs;
+    /** Sum of all counted vertical and horizontal pairs. */
+    private int pairTotal;
+    private final boolean[] columnDirty;
+    private final boolean[] boundaryDirty;
+    private final int[] dirtyColumns;
+    private final int[] dirtyBoundaries;
+    private int dirtyColumnCount;
+    private int dirtyBoundaryCount;
+
+    /**
+     * Constructs an empty board with the given dimensions.
+     *
+     * @param rows    The number of rows. Must be positive.
+     * @param columns The number of columns. Must be positive.
+     * @throws IllegalArgumentException if rows or columns are not positive.
+     */
+    public SameGameBoard(int rows, int columns) {
+        super(rows, columns, false);
+        this.columnCells = new byte[columns][rows];
+        this.heights = new int[columns];
+        this.hasGaps = new boolean[columns];
+        this.verticalPairs = new int[columns];
+        this.horizontalPairs = new int[columns];
+        this.columnDirty = new boolean[columns];
+        this.boundaryDirty = new boolean[columns];
+        this.dirtyColumns = new int[columns];
+        this.dirtyBoundaries = new int[columns];
+        this.zobrist = ZobristTable.shared(rows * columns * CODEC.codeCount());
+    }
+
+    /**
+     * Copy constructor; clones every column array.
+     *
+     * @param source The board to copy.
+     */
+    private SameGameBoard(SameGameBoard source) {
+        super(source.getRows(), source.getColumns(), false);
+        this.columnCells = new byte[source.columnCells.length][];
+        for (int c = 0; c < columnCells.length; c++) {
+            this.columnCells[c] = source.columnCells[c].clone();
+        }
+        this.heights = source.heights.clone();
+        this.hasGaps = source.hasGaps.clone();
+        this.tileCount = source.tileCount;
+        this.verticalPairs = source.verticalPairs.clone();
+        this.horizontalPairs = source.horizontalPairs.clone();
+        this.pairTotal = source.pairTotal;
+        this.columnDirty = source.columnDirty.clone();
+        this.boundaryDirty = source.boundaryDirty.clone();
+        this.dirtyColumns = source.dirtyColumns.clone();
+        this.dirtyBoundaries = source.dirtyBoundaries.clone();
+        this.dirtyColumnCount = source.dirtyColumnCount;
+        this.dirtyBoundaryCount = source.dirtyBoundaryCount;
+        this.zobrist = source.zobrist;
+        this.stateHash = source.stateHash;
+    }
+
+    /**
+     * Creates a board holding the same tiles as the given grid.
+     * Gaps inside columns are preserved until the next {@link #applyGravity()}.
+     *
+     * @param source The grid to import. Its tiles must use palette colors or be empty.
+     * @return A new column-major board.
+     * @throws IllegalArgumentException if a tile color is not part of the palette.
+     */
+    public static SameGameBoard from(Grid<SameGameTile> source) {
+        SameGameBoard board = new SameGameBoard(source.getRows(), source.getColumns());
+        for (int r = source.getRows() - 1; r >= 0; r--) {
+            for (int c = 0; c < source.getColumns(); c++) {
+                board.setCodeUnchecked(r, c, CODEC.encode(source.getUnchecked(r, c)));
+            }
+        }
+        return board;
+    }
+
+    /**
+     * Creates an independent copy of this board.
+     *
+     * @return A new board with the same tiles.
+     */
+    @Override
+    public SameGameBoard copy() {
+        return new SameGameBoard(this);
+    }
+
+    /**
+     * Gets the tile code at the given row and column.
+     *
+     * @param row    The row index (0 is the top row), assumed valid.
+     * @param column The column index, assumed valid.
+     * @return The tile code; {@link SameGameTileCodec#EMPTY_CODE} for an empty cell.
+     */
+    public int getCode(int row, int column) {
+        return columnCells[column][getRows() - 1 - row];
+    }
+
+    /**
+     * Sets the tile code at the given row and column.
+     *
+     * @param row    The row index (0 is the top row).
+     * @param column The column index.
+     * @param code   The tile code.
+     * @throws IndexOutOfBoundsException if the coordinates are invalid.
+     * @throws IllegalArgumentException if the code is outside the codec's range.
+     */
+    public void setCode(int row, int column, int code) {
+        if (!isValidCoordinate(row, column)) {
+            throw new IndexOutOfBoundsException("Invalid grid coordinates: row=" + row + ", col=" + column);
+        }
+        if (code < 0 || code >= CODEC.codeCount()) {
+            throw new IllegalArgumentException("Tile code out of range: " + code);
+        }
+        setCodeUnchecked(row, column, code);
+    }
+
+    /**
+     * Empties the cell at the given row and column. The tiles above are not moved
+     * until {@link #applyGravity()} is called.
+     *
+     * @param row    The row index, assumed valid.
+     * @param column The column index, assumed valid.
+     */
+    public void clearCell(int row, int column) {
+        setCodeUnchecked(row, column, SameGameTileCodec.EMPTY_CODE);
+    }
+
+    /**
+     * Gets the number of slots, counted from the bottom row, that may contain tiles in a column.
+     * After {@link #applyGravity()} this equals the number of tiles in the column.
+     *
+     * @param column The column index, assumed valid.
+     * @return The column height.
+     */
+    public int getColumnHeight(int column) {
+        return heights[column];
+    }
+
+    /**
+     * Gets a counter that changes whenever a tile of this board changes,
+     * so that derived data can tell whether it is still current.
+     *
+     * @return The board version.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the Zobrist hash of the board: the XOR of the {@link ZobristTable#shared(int) shared} keys of every
+     * tile for its color and column slot. Boards of equal size holding the same tiles in the same places
+     * have equal hashes, whatever moves led to them.
+     *
+     * @return The 64-bit hash of the tiles.
+     */
+    public long stateHash() {
+        return stateHash;
+    }
+
+    /**
+     * Gets the column-slot index of a cell: {@code column * rows + slot}, where the slot
+     * counts rows from the bottom. Sorting these indices groups cells by column and orders
+     * them bottom-up, which is the order {@link #restoreTiles(int[], int, int, int)} expects.
+     *
+     * @param row    The row index, assumed valid.
+     * @param column The column index, assumed valid.
+     * @return The column-slot index.
+     */
+    public int columnSlotIndex(int row, int column) {
+        return column * getRows() + (getRows() - 1 - row);
+    }
+
+    /**
+     * Checks whether every column is free of gaps, i.e. all tiles rest on the bottom
+     * or on other tiles, as they do after {@link #applyGravity()}.
+     *
+     * @return {@code true} if no column has an empty cell below its top tile.
+     */
+    public boolean isSettled() {
+        for (boolean gaps : hasGaps) {
+            if (gaps) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of tiles on the board.
+     *
+     * @return The number of non-empty cells.
+     */
+    public int getTileCount() {
+        return tileCount;
+    }
+
+    /**
+     * Checks whether any two orthogonally adjacent tiles share a color, i.e. whether a
+     * group of at least two tiles can be removed. Only columns and column boundaries
+     * changed since the last call are recounted.
+     *
+     * @return {@code true} if at least one removable group exists.
+     */
+    public boolean hasAdjacentPair() {
+        refreshPairCounts();
+        return pairTotal > 0;
+    }
+
+    private void setCodeUnchecked(int row, int column, int code) {
+        version++;
+        int slot = getRows() - 1 - row;
+        int previous = columnCells[column][slot];
+        if (previous == code) {
+            return;
+        }
+        if (previous == SameGameTileCodec.EMPTY_CODE) {
+            tileCount++;
+        } else if (code == SameGameTileCodec.EMPTY_CODE) {
+            tileCount--;
+        }
+        markColumnDirty(column);
+        stateHash ^= key(column, slot, previous) ^ key(column, slot, code);
+        columnCells[column][slot] = (byte) code;
+        if (code != SameGameTileCodec.EMPTY_CODE) {
+            if (slot >= heights[column]) {
+                for (int s = heights[column]; s < slot; s++) {
+                    if (columnCells[column][s] == SameGameTileCodec.EMPTY_CODE) {
+                        hasGaps[column] = true;
+                        break;
+                    }
+                }
+                heights[column] = slot + 1;
+            }
+        } else if (slot < heights[column]) {
+            if (slot == heights[column] - 1) {
+                heights[column] = slot;
+            } else {
+                hasGaps[column] = true;
+            }
+        }
+    }
+
+    /**
+     * Lets tiles fall into the gaps left by removed tiles.
+     * Only columns that had tiles removed are visited, and each is compacted in place
+     * from its lowest slot up to its height.
+     */
+    public void applyGravity() {
+        for (int c = 0; c < columnCells.length; c++) {
+            if (!hasGaps[c]) {
+                continue;
+            }
+            byte[] cells = columnCells[c];
+            int height = heights[c];
+            int write = 0;
+            for (int read = 0; read < height; read++) {
+                byte code = cells[read];
+                if (code != SameGameTileCodec.EMPTY_CODE) {
+                    if (read != write) {
+                        stateHash ^= key(c, read, code) ^ key(c, write, code);
+                    }
+                    cells[write++] = code;
+                }
+            }
+            for (int s = write; s < height; s++) {
+                cells[s] = SameGameTileCodec.EMPTY_CODE;
+            }
+            heights[c] = write;
+            hasGaps[c] = false;
+            markColumnDirty(c);
+            version++;
+        }
+    }
+
+    /**
+     * Removes empty columns by shifting the non-empty ones to the left.
+     * Only column references are reordered; the emptied column arrays are moved to the right end.
+     *
+     * @return The ascending indices, before compaction, of the empty columns that were closed up,
+     * i.e. those with a non-empty column to their right. {@link #reopenColumns(int[], int, int)} reverses the compaction.
+     */
+    public int[] compactColumns() {
+        int lastNonEmpty = columnCells.length - 1;
+        while (lastNonEmpty >= 0 && heights[lastNonEmpty] == 0) {
+            lastNonEmpty--;
+        }
+        int closedCount = 0;
+        for (int c = 0; c < lastNonEmpty; c++) {
+            if (heights[c] == 0) {
+                closedCount++;
+            }
+        }
+        if (closedCount == 0) {
+            return NO_COLUMNS;
+        }
+        int[] closedColumns = new int[closedCount];
+        for (int c = 0, i = 0; c < lastNonEmpty; c++) {
+            if (heights[c] == 0) {
+                closedColumns[i++] = c;
+            }
+        }
+
+        // Start from exact counts so that only the new seams need recounting afterwards.
+        refreshPairCounts();
+        int writeCol = 0;
+        int previousReadCol = -1;
+        for (int readCol = 0; readCol < columnCells.length; readCol++) {
+            if (heights[readCol] == 0) {
+                continue;
+            }
+            if (readCol != writeCol) {
+                rehashMovedColumn(readCol, writeCol);
+                byte[] emptyColumn = columnCells[writeCol];
+                columnCells[writeCol] = columnCells[readCol];
+                columnCells[readCol] = emptyColumn;
+                heights[writeCol] = heights[readCol];
+                heights[readCol] = 0;
+                hasGaps[writeCol] = hasGaps[readCol];
+                hasGaps[readCol] = false;
+                verticalPairs[writeCol] = verticalPairs[readCol];
+                verticalPairs[readCol] = 0;
+                version++;
+            }
+            if (writeCol > 0) {
+                // Boundaries next to an empty column hold no pairs, so dropping them keeps pairTotal exact;
+                // a seam between columns that were not neighbours starts at zero and is recounted later.
+                if (previousReadCol == readCol - 1) {
+                    horizontalPairs[writeCol - 1] = horizontalPairs[previousReadCol];
+                } else {
+                    horizontalPairs[writeCol - 1] = 0;
+                    markBoundaryDirty(writeCol - 1);
+                }
+            }
+            previousReadCol = readCol;
+            writeCol++;
+        }
+        for (int b = Math.max(writeCol - 1, 0); b < horizontalPairs.length; b++) {
+            horizontalPairs[b] = 0;
+        }
+        return closedColumns;
+    }
+
+    /**
+     * Reverses a {@link #compactColumns()} call by moving columns back to the right and
+     * reinserting empty columns at their former indices.
+     *
+     * @param closedColumns An array holding the indices returned by the compaction to reverse;
+     *                      the board must not have had columns removed or emptied since.
+     * @param offset        The index of the first column index in the array.
+     * @param length        The number of column indices.
+     */
+    public void reopenColumns(int[] closedColumns, int offset, int length) {
+        if (length == 0) {
+            return;
+        }
+        refreshPairCounts();
+        int keptColumns = 0;
+        while (keptColumns < heights.length && heights[keptColumns] > 0) {
+            keptColumns++;
+        }
+
+        int read = keptColumns - 1;
+        int closed = offset + length - 1;
+        int previousWrite = -1;
+        for (int write = keptColumns + length - 1; write > read; write--) {
+            if (closed >= offset && closedColumns[closed] == write) {
+                closed--;
+                continue;
+            }
+            // The boundary to the right keeps its pairs only if the right neighbour comes back with it.
+            int pairs = horizontalPairs[read];
+            horizontalPairs[read] = 0;
+            if (previousWrite != write + 1) {
+                pairTotal -= pairs;
+                pairs = 0;
+            }
+            horizontalPairs[write] = pairs;
+
+            rehashMovedColumn(read, write);
+            byte[] emptyColumn = columnCells[write];
+            columnCells[write] = columnCells[read];
+            columnCells[read] = emptyColumn;
+            heights[write] = heights[read];
+            heights[read] = 0;
+            hasGaps[write] = hasGaps[read];
+            hasGaps[read] = false;
+            verticalPairs[write] = verticalPairs[read];
+            verticalPairs[read] = 0;
+            previousWrite = write;
+            read--;
+        }
+        if (read >= 0 && previousWrite != read + 1) {
+            pairTotal -= horizontalPairs[read];
+            horizontalPairs[read] = 0;
+        }
+        version++;
+    }
+
+    /**
+     * Puts removed tiles back into their columns, lifting the tiles that fell onto them.
+     * This reverses a removal followed by {@link #applyGravity()}; the columns involved must be settled.
+     *
+     * @param columnSlotIndices An array holding the sorted {@link #columnSlotIndex(int, int) column-slot indices}
+     *                          the tiles occupied before they were removed.
+     * @param offset            The index of the first column-slot index in the array.
+     * @param length            The number of tiles to restore.
+     * @param code              The tile code of the restored tiles.
+     */
+    public void restoreTiles(int[] columnSlotIndices, int offset, int length, int code) {
+        int rows = getRows();
+        int limit = offset + length;
+        int end = offset;
+        while (end < limit) {
+            int start = end;
+            int column = columnSlotIndices[start] / rows;
+            while (end < limit && columnSlotIndices[end] / rows == column) {
+                end++;
+            }
+            byte[] cells = columnCells[column];
+            int read = heights[column] - 1;
+            int restore = end - 1;
+            int newHeight = heights[column] + (end - start);
+            for (int slot = newHeight - 1; slot >= 0; slot--) {
+                if (restore >= start && columnSlotIndices[restore] - column * rows == slot) {
+                    cells[slot] = (byte) code;
+                    stateHash ^= key(column, slot, code);
+                    restore--;
+                } else {
+                    stateHash ^= key(column, read, cells[read]) ^ key(column, slot, cells[read]);
+                    cells[slot] = cells[read--];
+                }
+            }
+            heights[column] = newHeight;
+            tileCount += end - start;
+            markColumnDirty(column);
+        }
+        version++;
+    }
+
+    /** Gets the Zobrist key of a tile code on a column slot; empty cells have none. */
+    private long key(int column, int slot, int code) {
+        return code == SameGameTileCodec.EMPTY_CODE ? 0
+                : zobrist.key((column * getRows() + slot) * CODEC.codeCount() + code);
+    }
+
+    /** Moves the hash keys of a column's tiles to another column index, before the column itself is moved there. */
+    private void rehashMovedColumn(int from, int to) {
+        byte[] cells = columnCells[from];
+        for (int s = 0; s < heights[from]; s++) {
+            stateHash ^= key(from, s, cells[s]) ^ key(to, s, cells[s]);
+        }
+    }
+
+    private void markColumnDirty(int column) {
+        if (!columnDirty[column]) {
+            columnDirty[column] = true;
+            dirtyColumns[dirtyColumnCount++] = column;
+        }
+        markBoundaryDirty(column - 1);
+        markBoundaryDirty(column);
+    }
+
+    private void markBoundaryDirty(int boundary) {
+        if (boundary < 0 || boundary >= columnCells.length - 1 || boundaryDirty[boundary]) {
+            return;
+        }
+        boundaryDirty[boundary] = true;
+        dirtyBoundaries[dirtyBoundaryCount++] = boundary;
+    }
+
+    /**
+     * Recounts the pairs of every column and boundary marked dirty since the last refresh.
+     */
+    private void refreshPairCounts() {
+        for (int i = 0; i < dirtyColumnCount; i++) {
+            int c = dirtyColumns[i];
+            byte[] cells = columnCells[c];
+            int pairs = 0;
+            for (int s = 1; s < heights[c]; s++) {
+                if (cells[s] != SameGameTileCodec.EMPTY_CODE && cells[s] == cells[s - 1]) {
+                    pairs++;
+                }
+            }
+            pairTotal += pairs - verticalPairs[c];
+            verticalPairs[c] = pairs;
+            columnDirty[c] = false;
+        }
+        dirtyColumnCount = 0;
+        for (int i = 0; i < dirtyBoundaryCount; i++) {
+            int b = dirtyBoundaries[i];
+            byte[] left = columnCells[b];
+            byte[] right = columnCells[b + 1];
+            int limit = Math.min(heights[b], heights[b + 1]);
+            int pairs = 0;
+            for (int s = 0; s < limit; s++) {
+                if (left[s] != SameGameTileCodec.EMPTY_CODE && left[s] == right[s]) {
+                    pairs++;
+                }
+            }
+            pairTotal += pairs - horizontalPairs[b];
+            horizontalPairs[b] = pairs;
+            boundaryDirty[b] = false;
+        }
+        dirtyBoundaryCount = 0;
+    }
+
+    @Override
+    public SameGameTile getUnchecked(int row, int column) {
+        return CODEC.decode(getCode(row, column));
+    }
+
+    @Override
+    public void setUnchecked(int row, int column, SameGameTile entity) {
+        setCodeUnchecked(row, column, CODEC.encode(entity));
+    }
+
+    @Override
+    public void fill(Supplier<SameGameTile> entitySupplier) {
+        if (entitySupplier == null) {
+            throw new IllegalArgumentException("Entity supplier cannot be null.");
+        }
+        for (int r = getRows() - 1; r >= 0; r--) {
+            for (int c = 0; c < getColumns(); c++) {
+                setUnchecked(r, c, entitySupplier.get());
+            }
+        }
+    }
+
+    /**
+     * Creates a copy of this board by cloning its column arrays.
+     * Tiles are flyweights decoded from codes, so the copier is not needed and is ignored.
+     *
+     * @param entityCopier Ignored.
+     * @return A new {@code SameGameBoard} with the same tiles.
+     */
+    @Override
+    public Grid<SameGameTile> deepCopy(Function<SameGameTile, SameGameTile> entityCopier) {
+        return copy();
+    }
+}
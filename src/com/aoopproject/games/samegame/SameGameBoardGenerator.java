@@ -0,0 +1,348 @@
+package com.aoopproject.games.samegame;
+
+import com.aoopproject.games.samegame.action.SameGameSelectAction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generates SameGame boards that can be cleared completely, by building them in reverse.
+ * <p>
+ * Generation starts from an empty board and inserts runs of two to {@link #MAX_RUN_LENGTH} tiles of one
+ * color, each the exact inverse of a move: a vertical run pushed into a column, a horizontal run pushed into
+ * adjacent columns at the same height, or either placed as new columns, which undoes a column compaction.
+ * A run's color is chosen so that it touches no tile of its color outside the run. By induction, removing the
+ * runs in reverse order of insertion then removes exactly one run per move, with gravity and compaction
+ * restoring the board each run was inserted into, until the board is empty. The generated board comes with
+ * that clearing sequence.
+ * </p>
+ * <p>
+ * Insertions are drawn at random, favouring lower columns, and a run that would leave a single free cell
+ * between full columns is not inserted. When no run fits anywhere any more, because every free cell left
+ * touches every color, the build is restarted; this is cheaper than taking runs back, as a stuck build is
+ * nearly always close to full. A generator holds only its configuration, so one instance can serve
+ * several threads.
+ * </p>
+ */
+public final class SameGameBoardGenerator {
+
+    /** Longest run inserted at once. */
+    public static final int MAX_RUN_LENGTH = 4;
+
+    /** Random insertions tried from one position before every possible insertion is tried in turn. */
+    private static final int ATTEMPTS_PER_RUN = 16;
+
+    /**
+     * A generated board and a way to clear it.
+     *
+     * @param board    The board, with every cell filled.
+     * @param solution Moves that clear the board when played in order, each selecting one tile of the
+     *                 group to remove.
+     */
+    public record ClearableBoard(SameGameBoard board, List<SameGameSelectAction> solution) {
+    }
+
+    private final int rows;
+    private final int columns;
+    private final int[] colorCodes;
+
+    /**
+     * Creates a generator.
+     *
+     * @param rows       The number of rows of the boards. Must be at least 1.
+     * @param columns    The number of columns of the boards. Must be at least 1, and the board must have at
+     *                   least two cells.
+     * @param colorCodes The {@link SameGameTileCodec tile codes} of the colors to use. At least two are needed,
+     *                   as runs of one color may not touch.
+     * @throws IllegalArgumentException if a parameter is out of range.
+     */
+    public SameGameBoardGenerator(int rows, int columns, int[] colorCodes) {
+        if (rows < 1 || columns < 1 || rows * columns < 2) {
+            throw new IllegalArgumentException("Board too small for a clearable board: " + rows + "x" + columns);
+        }
+        if (colorCodes == null || colorCodes.length < 2) {
+            throw new IllegalArgumentException("A clearable board needs at least two colors.");
+        }
+        for (int code : colorCodes) {
+            if (code <= SameGameTileCodec.EMPTY_CODE || code >= SameGameTileCodec.INSTANCE.codeCount()) {
+                throw new IllegalArgumentException("Not a tile color code: " + code);
+            }
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.colorCodes = colorCodes.clone();
+    }
+
+    /**
+     * Generates a clearable board. The number of builds, rather than the time taken, bounds the work, so the
+     * result depends only on the random sequence and not on the speed or load of the machine.
+     *
+     * @param random    The generator of every random choice; the same sequence yields the same board.
+     * @param maxBuilds The number of builds that may be started, counting restarts. Must be positive.
+     * @return The board and its clearing sequence, or {@code null} if every build got stuck.
+     */
+    public ClearableBoard generate(RandomGenerator random, int maxBuilds) {
+        Build build = new Build();
+        for (int i = 0; i < maxBuilds; i++) {
+            if (build.complete(random)) {
+                return build.result();
+            }
+        }
+        return null;
+    }
+
+    /** The state of one reverse build: columns are left-aligned stacks of tile codes, bottom first. */
+    private final class Build {
+        private final int[][] stacks = new int[columns][rows];
+        private final int[] heights = new int[columns];
+        private int columnCount;
+        private int tiles;
+        /** The move that removes each inserted run, in insertion order. */
+        private final List<SameGameSelectAction> removals = new ArrayList<>();
+
+        /** Starts over from an empty board and inserts runs until it is full or stuck. */
+        boolean complete(RandomGenerator random) {
+            Arrays.fill(heights, 0);
+            columnCount = 0;
+            tiles = 0;
+            removals.clear();
+            while (tiles < rows * columns) {
+                if (!insertRun(random)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        ClearableBoard result() {
+            SameGameBoard board = new SameGameBoard(rows, columns);
+            // Filled bottom-up so that no column is ever seen with a gap below its top tile.
+            for (int slot = 0; slot < rows; slot++) {
+                for (int c = 0; c < columns; c++) {
+                    board.setCode(rows - 1 - slot, c, stacks[c][slot]);
+                }
+            }
+            List<SameGameSelectAction> solution = new ArrayList<>(removals);
+            Collections.reverse(solution);
+            return new ClearableBoard(board, solution);
+        }
+
+        /**
+         * Inserts one run: random insertions are tried first, then every possible insertion, shortest runs first.
+         *
+         * @return false if no run fits anywhere.
+         */
+        private boolean insertRun(RandomGenerator random) {
+            for (int attempt = 0; attempt < ATTEMPTS_PER_RUN; attempt++) {
+                boolean vertical = random.nextBoolean();
+                int length = 2 + random.nextInt(MAX_RUN_LENGTH - 1);
+                boolean inserted;
+                if (columnCount == 0 || (columnCount < columns && random.nextInt(columns) >= columnCount)) {
+                    inserted = tryNewColumns(random, random.nextInt(columnCount + 1), length, vertical);
+                } else {
+                    int x = lowerColumn(random.nextInt(columnCount), random.nextInt(columnCount));
+                    int slot = random.nextInt(heights[x] + 1);
+                    inserted = vertical ? tryVertical(random, x, slot, length)
+                            : tryHorizontal(random, Math.min(x, columnCount - length), slot, length);
+                }
+                if (inserted) {
+                    return true;
+                }
+            }
+            for (int length = 2; length <= MAX_RUN_LENGTH; length++) {
+                for (int x = 0; x <= columnCount; x++) {
+                    if (tryNewColumns(random, x, length, true) || tryNewColumns(random, x, length, false)) {
+                        return true;
+                    }
+                    for (int slot = 0; x < columnCount && slot <= heights[x]; slot++) {
+                        if (tryVertical(random, x, slot, length) || tryHorizontal(random, x, slot, length)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Picks the lower of two columns. Growing the lower of two random columns keeps the columns at similar
+         * heights, so the last free cells form a band across the top that horizontal runs can fill, rather than
+         * narrow wells between full columns where every run would touch all colors.
+         */
+        private int lowerColumn(int a, int b) {
+            return heights[a] <= heights[b] ? a : b;
+        }
+
+        /** Inserts a run as new columns at the bottom, from column {@code x}, if it fits and can be colored. */
+        private boolean tryNewColumns(RandomGenerator random, int x, int length, boolean vertical) {
+            int count = vertical ? 1 : length;
+            if (columnCount + count > columns || (vertical && length > rows)) {
+                return false;
+            }
+            insertColumns(x, count);
+            if (vertical) {
+                insertVertical(x, 0, length);
+            } else {
+                insertHorizontal(x, 0, length);
+            }
+            if (paint(random, x, 0, length, vertical)) {
+                return true;
+            }
+            if (vertical) {
+                removeVertical(x, 0, length);
+            } else {
+                removeHorizontal(x, 0, length);
+            }
+            removeEmptyColumns(x, count);
+            return false;
+        }
+
+        /** Inserts a vertical run into column {@code x} from a slot, if it fits and can be colored. */
+        private boolean tryVertical(RandomGenerator random, int x, int slot, int length) {
+            if (heights[x] + length > rows) {
+                return false;
+            }
+            insertVertical(x, slot, length);
+            if (paint(random, x, slot, length, true)) {
+                return true;
+            }
+            removeVertical(x, slot, length);
+            return false;
+        }
+
+        /** Inserts a horizontal run into columns {@code x} onwards at a slot, if it fits and can be colored. */
+        private boolean tryHorizontal(RandomGenerator random, int x, int slot, int length) {
+            if (x < 0 || x + length > columnCount) {
+                return false;
+            }
+            for (int c = x; c < x + length; c++) {
+                if (heights[c] == rows || heights[c] < slot) {
+                    return false;
+                }
+            }
+            insertHorizontal(x, slot, length);
+            if (paint(random, x, slot, length, false)) {
+                return true;
+            }
+            removeHorizontal(x, slot, length);
+            return false;
+        }
+
+        /**
+         * Colors an inserted run with a random color that no tile touching it has, and records its removal.
+         *
+         * @return false if every color touches the run.
+         */
+        private boolean paint(RandomGenerator random, int x, int slot, int length, boolean vertical) {
+            if (isolatesFreeCell(x - 1, vertical ? x + 1 : x + length)) {
+                return false;
+            }
+            long touching = 0;
+            for (int i = 0; i < length; i++) {
+                int c = vertical ? x : x + i;
+                int s = vertical ? slot + i : slot;
+                touching |= colorBit(c - 1, s, x, slot, length, vertical) | colorBit(c + 1, s, x, slot, length, vertical)
+                        | colorBit(c, s - 1, x, slot, length, vertical) | colorBit(c, s + 1, x, slot, length, vertical);
+            }
+            int allowed = 0;
+            for (int code : colorCodes) {
+                if ((touching & 1L << code) == 0) allowed++;
+            }
+            if (allowed == 0) {
+                return false;
+            }
+            int pick = random.nextInt(allowed);
+            int color = -1;
+            for (int code : colorCodes) {
+                if ((touching & 1L << code) == 0 && pick-- == 0) {
+                    color = code;
+                    break;
+                }
+            }
+            for (int i = 0; i < length; i++) {
+                stacks[vertical ? x : x + i][vertical ? slot + i : slot] = color;
+            }
+            tiles += length;
+            removals.add(new SameGameSelectAction(rows - 1 - slot, x));
+            return true;
+        }
+
+        /**
+         * Checks whether a column in a range has exactly one free cell and no free neighbour, so that no run
+         * can fill it any more. Columns still missing could be inserted next to it, so a board that does not
+         * have all its columns yet is never reported.
+         */
+        private boolean isolatesFreeCell(int from, int to) {
+            if (columnCount < columns) {
+                return false;
+            }
+            for (int c = Math.max(0, from); c <= Math.min(columnCount - 1, to); c++) {
+                if (heights[c] == rows - 1 && (c == 0 || heights[c - 1] == rows)
+                        && (c == columnCount - 1 || heights[c + 1] == rows)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /** The color bit of a cell outside the run, or 0 if the cell is empty, off the board or in the run. */
+        private long colorBit(int c, int s, int x, int slot, int length, boolean vertical) {
+            if (c < 0 || c >= columnCount || s < 0 || s >= heights[c]) {
+                return 0;
+            }
+            boolean inRun = vertical ? c == x && s >= slot && s < slot + length : s == slot && c >= x && c < x + length;
+            return inRun ? 0 : 1L << stacks[c][s];
+        }
+
+        private void insertColumns(int x, int count) {
+            for (int c = columnCount - 1; c >= x; c--) {
+                int[] moved = stacks[c + count];
+                stacks[c + count] = stacks[c];
+                stacks[c] = moved;
+                heights[c + count] = heights[c];
+            }
+            for (int c = x; c < x + count; c++) {
+                heights[c] = 0;
+            }
+            columnCount += count;
+        }
+
+        private void removeEmptyColumns(int x, int count) {
+            for (int c = x; c < columnCount - count; c++) {
+                int[] moved = stacks[c];
+                stacks[c] = stacks[c + count];
+                stacks[c + count] = moved;
+                heights[c] = heights[c + count];
+            }
+            columnCount -= count;
+            for (int c = columnCount; c < columnCount + count; c++) {
+                heights[c] = 0;
+            }
+        }
+
+        private void insertVertical(int x, int slot, int length) {
+            System.arraycopy(stacks[x], slot, stacks[x], slot + length, heights[x] - slot);
+            heights[x] += length;
+        }
+
+        private void removeVertical(int x, int slot, int length) {
+            System.arraycopy(stacks[x], slot + length, stacks[x], slot, heights[x] - slot - length);
+            heights[x] -= length;
+        }
+
+        private void insertHorizontal(int x, int slot, int length) {
+            for (int c = x; c < x + length; c++) {
+                insertVertical(c, slot, 1);
+            }
+        }
+
+        private void removeHorizontal(int x, int slot, int length) {
+            for (int c = x; c < x + length; c++) {
+                removeVertical(c, slot, 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.aoopproject.games.samegame;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps a few clearable boards generated ahead of time, so that starting a new game does not wait for the
+ * {@link SameGameBoardGenerator}.
+ * <p>
+ * Boards are generated on a daemon thread created on the first {@link #poll()}, which tops the pool up
+ * again after every board taken. Each pooled board is a fresh object owned by whoever takes it. All methods
+ * may be called from any thread.
+ * </p>
+ */
+final class SameGameBoardPool {
+
+    /** Builds tried per call to the generator, between checks for a shutdown. */
+    private static final int BUILDS_PER_ATTEMPT = 64;
+
+    private final SameGameBoardGenerator generator;
+    private final BlockingQueue<SameGameBoard> ready;
+    /** Used by the worker thread only. */
+    private final SplittableRandom random;
+    private final AtomicBoolean filling = new AtomicBoolean();
+    private ExecutorService executor;
+    private boolean closed;
+
+    /**
+     * Creates an empty pool.
+     *
+     * @param generator The generator of the boards.
+     * @param capacity  The number of boards to keep ready. Must be positive.
+     * @param seed      The seed of the boards.
+     */
+    SameGameBoardPool(SameGameBoardGenerator generator, int capacity, long seed) {
+        this.generator = generator;
+        this.ready = new ArrayBlockingQueue<>(capacity);
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Takes a ready board, if any, and starts topping the pool up.
+     *
+     * @return A clearable board, or {@code null} if none is ready yet.
+     */
+    SameGameBoard poll() {
+        SameGameBoard board = ready.poll();
+        refill();
+        return board;
+    }
+
+    /** @return The number of boards ready. */
+    int readyCount() {
+        return ready.size();
+    }
+
+    /** Starts generating boards until the pool is full, unless the pool is full or already being filled. */
+    synchronized void refill() {
+        if (closed || ready.remainingCapacity() == 0 || !filling.compareAndSet(false, true)) {
+            return;
+        }
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "samegame-boards");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        executor.execute(this::fill);
+    }
+
+    /** Stops the worker thread for good; boards already generated can still be polled. */
+    synchronized void shutdown() {
+        closed = true;
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private void fill() {
+        try {
+            while (ready.remainingCapacity() > 0 && !Thread.currentThread().isInterrupted()) {
+                SameGameBoardGenerator.ClearableBoard board = generator.generate(random, BUILDS_PER_ATTEMPT);
+                if (board != null) {
+                    ready.offer(board.board());
+                }
+            }
+        } finally {
+            filling.set(false);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.aoopproject.games.samegame;
+
+/**
+ * A cached connected-component labeling of a {@link SameGameBoard}.
+ * <p>
+ * One {@link SameGameFloodFill} sweep over the board, in row-major order, fills every
+ * group once, assigns its cells a dense group label and records the size and color of the
+ * group. Group cells are then bucketed by label in row-major order, so the cells of any
+ * group can be listed without searching the board again.
+ * </p>
+ * The labeling is rebuilt lazily: {@link #ensureCurrent(SameGameBoard)} compares the board
+ * and its {@link SameGameBoard#getVersion() version} with those of the last build and only
+ * relabels after the board has changed. Groups are labeled in row-major order of their
+ * top-left-most cell. All arrays are reused between builds. Cells are identified by their
+ * packed index {@code row * columns + column}.
+ */
+final class SameGameComponents {
+
+    /** Label of empty cells. */
+    static final int NO_GROUP = -1;
+
+    private final int minGroupSize;
+    private final SameGameFloodFill floodFill = new SameGameFloodFill();
+
+    private SameGameBoard source;
+    private long builtVersion;
+    private int columns;
+
+    private int[] labels = new int[0];
+    private int[] groupSize = new int[0];
+    private int[] groupColor = new int[0];
+    private int[] groupStart = new int[1];
+    private int[] cellsByGroup = new int[0];
+    private int[] removableGroups = new int[0];
+    private int groupCount;
+    private int removableCount;
+
+    /**
+     * Creates an empty labeling.
+     *
+     * @param minGroupSize The smallest group size counted as removable.
+     */
+    SameGameComponents(int minGroupSize) {
+        this.minGroupSize = minGroupSize;
+    }
+
+    /**
+     * Relabels the board if it is not the board of the last build or has changed since.
+     *
+     * @param board The board to label. Must not be null.
+     */
+    void ensureCurrent(SameGameBoard board) {
+        if (board != source || board.getVersion() != builtVersion) {
+            rebuild(board);
+        }
+    }
+
+    private void rebuild(SameGameBoard board) {
+        int rows = board.getRows();
+        this.columns = board.getColumns();
+        int size = rows * columns;
+        if (labels.length < size) {
+            labels = new int[size];
+            groupSize = new int[size];
+            groupColor = new int[size];
+            groupStart = new int[size + 1];
+            cellsByGroup = new int[size];
+            removableGroups = new int[size];
+        }
+
+        groupCount = 0;
+        floodFill.beginSweep(board);
+        for (int r = 0, cell = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++, cell++) {
+                int code = board.getCode(r, c);
+                if (code == SameGameTileCodec.EMPTY_CODE) {
+                    labels[cell] = NO_GROUP;
+                    continue;
+                }
+                int filled = floodFill.fillFrom(board, r, c);
+                if (filled == 0) {
+                    // Already labeled by the fill of an earlier cell of its group.
+                    continue;
+                }
+                for (int i = 0; i < filled; i++) {
+                    labels[floodFill.groupCell(i)] = groupCount;
+                }
+                groupSize[groupCount] = filled;
+                groupColor[groupCount] = code;
+                groupCount++;
+            }
+        }
+
+        removableCount = 0;
+        groupStart[0] = 0;
+        for (int g = 0; g < groupCount; g++) {
+            groupStart[g + 1] = groupStart[g] + groupSize[g];
+            if (groupSize[g] >= minGroupSize) {
+                removableGroups[removableCount++] = g;
+            }
+        }
+        // groupSize[] is rebuilt as the per-group fill cursor, listing each group's cells in row-major order.
+        for (int g = 0; g < groupCount; g++) {
+            groupSize[g] = 0;
+        }
+        for (int cell = 0; cell < size; cell++) {
+            int g = labels[cell];
+            if (g != NO_GROUP) {
+                cellsByGroup[groupStart[g] + groupSize[g]++] = cell;
+            }
+        }
+
+        this.source = board;
+        this.builtVersion = board.getVersion();
+    }
+
+    /**
+     * Gets the group label of a cell.
+     *
+     * @param row    The row index, assumed valid.
+     * @param column The column index, assumed valid.
+     * @return The group label, or {@link #NO_GROUP} for an empty cell.
+     */
+    int groupAt(int row, int column) {
+        return labels[row * columns + column];
+    }
+
+    /**
+     * Gets the number of tiles in a group.
+     *
+     * @param group A group label, or {@link #NO_GROUP}.
+     * @return The group size; 0 for {@link #NO_GROUP}.
+     */
+    int groupSize(int group) {
+        return group == NO_GROUP ? 0 : groupSize[group];
+    }
+
+    /**
+     * Gets the tile code shared by all tiles of a group.
+     *
+     * @param group A group label.
+     * @return The group's {@link SameGameTileCodec} code.
+     */
+    int groupColor(int group) {
+        return groupColor[group];
+    }
+
+    /**
+     * Gets a cell of a group.
+     *
+     * @param group A group label.
+     * @param i     The position within the group, in {@code [0, groupSize(group))}.
+     * @return The packed cell index.
+     */
+    int groupCell(int group, int i) {
+        return cellsByGroup[groupStart[group] + i];
+    }
+
+    /**
+     * Gets the number of groups large enough to be removed.
+     *
+     * @return The removable group count.
+     */
+    int removableGroupCount() {
+        return removableCount;
+    }
+
+    /**
+     * Gets a removable group.
+     *
+     * @param i The position in the removable list, in {@code [0, removableGroupCount())}.
+     * @return The group label.
+     */
+    int removableGroup(int i) {
+        return removableGroups[i];
+    }
+
+    /**
+     * Gets the number of columns of the labeled board, needed to unpack cell indices.
+     *
+     * @return The column count.
+     */
+    int columns() {
+        return columns;
+    }
+}
@@ -0,0 +1,119 @@
+package com.aoopproject.games.samegame;
+
+import java.util.Arrays;
+
+/**
+ * A reusable flood-fill engine for finding groups of same-colored tiles on a {@link SameGameBoard}.
+ * <p>
+ * All working memory is kept between calls: an {@code int} stack of packed cell indices
+ * ({@code row * columns + column}), a result buffer, and a generation-stamped visited array.
+ * Starting a new search only increments the generation counter instead of clearing the
+ * visited array, so steady-state searches do not allocate. Buffers are only reallocated
+ * when a larger board is searched.
+ * </p>
+ * A <em>sweep</em> groups several fills under one generation: cells visited by an earlier
+ * fill of the same sweep are skipped, which lets callers visit every group of a board
+ * exactly once in O(rows x columns). {@link SameGameComponents} labels a board with one such sweep.
+ * Instances are not thread-safe; each labeling owns its own engine.
+ */
+final class SameGameFloodFill {
+
+    private int rows;
+    private int columns;
+    private int[] stamps = new int[0];
+    private int[] stack = new int[0];
+    private int[] group = new int[0];
+    private int generation;
+    private int groupSize;
+
+    /**
+     * Starts a new sweep: all cells become unvisited.
+     *
+     * @param board The board that the following fills will search.
+     */
+    void beginSweep(SameGameBoard board) {
+        ensureCapacity(board.getRows(), board.getColumns());
+        generation++;
+        if (generation == 0) {
+            Arrays.fill(stamps, 0);
+            generation = 1;
+        }
+        groupSize = 0;
+    }
+
+    /**
+     * Finds the group containing the given cell within the current sweep.
+     * The cells of the group are available through {@link #groupCell(int)} until the next fill.
+     *
+     * @param board  The board to search; must have the dimensions given to {@link #beginSweep}.
+     * @param row    The starting row, assumed valid.
+     * @param column The starting column, assumed valid.
+     * @return The number of tiles in the group, or 0 if the cell is empty or already visited in this sweep.
+     */
+    int fillFrom(SameGameBoard board, int row, int column) {
+        groupSize = 0;
+        int start = row * columns + column;
+        int color = board.getCode(row, column);
+        if (color == SameGameTileCodec.EMPTY_CODE || stamps[start] == generation) {
+            return 0;
+        }
+        stamps[start] = generation;
+        int top = 0;
+        stack[top++] = start;
+        while (top > 0) {
+            int cell = stack[--top];
+            group[groupSize++] = cell;
+            int r = cell / columns;
+            int c = cell - r * columns;
+            if (r > 0) top = visit(board, r - 1, c, cell - columns, color, top);
+            if (r < rows - 1) top = visit(board, r + 1, c, cell + columns, color, top);
+            if (c > 0) top = visit(board, r, c - 1, cell - 1, color, top);
+            if (c < columns - 1) top = visit(board, r, c + 1, cell + 1, color, top);
+        }
+        return groupSize;
+    }
+
+    /**
+     * Pushes a neighbouring cell onto the stack if it has the group's color and was not visited yet.
+     *
+     * @return The new stack size.
+     */
+    private int visit(SameGameBoard board, int r, int c, int cell, int color, int top) {
+        if (stamps[cell] != generation && board.getCode(r, c) == color) {
+            stamps[cell] = generation;
+            stack[top++] = cell;
+        }
+        return top;
+    }
+
+    /**
+     * Gets the size of the group found by the last fill.
+     *
+     * @return The number of cells in the last group.
+     */
+    int groupSize() {
+        return groupSize;
+    }
+
+    /**
+     * Gets a cell of the group found by the last fill.
+     *
+     * @param i The position in the group, in {@code [0, groupSize())}.
+     * @return The packed cell index {@code row * columns + column}.
+     */
+    int groupCell(int i) {
+        return group[i];
+    }
+
+    private void ensureCapacity(int newRows, int newColumns) {
+        this.rows = newRows;
+        this.columns = newColumns;
+        int size = newRows * newColumns;
+        if (stamps.length < size) {
+            stamps = new int[size];
+            stack = new int[size];
+            group = new int[size];
+            generation = 0;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.aoopproject.games.samegame;
+
+import com.aoopproject.games.samegame.action.SameGameSelectAction;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Computes move hints with the {@link SameGameSolver} on a background thread, so that a deep search never
+ * blocks the thread that asked for it (for a Swing view, the event dispatch thread).
+ * <p>
+ * A search plays the position with growing beam widths within one time budget and reports the first move
+ * of each better game it finds through a {@link Listener}, so callers can show a quick hint at once and
+ * refine it. At most one search runs at a time: starting a search or calling {@link #cancel()} interrupts
+ * the running one, which then reports nothing more. The final hint of every completed search is cached by
+ * {@link SameGameBoard#stateHash()}, so asking again for a position already searched costs a lookup.
+ * </p>
+ * <p>
+ * The worker is a daemon thread created on the first search. All methods may be called from any thread.
+ * </p>
+ */
+final class SameGameHintEngine {
+
+    /**
+     * Receives the improving hints of a search, on the engine's worker thread. Everything passed in is
+     * immutable and derived from the searched copy of the position, so a listener need not read the live board.
+     */
+    @FunctionalInterface
+    interface Listener {
+        /**
+         * Called each time the search finds a better game.
+         *
+         * @param stateHash The {@link SameGameBoard#stateHash()} of the searched position.
+         * @param move      The first move of the best game found so far.
+         * @param group     The positions of the tiles that move removes, as an unmodifiable list.
+         */
+        void hintImproved(long stateHash, SameGameSelectAction move, List<SameGameModel.SameGameTilePosition> group);
+    }
+
+    /** Number of positions whose final hint is kept. */
+    static final int CACHE_SIZE = 256;
+    /** Beam widths of the successive passes of a search; each pass gets the budget left by the previous ones. */
+    private static final int[] BEAM_WIDTHS = {8, 32, 128, 512};
+
+    private final long timeBudgetMillis;
+    private final Map<Long, SameGameSelectAction> cache = Collections.synchronizedMap(
+            new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, SameGameSelectAction> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            });
+    private ExecutorService executor;
+    private Future<?> running;
+    private long runningHash;
+    /** Incremented for every search, so that a search that was replaced cannot report into its successor. */
+    private long searchId;
+    /** The best hint of the running search so far, or null. */
+    private SameGameSelectAction runningBest;
+
+    /**
+     * Creates an engine.
+     *
+     * @param timeBudgetMillis The time each search may take, in milliseconds. Must be positive.
+     * @throws IllegalArgumentException if the budget is not positive.
+     */
+    SameGameHintEngine(long timeBudgetMillis) {
+        if (timeBudgetMillis <= 0) {
+            throw new IllegalArgumentException("Hint time budget must be positive: " + timeBudgetMillis + "ms");
+        }
+        this.timeBudgetMillis = timeBudgetMillis;
+    }
+
+    /**
+     * Gets the best hint known for a position: the cached result of a completed search, or the best
+     * hint so far of the search running on it.
+     *
+     * @param stateHash The {@link SameGameBoard#stateHash()} of the position.
+     * @return The hinted move, or {@code null} if none is known yet.
+     */
+    synchronized SameGameSelectAction getBestKnownHint(long stateHash) {
+        SameGameSelectAction cached = cache.get(stateHash);
+        if (cached != null || !isSearching(stateHash)) {
+            return cached;
+        }
+        return runningBest;
+    }
+
+    /**
+     * Checks whether a position has been searched to the end, so that its hint is final.
+     *
+     * @param stateHash The {@link SameGameBoard#stateHash()} of the position.
+     * @return {@code true} if the position's hint is cached.
+     */
+    boolean hasFinalHint(long stateHash) {
+        return cache.containsKey(stateHash);
+    }
+
+    /**
+     * Checks whether a search of a position is running.
+     *
+     * @param stateHash The {@link SameGameBoard#stateHash()} of the position.
+     * @return {@code true} if the running search is on that position.
+     */
+    synchronized boolean isSearching(long stateHash) {
+        return running != null && !running.isDone() && runningHash == stateHash;
+    }
+
+    /**
+     * Starts searching a position, cancelling any running search.
+     *
+     * @param position The position to search. It is owned by the engine from now on and must not be
+     *                 modified by the caller; pass a {@link SameGameBoard#copy() copy} of a live board.
+     * @param listener Receives the improving hints.
+     * @return The running search, for waiting on it or cancelling it.
+     */
+    synchronized Future<?> search(SameGameBoard position, Listener listener) {
+        cancel();
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "samegame-hints");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        long stateHash = position.stateHash();
+        long id = ++searchId;
+        runningHash = stateHash;
+        runningBest = null;
+        running = executor.submit(() -> run(position, stateHash, id, listener));
+        return running;
+    }
+
+    /** Interrupts the running search, if any; it reports no further hints and caches nothing. */
+    synchronized void cancel() {
+        searchId++;
+        if (running != null) {
+            running.cancel(true);
+            running = null;
+            runningBest = null;
+        }
+    }
+
+    /** Cancels the running search and stops the worker thread. The engine can still be used afterwards. */
+    synchronized void shutdown() {
+        cancel();
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private void run(SameGameBoard position, long stateHash, long id, Listener listener) {
+        long deadlineNanos = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        SameGameComponents groups = new SameGameComponents(SameGameModel.MIN_TILES_TO_REMOVE);
+        groups.ensureCurrent(position);
+        int bestScore = -1;
+        SameGameSelectAction best = null;
+        for (int beamWidth : BEAM_WIDTHS) {
+            long remainingMillis = (deadlineNanos - System.nanoTime()) / 1_000_000L;
+            if (remainingMillis <= 0) {
+                break;
+            }
+            SameGameSolution solution = new SameGameSolver(beamWidth, Long.MAX_VALUE, remainingMillis).solve(position);
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            if (!solution.moves().isEmpty() && solution.score() > bestScore) {
+                bestScore = solution.score();
+                best = solution.moves().get(0);
+                synchronized (this) {
+                    if (id != searchId) {
+                        return;
+                    }
+                    runningBest = best;
+                }
+                listener.hintImproved(stateHash, best,
+                        List.copyOf(SameGameModel.groupPositions(groups, groups.groupAt(best.row(), best.column()))));
+            }
+            if (solution.budgetExceeded()) {
+                break;
+            }
+        }
+        if (best != null) {
+            synchronized (this) {
+                if (id == searchId) {
+                    cache.put(stateHash, best);
+                }
+            }
+        }
+    }
+}
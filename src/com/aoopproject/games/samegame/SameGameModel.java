@@ -7,18 +7,22 @@ import com.aoopproject.common.model.DifficultyLevel;
 import com.aoopproject.framework.core.AbstractGameModel;
 import com.aoopproject.framework.core.GameAction;
 import com.aoopproject.framework.core.GameEvent;
+import com.aoopproject.framework.core.GameHistory;
 import com.aoopproject.framework.core.GameStatus;
 import com.aoopproject.framework.core.Grid;
+import com.aoopproject.framework.core.HistoryParticipant;
 import com.aoopproject.common.action.HintRequestAction;
 import com.aoopproject.games.samegame.action.SameGameSelectAction;
 
 import java.awt.Color;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Random;
-import java.util.Set;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executor;
+import java.util.random.RandomGenerator;
 
 /**
  * Implements the game logic for SameGame.
@@ -37,21 +41,102 @@ import java.util.Set;
 public class SameGameModel extends AbstractGameModel {
 
     /** Minimum number of connected tiles of the same color required for them to be removed. */
-    private static final int MIN_TILES_TO_REMOVE = 2;
+    static final int MIN_TILES_TO_REMOVE = 2;
 
     /** List of colors available for tile generation based on the current difficulty. */
     private final List<Color> availableColors;
-    /** Random number generator for selecting tile colors. */
-    private final Random random = new Random();
+    /** Random number generator for selecting tile colors; see {@link #initializeGame(long)} for seeded boards. */
+    private final RandomGenerator random;
     /** The current difficulty level of the game. */
     private DifficultyLevel currentDifficulty;
+    /** The column-major board backing {@link #gameBoard}; both always refer to the same object. */
+    private SameGameBoard board;
+    /** Cached group labeling of {@link #board}; rebuilt on first use after the board changes. */
+    private final SameGameComponents components = new SameGameComponents(MIN_TILES_TO_REMOVE);
+    /** Time a background hint search may take, in milliseconds. */
+    static final long HINT_TIME_BUDGET_MILLIS = 2_000;
+    /** Searches for hints in the background; its search is cancelled whenever the board changes. */
+    private final SameGameHintEngine hintEngine = new SameGameHintEngine(HINT_TIME_BUDGET_MILLIS);
+    /** Runs the publication of background hints; see {@link #setHintEventExecutor(Executor)}. */
+    private volatile Executor hintEventExecutor = Runnable::run;
+    /** The hash of the board the running hint search was started on, or null once that search is cancelled. */
+    private volatile Long hintSearchStateHash;
+    /**
+     * Builds a clearable board may take to generate while a new game waits for it. Bounding the builds rather
+     * than the time keeps seeded boards independent of the machine's speed and load. The worst of 20,000
+     * MEDIUM boards needed about 1,000 builds.
+     */
+    static final int CLEARABLE_BOARD_MAX_BUILDS = 20_000;
+    /** Number of clearable boards kept ready while {@link #isSolvableOnly() solvable-only} boards are dealt. */
+    static final int PREGENERATED_BOARDS = 3;
+    /** Whether clearable boards were requested by {@link #setSolvableOnly(boolean)} regardless of the difficulty. */
+    private boolean solvableOnlyRequested;
+    /** Generates clearable boards for the current difficulty and colors; null until first needed. */
+    private SameGameBoardGenerator boardGenerator;
+    /** Clearable boards generated ahead of time by {@link #boardGenerator}; null until first needed. */
+    private SameGameBoardPool boardPool;
 
     /**
-     * Represents a snapshot of the SameGame's state for the undo functionality.
-     * Stores a deep copy of the game grid and the score at that point.
-     * Other game-specific state relevant to undo could be added here if necessary.
+     * A full snapshot of the SameGame's state, held by {@link #moveHistory} as a checkpoint.
+     * Moves made on a board that still had gaps inside columns (e.g. a test board) are undone
+     * from such a snapshot, since gravity closes those gaps in a way a move delta cannot replay.
      */
-    private record GameState(Grid<SameGameTile> boardState, int scoreState) {}
+    private record SameGameSnapshot(SameGameBoard boardState, int scoreState) {}
+
+    /**
+     * The undo history. A move is recorded as the delta words
+     * {@code [colorCode, points, removedCount, removed..., closedCount, closed...]}: the tile code of
+     * the removed group, the points scored, the sorted {@link SameGameBoard#columnSlotIndex(int, int)
+     * column-slot indices} its tiles occupied, and the columns closed up by compaction.
+     */
+    private GameHistory<SameGameSnapshot> moveHistory;
+
+    /**
+     * Gets the undo history, creating it on first use. It is not created while this model is being
+     * constructed, as its participant refers back to the model.
+     *
+     * @return The undo history.
+     */
+    private GameHistory<SameGameSnapshot> moveHistory() {
+        if (moveHistory == null) {
+            moveHistory = createHistory(new MoveHistoryParticipant());
+        }
+        return moveHistory;
+    }
+
+    /** Captures and restores snapshots of this model and reverts its move deltas for {@link #moveHistory}. */
+    private final class MoveHistoryParticipant implements HistoryParticipant<SameGameSnapshot> {
+        @Override
+        public SameGameSnapshot captureSnapshot() {
+            return new SameGameSnapshot(board.copy(), score);
+        }
+
+        @Override
+        public void restoreSnapshot(SameGameSnapshot snapshot) {
+            setBoard(snapshot.boardState().copy());
+            setScore(snapshot.scoreState());
+        }
+
+        @Override
+        public long estimateSnapshotBytes(SameGameSnapshot snapshot) {
+            SameGameBoard saved = snapshot.boardState();
+            return (long) saved.getRows() * saved.getColumns() + 16L * saved.getColumns() + 64;
+        }
+
+        @Override
+        public void revertDelta(int[] words, int offset, int length) {
+            int colorCode = words[offset];
+            int points = words[offset + 1];
+            int removedCount = words[offset + 2];
+            int removedStart = offset + 3;
+            int closedCount = words[removedStart + removedCount];
+            board.reopenColumns(words, removedStart + removedCount + 1, closedCount);
+            board.restoreTiles(words, removedStart, removedCount, colorCode);
+            setScore(score - points);
+        }
+    }
+    /** Scratch buffer the delta words of a move are assembled in before being recorded. */
+    private int[] deltaWords = new int[64];
 
 
     /**
@@ -63,11 +148,29 @@ public class SameGameModel extends AbstractGameModel {
      * @throws IllegalArgumentException if difficulty is null.
      */
     public SameGameModel(DifficultyLevel difficulty) {
+        this(difficulty, new SplittableRandom());
+    }
+
+    /**
+     * Constructs a SameGameModel with the specified difficulty level whose boards are drawn from the
+     * given random number generator, so that a seeded generator yields the same sequence of boards
+     * on every run.
+     *
+     * @param difficulty The {@link DifficultyLevel} defining the game's parameters
+     * (rows, columns, number of colors). Must not be null.
+     * @param random The generator tile colors are drawn from by {@link #initializeGame()}. Must not be null.
+     * @throws IllegalArgumentException if difficulty or random is null.
+     */
+    public SameGameModel(DifficultyLevel difficulty, RandomGenerator random) {
         super();
         if (difficulty == null) {
             throw new IllegalArgumentException("DifficultyLevel cannot be null for SameGameModel.");
         }
+        if (random == null) {
+            throw new IllegalArgumentException("Random generator cannot be null for SameGameModel.");
+        }
         this.currentDifficulty = difficulty;
+        this.random = random;
 
         this.availableColors = new ArrayList<>();
         int colorsToUse = Math.min(this.currentDifficulty.getNumColors(), PredefinedColors.PALETTE.size());
@@ -93,13 +196,49 @@ public class SameGameModel extends AbstractGameModel {
         return currentDifficulty;
     }
 
+    /**
+     * Checks whether new games deal only boards that can be cleared completely, because the difficulty
+     * {@link DifficultyLevel#isSolvableOnly() asks for them} or {@link #setSolvableOnly(boolean)} requested them.
+     * @return {@code true} if every new board can be cleared.
+     */
+    public boolean isSolvableOnly() {
+        return solvableOnlyRequested || (currentDifficulty != null && currentDifficulty.isSolvableOnly());
+    }
+
+    /**
+     * Requests that new games deal only boards that can be cleared completely, even if the difficulty does
+     * not ask for them. While requested, a background thread keeps a few such boards ready; withdrawing the
+     * request stops it. Takes effect from the next new game.
+     * @param solvableOnly {@code true} to request clearable boards, {@code false} to follow the difficulty again.
+     */
+    public void setSolvableOnly(boolean solvableOnly) {
+        this.solvableOnlyRequested = solvableOnly;
+        if (!isSolvableOnly()) {
+            discardBoardGenerator();
+        }
+    }
+
+    /**
+     * Gets the Zobrist hash of the current board, which the board updates incrementally as tiles are
+     * removed, fall and shift (see {@link SameGameBoard#stateHash()}). The score is not included, so the
+     * same tiles reached by different moves hash equally.
+     * @return The 64-bit hash of the board, or {@code 0} before the first game.
+     */
+    public long stateHash() {
+        return board == null ? 0 : board.stateHash();
+    }
+
     /**
      * Initializes or resets the game to its starting state based on the {@code currentDifficulty}.
      * This involves:
      * <ul>
-     * <li>Creating a new game board ({@link #gameBoard}) with dimensions from the current difficulty.</li>
+     * <li>Creating a new column-major {@link SameGameBoard} ({@link #gameBoard}) with dimensions from the current difficulty.</li>
      * <li>Filling the board with {@link SameGameTile}s of random colors chosen from the available palette
-     * based on the number of colors specified by the current difficulty.</li>
+     * based on the number of colors specified by the current difficulty. If {@link #isSolvableOnly()
+     * solvable-only} boards are dealt, the board is instead one that can be cleared
+     * completely, taken from the boards generated ahead of time or else generated within
+     * {@link #CLEARABLE_BOARD_MAX_BUILDS} builds. Should every build get stuck, a random board is dealt and
+     * a "CLEARABLE_BOARD_UNAVAILABLE" event is sent before the others.</li>
      * <li>Resetting the score to 0.</li>
      * <li>Setting the game status to {@link GameStatus#PLAYING}.</li>
      * <li>Clearing the undo history stack.</li>
@@ -108,11 +247,35 @@ public class SameGameModel extends AbstractGameModel {
      * </ul>
      */
     @Override
-    @SuppressWarnings("unchecked")
     public void initializeGame() {
+        initializeGame(random, true);
+    }
+
+    /**
+     * Initializes or resets the game like {@link #initializeGame()}, drawing the tile colors from a
+     * {@link SplittableRandom} with the given seed instead of the model's own generator. The board then
+     * depends only on the seed and the difficulty, so it can be reproduced, and boards of different seeds
+     * can be generated on any number of threads independently. {@link #isSolvableOnly() Solvable-only}
+     * clearable boards are generated from the seed too,
+     * never taken from the boards generated ahead of time.
+     *
+     * @param seed The seed of the board.
+     */
+    public void initializeGame(long seed) {
+        initializeGame(new SplittableRandom(seed), false);
+    }
+
+    /**
+     * Initializes or resets the game, drawing the tile colors from a generator.
+     *
+     * @param tileRandom      The generator of the tile colors.
+     * @param usePregenerated Whether a clearable board generated ahead of time may be used.
+     */
+    private void initializeGame(RandomGenerator tileRandom, boolean usePregenerated) {
         if (this.currentDifficulty == null) {
             System.err.println("CRITICAL: SameGameModel - Difficulty not set prior to initializeGame. Forcing MEDIUM.");
             this.currentDifficulty = DifficultyLevel.MEDIUM;
+            discardBoardGenerator();
             this.availableColors.clear();
             int colorsToUse = Math.min(this.currentDifficulty.getNumColors(), PredefinedColors.PALETTE.size());
             for (int i = 0; i < colorsToUse; i++) {
@@ -125,23 +288,28 @@ public class SameGameModel extends AbstractGameModel {
         int colorsCountInUse = this.availableColors.size();
 
 
-        this.gameBoard = new Grid<>(rows, cols);
+        SameGameBoard newBoard = isSolvableOnly() && colorsCountInUse >= 2
+                ? clearableBoard(tileRandom, usePregenerated)
+                : null;
         this.score = 0;
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < cols; c++) {
-                if (colorsCountInUse <= 0) {
-                    ((Grid<SameGameTile>) this.gameBoard).setEntity(r, c, new SameGameTile(Color.GRAY));
-                    System.err.println("Warning: No available colors for tile generation. Using GRAY.");
-                } else {
-                    Color randomColor = availableColors.get(random.nextInt(colorsCountInUse));
-                    ((Grid<SameGameTile>) this.gameBoard).setEntity(r, c, new SameGameTile(randomColor));
+        if (colorsCountInUse <= 0) {
+            System.err.println("Warning: No available colors for tile generation. Using the first palette color.");
+        }
+        if (newBoard == null) {
+            newBoard = new SameGameBoard(rows, cols);
+            // Filled bottom-up so that no column is ever seen with a gap below its top tile.
+            for (int r = rows - 1; r >= 0; r--) {
+                for (int c = 0; c < cols; c++) {
+                    Color randomColor = colorsCountInUse <= 0
+                            ? PredefinedColors.PALETTE.get(0)
+                            : availableColors.get(tileRandom.nextInt(colorsCountInUse));
+                    newBoard.setCode(r, c, SameGameTileCodec.INSTANCE.codeOf(randomColor));
                 }
             }
         }
+        setBoard(newBoard);
         setCurrentStatus(GameStatus.PLAYING);
-        if (historyStack != null) {
-            historyStack.clear();
-        }
+        moveHistory().clear();
         notifyObservers(new GameEvent(this, "BOARD_INITIALIZED", this.gameBoard));
         notifyObservers(new GameEvent(this, "SCORE_UPDATED", this.score));
         notifyObservers(new GameEvent(this, "NEW_GAME_STARTED", this.currentDifficulty));
@@ -150,6 +318,8 @@ public class SameGameModel extends AbstractGameModel {
     /**
      * Sets the game board to a predefined grid and difficulty for testing purposes.
      * This method is intended for use in test environments to create specific scenarios.
+     * The tiles of the given grid are copied into a new {@link SameGameBoard}; empty cells
+     * inside columns are kept until the next {@link #applyGravity()}.
      * It reinitializes internal color lists based on the test difficulty, resets the score,
      * sets the game status, clears the undo history, and notifies observers.
      *
@@ -158,8 +328,9 @@ public class SameGameModel extends AbstractGameModel {
      * @param initialStatus The {@link GameStatus} to set the game to (e.g., PLAYING).
      */
     protected void setTestGameBoard(Grid<SameGameTile> testBoard, DifficultyLevel testDifficulty, GameStatus initialStatus) {
-        this.gameBoard = testBoard;
+        setBoard(SameGameBoard.from(testBoard));
         this.currentDifficulty = testDifficulty;
+        discardBoardGenerator();
         this.availableColors.clear();
         int colorsToUse = Math.min(this.currentDifficulty.getNumColors(), PredefinedColors.PALETTE.size());
         for (int i = 0; i < colorsToUse; i++) {
@@ -168,9 +339,7 @@ public class SameGameModel extends AbstractGameModel {
 
         this.score = 0;
         this.setCurrentStatus(initialStatus);
-        if (this.historyStack != null) {
-            this.historyStack.clear();
-        }
+        moveHistory().clear();
         notifyObservers(new GameEvent(this, "BOARD_CONFIGURED_FOR_TEST", this.gameBoard));
     }
 
@@ -199,9 +368,10 @@ public class SameGameModel extends AbstractGameModel {
      * </ul>
      * For a {@link HintRequestAction}:
      * <ul>
-     * <li>Calls {@link #suggestMove()} to find the best immediate move.</li>
-     * <li>Notifies observers with "MOVE_SUGGESTION_AVAILABLE" (with the suggested tile group)
-     * or "NO_SUGGESTION_AVAILABLE" events.</li>
+     * <li>Notifies observers with "MOVE_SUGGESTION_AVAILABLE" (with the best tile group known at once,
+     * falling back to {@link #suggestMove()}) or "NO_SUGGESTION_AVAILABLE" events.</li>
+     * <li>Starts a background lookahead search that publishes better suggestions as it finds them
+     * (see {@link #requestHint()}).</li>
      * </ul>
      * </p>
      *
@@ -212,12 +382,7 @@ public class SameGameModel extends AbstractGameModel {
     protected void processGameSpecificAction(GameAction action) {
 
         if (action instanceof HintRequestAction) {
-            List<SameGameTilePosition> suggestionGroup = suggestMove();
-            if (suggestionGroup != null && !suggestionGroup.isEmpty()) {
-                notifyObservers(new GameEvent(this, "MOVE_SUGGESTION_AVAILABLE", suggestionGroup));
-            } else {
-                notifyObservers(new GameEvent(this, "NO_SUGGESTION_AVAILABLE", "No valid moves to suggest."));
-            }
+            requestHint();
             return;
         }
 
@@ -239,25 +404,30 @@ public class SameGameModel extends AbstractGameModel {
                 return;
             }
 
-            List<SameGameTilePosition> connectedTiles = findConnectedTiles(r, c);
+            SameGameComponents groups = currentComponents();
+            int group = groups.groupAt(r, c);
+            int groupSize = groups.groupSize(group);
 
-            if (connectedTiles.size() >= MIN_TILES_TO_REMOVE) {
-                Grid<SameGameTile> boardBeforeMove = ((Grid<SameGameTile>) this.gameBoard).deepCopy(SameGameTile::copy);
-                int scoreBeforeMove = this.score;
-                if (historyStack != null) {
-                    historyStack.push(new GameState(boardBeforeMove, scoreBeforeMove));
-                }
+            if (groupSize >= MIN_TILES_TO_REMOVE) {
+                SameGameSnapshot stateBeforeMove = board.isSettled() ? null : new SameGameSnapshot(board.copy(), this.score);
+                int colorCode = groups.groupColor(group);
 
-                removeTiles(connectedTiles);
+                int[] removedCells = removeGroup(groups, group);
                 applyGravity();
-                compactColumns();
-                int pointsEarned = calculatePoints(connectedTiles.size());
+                int[] closedColumns = board.compactColumns();
+                int pointsEarned = calculatePoints(groupSize);
+                if (stateBeforeMove != null) {
+                    moveHistory().recordWithSnapshot(stateBeforeMove);
+                } else {
+                    recordMove(colorCode, pointsEarned, removedCells, closedColumns);
+                }
                 setScore(this.score + pointsEarned);
+                cancelHintSearch();
                 notifyObservers(new GameEvent(this, "BOARD_CHANGED", this.gameBoard));
-                notifyObservers(new GameEvent(this, "TILES_REMOVED_SUCCESS", connectedTiles.size()));
+                notifyObservers(new GameEvent(this, "TILES_REMOVED_SUCCESS", groupSize));
                 checkEndGameConditions();
             } else {
-                System.out.println("SameGameModel: Not enough connected tiles to remove at (" + r + "," + c + "). Found: " + connectedTiles.size());
+                System.out.println("SameGameModel: Not enough connected tiles to remove at (" + r + "," + c + "). Found: " + groupSize);
                 notifyObservers(new GameEvent(this, "INVALID_SELECTION", "Not enough connected tiles to remove."));
             }
             return;
@@ -266,23 +436,22 @@ public class SameGameModel extends AbstractGameModel {
     }
 
     /**
-     * Undoes the last successfully processed move by restoring the game board and score
-     * from the history stack. Sets the game status back to PLAYING and notifies observers.
+     * Undoes the last successfully processed move through {@link #moveHistory}: its delta is
+     * replayed backwards on the current board (closed columns are reopened, the removed tiles are
+     * put back under the tiles that fell onto them, and the points are subtracted), or the board
+     * is restored from the snapshot the move was recorded with.
+     * Sets the game status back to PLAYING and notifies observers.
      * This method is called by {@link AbstractGameModel#processInputAction(GameAction)}
      * when an {@link UndoAction} is received and {@link #canUndo()} is true.
      */
     @Override
     public void undoLastMove() {
-        if (historyStack == null || historyStack.isEmpty()) {
-            System.err.println("SameGameModel.undoLastMove: Called when canUndo should be false or historyStack is null.");
+        if (!moveHistory().undo()) {
+            System.err.println("SameGameModel.undoLastMove: Called when canUndo should be false.");
             return;
         }
-
-        GameState previousState = (GameState) historyStack.pop();
-
-        this.gameBoard = previousState.boardState();
-        setScore(previousState.scoreState());
         setCurrentStatus(GameStatus.PLAYING);
+        cancelHintSearch();
 
         notifyObservers(new GameEvent(this, "BOARD_CHANGED", this.gameBoard));
         notifyObservers(new GameEvent(this, "UNDO_PERFORMED", null));
@@ -292,13 +461,13 @@ public class SameGameModel extends AbstractGameModel {
 
     /**
      * Checks if an undo operation can currently be performed.
-     * An undo is possible if the {@link AbstractGameModel#historyStack} is not null and not empty.
+     * An undo is possible if {@link #moveHistory} still holds a move.
      *
      * @return {@code true} if an undo operation is possible, {@code false} otherwise.
      */
     @Override
     public boolean canUndo() {
-        return historyStack != null && !historyStack.isEmpty();
+        return moveHistory().canUndo();
     }
 
     /**
@@ -345,13 +514,17 @@ public class SameGameModel extends AbstractGameModel {
         if (selectedTile == null || selectedTile.isEmpty()) {
             return false;
         }
-        return findConnectedTiles(r, c).size() >= MIN_TILES_TO_REMOVE;
+        SameGameComponents groups = currentComponents();
+        return groups.groupSize(groups.groupAt(r, c)) >= MIN_TILES_TO_REMOVE;
     }
 
     /**
      * Checks for SameGame's end-of-game conditions (win or loss).
      * A loss occurs if no more valid moves (groups of {@link #MIN_TILES_TO_REMOVE} or more) can be made.
      * A win occurs if the board is completely empty (which also implies no more moves).
+     * Both are answered from the pair and tile counts that {@link SameGameBoard} keeps up to date
+     * as tiles change, so no search is needed; with {@code MIN_TILES_TO_REMOVE == 2} a move exists
+     * exactly when two adjacent tiles share a color.
      * Updates the {@link #currentStatus} and notifies observers if the game ends.
      * If moves are available and status was not PLAYING (e.g., after an undo from game over),
      * it sets the status back to PLAYING.
@@ -365,34 +538,10 @@ public class SameGameModel extends AbstractGameModel {
             return;
         }
 
-        boolean moveAvailable = false;
-        Grid<SameGameTile> board = (Grid<SameGameTile>) this.gameBoard;
-        for (int r = 0; r < board.getRows(); r++) {
-            for (int c = 0; c < board.getColumns(); c++) {
-                SameGameTile tile = board.getEntity(r, c);
-                if (tile != null && !tile.isEmpty()) {
-                    if (findConnectedTiles(r, c).size() >= MIN_TILES_TO_REMOVE) {
-                        moveAvailable = true;
-                        break;
-                    }
-                }
-            }
-            if (moveAvailable) break;
-        }
+        boolean moveAvailable = board.hasAdjacentPair();
 
         if (!moveAvailable) {
-            boolean boardCompletelyEmpty = true;
-            for (int r = 0; r < board.getRows(); r++) {
-                for (int c = 0; c < board.getColumns(); c++) {
-                    SameGameTile tile = board.getEntity(r, c);
-                    if (tile != null && !tile.isEmpty()) {
-                        boardCompletelyEmpty = false;
-                        break;
-                    }
-                }
-                if (!boardCompletelyEmpty) break;
-            }
-            if (boardCompletelyEmpty) {
+            if (board.getTileCount() == 0) {
                 setCurrentStatus(GameStatus.GAME_OVER_WIN);
             } else {
                 setCurrentStatus(GameStatus.GAME_OVER_LOSE);
@@ -414,191 +563,258 @@ public class SameGameModel extends AbstractGameModel {
             return Collections.emptyList();
         }
 
-        List<SameGameTilePosition> bestGroupToClick = Collections.emptyList();
+        SameGameComponents groups = currentComponents();
+        int bestGroup = SameGameComponents.NO_GROUP;
         int maxScoreForMove = -1;
+        for (int i = 0; i < groups.removableGroupCount(); i++) {
+            int group = groups.removableGroup(i);
+            int currentMoveScore = calculatePoints(groups.groupSize(group));
+            if (currentMoveScore > maxScoreForMove) {
+                maxScoreForMove = currentMoveScore;
+                bestGroup = group;
+            }
+        }
+        if (bestGroup == SameGameComponents.NO_GROUP) {
+            return Collections.emptyList();
+        }
 
-        Grid<SameGameTile> board = (Grid<SameGameTile>) this.gameBoard;
-        Set<SameGameTilePosition> consideredStartingTiles = new HashSet<>();
+        return groupPositions(groups, bestGroup);
+    }
 
-        for (int r = 0; r < board.getRows(); r++) {
-            for (int c = 0; c < board.getColumns(); c++) {
-                SameGameTilePosition currentStartPos = new SameGameTilePosition(r, c);
-                if (consideredStartingTiles.contains(currentStartPos)) {
-                    continue;
-                }
+    /**
+     * Answers a {@link HintRequestAction} without blocking the calling thread. The best hint already known
+     * for the board (a cached search result, or the best so far of the running search) is published at once,
+     * or else the greedy {@link #suggestMove()}. Unless the board has been searched to the end, a search by
+     * the {@link #hintEngine} is started, and each better move it finds is published by
+     * {@link #publishHint(long, List)} as a further {@code MOVE_SUGGESTION_AVAILABLE} event.
+     */
+    private void requestHint() {
+        if (board == null) return;
+        long stateHash = board.stateHash();
+        SameGameSelectAction known = hintEngine.getBestKnownHint(stateHash);
+        List<SameGameTilePosition> suggestionGroup = known != null ? groupPositionsAt(known) : suggestMove();
+        if (suggestionGroup.isEmpty()) {
+            notifyObservers(new GameEvent(this, "NO_SUGGESTION_AVAILABLE", "No valid moves to suggest."));
+            return;
+        }
+        notifyObservers(new GameEvent(this, "MOVE_SUGGESTION_AVAILABLE", suggestionGroup));
+        if (!hintEngine.hasFinalHint(stateHash) && !hintEngine.isSearching(stateHash)) {
+            hintSearchStateHash = stateHash;
+            hintEngine.search(board.copy(), (hash, move, group) -> publishHint(hash, group));
+        }
+    }
 
-                SameGameTile currentTile = board.getEntity(r, c);
-                if (currentTile != null && !currentTile.isEmpty()) {
-                    List<SameGameTilePosition> connectedTiles = findConnectedTiles(r, c);
-
-                    if (connectedTiles.size() >= MIN_TILES_TO_REMOVE) {
-                        consideredStartingTiles.addAll(connectedTiles);
-
-                        int currentMoveScore = calculatePoints(connectedTiles.size());
-                        if (currentMoveScore > maxScoreForMove) {
-                            maxScoreForMove = currentMoveScore;
-                            bestGroupToClick = new ArrayList<>(connectedTiles);
-                        } else if (currentMoveScore == maxScoreForMove && !connectedTiles.isEmpty()) {
-                            if (bestGroupToClick.isEmpty() || connectedTiles.size() > bestGroupToClick.size()) {
-                                bestGroupToClick = new ArrayList<>(connectedTiles);
-                            }
-                        }
-                    }
-                }
+    /**
+     * Publishes a hint found by a background search through the {@link #hintEventExecutor}, unless the
+     * search has been cancelled because the board changed. The tile group was computed by the search from its
+     * own copy of the board, so publishing reads nothing of the live board and is safe on any thread.
+     *
+     * @param stateHash The hash of the board the hint was computed for.
+     * @param group     The unmodifiable positions of the hinted group.
+     */
+    private void publishHint(long stateHash, List<SameGameTilePosition> group) {
+        hintEventExecutor.execute(() -> {
+            Long searched = hintSearchStateHash;
+            if (searched == null || searched != stateHash || getCurrentStatus() != GameStatus.PLAYING) {
+                return;
             }
+            notifyObservers(new GameEvent(this, "MOVE_SUGGESTION_AVAILABLE", group));
+        });
+    }
+
+    /** Cancels the running hint search, so that none of its hints is published any more. */
+    private void cancelHintSearch() {
+        hintSearchStateHash = null;
+        hintEngine.cancel();
+    }
+
+    /**
+     * Sets the executor that background hints are published through. Hints carry their own copy of the
+     * tile group, but observers are notified on the thread the executor runs them on, so a Swing view passes
+     * {@code SwingUtilities::invokeLater} to publish on the event dispatch thread; by default observers are
+     * notified directly on the hint engine's thread.
+     *
+     * @param executor The executor. Must not be null.
+     */
+    public void setHintEventExecutor(Executor executor) {
+        this.hintEventExecutor = Objects.requireNonNull(executor, "Hint event executor cannot be null.");
+    }
+
+    /**
+     * Gets the positions of the removable group containing a selected tile.
+     *
+     * @param move The selection.
+     * @return The group's tile positions, or an empty list if the selection is not a removable group.
+     */
+    private List<SameGameTilePosition> groupPositionsAt(SameGameSelectAction move) {
+        if (!board.isValidCoordinate(move.row(), move.column())) {
+            return Collections.emptyList();
+        }
+        SameGameComponents groups = currentComponents();
+        int group = groups.groupAt(move.row(), move.column());
+        if (groups.groupSize(group) < MIN_TILES_TO_REMOVE) {
+            return Collections.emptyList();
+        }
+        return groupPositions(groups, group);
+    }
+
+    /** Lists the positions of the tiles of a group. */
+    static List<SameGameTilePosition> groupPositions(SameGameComponents groups, int group) {
+        int columns = groups.columns();
+        int groupSize = groups.groupSize(group);
+        List<SameGameTilePosition> positions = new ArrayList<>(groupSize);
+        for (int i = 0; i < groupSize; i++) {
+            int cell = groups.groupCell(group, i);
+            positions.add(new SameGameTilePosition(cell / columns, cell % columns));
         }
-        return bestGroupToClick;
+        return positions;
     }
 
     /**
-     * Finds all tiles connected to the tile at (startRow, startCol) that are of the same color.
-     * Uses a Depth First Search (DFS)-like algorithm.
+     * Gets the group labeling of the current board, relabeling it first if the board
+     * has changed since the labeling was last built.
      *
-     * @param startRow The starting row of the tile to check.
-     * @param startCol The starting column of the tile to check.
-     * @return A list of {@link SameGameTilePosition} objects representing the connected tiles.
-     * Returns an empty list if the starting tile is empty or invalid.
+     * @return The up-to-date {@link SameGameComponents}.
      */
-    private List<SameGameTilePosition> findConnectedTiles(int startRow, int startCol) {
-        List<SameGameTilePosition> connected = new ArrayList<>();
-        Set<SameGameTilePosition> visited = new HashSet<>();
+    private SameGameComponents currentComponents() {
+        components.ensureCurrent(board);
+        return components;
+    }
 
-        @SuppressWarnings("unchecked")
-        Grid<SameGameTile> board = (Grid<SameGameTile>)this.gameBoard;
-        if (board == null) return connected;
-
-        SameGameTile startTile = board.getEntity(startRow, startCol);
-
-        if (startTile == null || startTile.isEmpty()) {
-            return connected;
-        }
-        Color targetColor = startTile.getColor();
-
-        List<SameGameTilePosition> stack = new ArrayList<>();
-        stack.add(new SameGameTilePosition(startRow, startCol));
-        visited.add(new SameGameTilePosition(startRow, startCol));
-
-        while(!stack.isEmpty()){
-            SameGameTilePosition currentPos = stack.removeLast();
-            connected.add(currentPos);
-            int r = currentPos.row;
-            int c = currentPos.col;
-            int[] dr = {-1, 1, 0, 0};
-            int[] dc = {0, 0, -1, 1};
-
-            for(int i=0; i<4; i++){
-                int nr = r + dr[i];
-                int nc = c + dc[i];
-                SameGameTilePosition nextPos = new SameGameTilePosition(nr, nc);
-
-                if(board.isValidCoordinate(nr, nc) && !visited.contains(nextPos)){
-                    SameGameTile neighborTile = board.getEntity(nr, nc);
-                    if(neighborTile != null && !neighborTile.isEmpty() && neighborTile.getColor().equals(targetColor)){
-                        visited.add(nextPos);
-                        stack.add(nextPos);
-                    }
-                }
+    /**
+     * Gets a board that can be cleared completely for the current difficulty and colors: one generated ahead
+     * of time if allowed and ready, or else one generated now within {@link #CLEARABLE_BOARD_MAX_BUILDS} builds.
+     * Taking a board starts the {@link #boardPool} generating its replacement.
+     *
+     * @param tileRandom      The generator of a board generated now.
+     * @param usePregenerated Whether a board generated ahead of time may be used.
+     * @return The board, or {@code null} if every build got stuck.
+     */
+    private SameGameBoard clearableBoard(RandomGenerator tileRandom, boolean usePregenerated) {
+        if (boardGenerator == null) {
+            int[] colorCodes = new int[availableColors.size()];
+            for (int i = 0; i < colorCodes.length; i++) {
+                colorCodes[i] = SameGameTileCodec.INSTANCE.codeOf(availableColors.get(i));
+            }
+            boardGenerator = new SameGameBoardGenerator(currentDifficulty.getRows(), currentDifficulty.getCols(), colorCodes);
+        }
+        if (usePregenerated) {
+            if (boardPool == null) {
+                boardPool = new SameGameBoardPool(boardGenerator, PREGENERATED_BOARDS, random.nextLong());
+            }
+            SameGameBoard ready = boardPool.poll();
+            if (ready != null) {
+                return ready;
             }
         }
-        return connected;
+        SameGameBoardGenerator.ClearableBoard generated = boardGenerator.generate(tileRandom, CLEARABLE_BOARD_MAX_BUILDS);
+        if (generated == null) {
+            System.err.println("SameGameModel: No clearable board found within " + CLEARABLE_BOARD_MAX_BUILDS
+                    + " builds. Dealing a random board.");
+            notifyObservers(new GameEvent(this, "CLEARABLE_BOARD_UNAVAILABLE", this.currentDifficulty));
+            return null;
+        }
+        return generated.board();
     }
 
     /**
-     * Marks a list of tiles as empty on the game board.
-     * This is called after a valid group of tiles is identified for removal.
+     * Stops the background hint search and clearable board generation, and their worker threads.
+     * Both are restarted on demand if the model is used again.
+     */
+    @Override
+    public void dispose() {
+        cancelHintSearch();
+        hintEngine.shutdown();
+        discardBoardGenerator();
+    }
+
+    /** Drops the clearable board generator and its pool, after the difficulty or colors have changed. */
+    private void discardBoardGenerator() {
+        if (boardPool != null) {
+            boardPool.shutdown();
+            boardPool = null;
+        }
+        boardGenerator = null;
+    }
+
+    /**
+     * Replaces the current board, keeping {@link #board} and {@link #gameBoard} in sync.
      *
-     * @param tilesToRemove A list of {@link SameGameTilePosition} indicating which tiles to remove (mark as empty).
+     * @param newBoard The new column-major board.
      */
-    private void removeTiles(List<SameGameTilePosition> tilesToRemove) {
-        @SuppressWarnings("unchecked")
-        Grid<SameGameTile> board = (Grid<SameGameTile>) this.gameBoard;
-        if (board == null) return;
+    private void setBoard(SameGameBoard newBoard) {
+        cancelHintSearch();
+        this.board = newBoard;
+        this.gameBoard = newBoard;
+    }
 
-        for (SameGameTilePosition pos : tilesToRemove) {
-            SameGameTile tile = board.getEntity(pos.row, pos.col);
-            if (tile != null) {
-                tile.setEmpty();
-            }
+    /**
+     * Records a move in {@link #moveHistory} as delta words assembled in {@link #deltaWords}.
+     *
+     * @param colorCode     The tile code of the removed group.
+     * @param points        The points the move scored.
+     * @param removedCells  The sorted column-slot indices of the removed tiles.
+     * @param closedColumns The columns closed up by compaction, ascending.
+     */
+    private void recordMove(int colorCode, int points, int[] removedCells, int[] closedColumns) {
+        int length = 4 + removedCells.length + closedColumns.length;
+        if (deltaWords.length < length) {
+            deltaWords = new int[Math.max(length, deltaWords.length * 2)];
+        }
+        deltaWords[0] = colorCode;
+        deltaWords[1] = points;
+        deltaWords[2] = removedCells.length;
+        System.arraycopy(removedCells, 0, deltaWords, 3, removedCells.length);
+        int closedStart = 3 + removedCells.length;
+        deltaWords[closedStart] = closedColumns.length;
+        System.arraycopy(closedColumns, 0, deltaWords, closedStart + 1, closedColumns.length);
+        moveHistory().record(deltaWords, 0, length);
+    }
+
+    /**
+     * Marks the tiles of a group as empty on the game board.
+     * This is called after a valid group of tiles is identified for removal.
+     *
+     * @param groups The labeling the group was taken from; it must describe the current board.
+     * @param group  The label of the group to remove.
+     * @return The sorted {@link SameGameBoard#columnSlotIndex(int, int) column-slot indices} of the removed tiles.
+     */
+    private int[] removeGroup(SameGameComponents groups, int group) {
+        int columns = groups.columns();
+        int[] removedCells = new int[groups.groupSize(group)];
+        for (int i = 0; i < removedCells.length; i++) {
+            int cell = groups.groupCell(group, i);
+            int row = cell / columns;
+            int col = cell % columns;
+            removedCells[i] = board.columnSlotIndex(row, col);
+            board.clearCell(row, col);
         }
+        Arrays.sort(removedCells);
+        return removedCells;
     }
 
     /**
      * Applies gravity to the tiles on the board. After tiles are removed (marked as empty),
-     * tiles above the empty spaces fall down to fill them. Vacated upper cells are
-     * filled with new placeholder empty tiles.
-     * This method iterates using the actual dimensions of the current {@code gameBoard}.
-     * It is typically called after {@link #removeTiles(List)}.
+     * tiles above the empty spaces fall down to fill them. Only the columns that had tiles
+     * removed are compacted, each in place within its own column array.
+     * It is typically called after {@link #removeGroup(SameGameComponents, int)}.
      * This method's visibility is protected for testing purposes.
      */
     protected void applyGravity() {
-        @SuppressWarnings("unchecked")
-        Grid<SameGameTile> board = (Grid<SameGameTile>) this.gameBoard;
         if (board == null) return;
-
-        int currentBoardRows = board.getRows();
-        int currentBoardCols = board.getColumns();
-
-        for (int c = 0; c < currentBoardCols; c++) {
-            int emptySlotRow = currentBoardRows - 1;
-            for (int r = currentBoardRows - 1; r >= 0; r--) {
-                SameGameTile currentTile = board.getEntity(r, c);
-                if (currentTile != null && !currentTile.isEmpty()) {
-                    if (r != emptySlotRow) {
-                        board.setEntity(emptySlotRow, c, currentTile);
-                        SameGameTile emptyPlaceholder = new SameGameTile(PredefinedColors.EMPTY_SLOT_COLOR);
-                        emptyPlaceholder.setEmpty();
-                        board.setEntity(r, c, emptyPlaceholder);
-                    }
-                    emptySlotRow--;
-                }
-            }
-            for (int r = emptySlotRow; r >=0; r--) {
-                SameGameTile emptyPlaceholder = new SameGameTile(PredefinedColors.EMPTY_SLOT_COLOR);
-                emptyPlaceholder.setEmpty();
-                board.setEntity(r, c, emptyPlaceholder);
-            }
-        }
+        board.applyGravity();
     }
 
     /**
      * Compacts columns by shifting non-empty columns to the left to fill
      * any columns that became entirely empty after tile removal and gravity.
-     * Vacated columns on the right are filled with new placeholder empty tiles.
-     * This method iterates using the actual dimensions of the current {@code gameBoard}.
+     * Only column references are reordered; vacated columns end up empty on the right.
      * It is typically called after {@link #applyGravity()}.
      * This method's visibility is protected for testing purposes.
      */
     protected void compactColumns() {
-        @SuppressWarnings("unchecked")
-        Grid<SameGameTile> board = (Grid<SameGameTile>) this.gameBoard;
         if (board == null) return;
-
-        int currentBoardRows = board.getRows();
-        int currentBoardCols = board.getColumns();
-        int writeCol = 0;
-
-        for (int readCol = 0; readCol < currentBoardCols; readCol++) {
-            boolean columnIsEntirelyEmpty = true;
-            for (int r = 0; r < currentBoardRows; r++) {
-                SameGameTile tile = board.getEntity(r, readCol);
-                if (tile != null && !tile.isEmpty()) {
-                    columnIsEntirelyEmpty = false;
-                    break;
-                }
-            }
-
-            if (!columnIsEntirelyEmpty) {
-                if (readCol != writeCol) {
-                    for (int r = 0; r < currentBoardRows; r++) {
-                        board.setEntity(r, writeCol, board.getEntity(r, readCol));
-                        SameGameTile emptyPlaceholder = new SameGameTile(PredefinedColors.EMPTY_SLOT_COLOR);
-                        emptyPlaceholder.setEmpty();
-                        board.setEntity(r, readCol, emptyPlaceholder);
-                    }
-                }
-                writeCol++;
-            }
-        }
+        board.compactColumns();
     }
 
     /**
@@ -609,7 +825,7 @@ public class SameGameModel extends AbstractGameModel {
      * @param numRemoved The number of tiles removed in one move.
      * @return The points awarded for this move. Returns 0 if fewer than {@code MIN_TILES_TO_REMOVE} tiles are specified.
      */
-    private int calculatePoints(int numRemoved) {
+    static int calculatePoints(int numRemoved) {
         if (numRemoved >= MIN_TILES_TO_REMOVE) {
             return numRemoved * (numRemoved - 1);
         }
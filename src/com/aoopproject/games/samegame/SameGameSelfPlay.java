@@ -0,0 +1,446 @@
+package com.aoopproject.games.samegame;
+
+import com.aoopproject.common.model.DifficultyLevel;
+import com.aoopproject.framework.core.GameStatus;
+import com.aoopproject.games.samegame.action.SameGameSelectAction;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * Plays SameGame headlessly with pluggable {@link SameGameStrategy strategies}, to tune difficulty levels
+ * and to benchmark engine changes end to end.
+ * <p>
+ * Games are played on a {@link SameGameModel} with no view and no observer attached: boards come from
+ * {@link SameGameModel#initializeGame(long)} with a seed of their own, and moves go through the model's own
+ * selection handling, so removal, gravity, compaction, scoring, undo recording and end-of-game detection all
+ * run as in the game. Moves are passed to {@link SameGameModel#processGameSpecificAction} directly, which
+ * skips the console trace of {@link com.aoopproject.framework.core.AbstractGameModel#processInputAction};
+ * the strategies only choose removable groups, so the model logs nothing either.
+ * </p>
+ * <p>
+ * The board and the strategy's random choices of game {@code i} depend only on the runner's seed and
+ * {@code i} (see {@link #gameSeed(long, int)}). Every series therefore replays the same boards, so the
+ * reports of different strategies compare like with like, and {@link #playParallel(Supplier, int, int)}
+ * reports exactly what {@link #play(SameGameStrategy, int)} does, on any number of threads.
+ * {@link #main(String[])} runs the built-in strategies from the command line:
+ * </p>
+ * <pre>
+ * java com.aoopproject.games.samegame.SameGameSelfPlay [--games N] [--difficulty EASY|MEDIUM|HARD] [--seed S]
+ *      [--strategies random,greedy,color,search] [--beam WIDTH] [--threads N]
+ * </pre>
+ */
+public final class SameGameSelfPlay {
+
+    /** Number of games per strategy used by {@link #main(String[])} by default. */
+    public static final int DEFAULT_GAMES = 1_000;
+    /** Beam width of the search strategy used by {@link #main(String[])} by default. */
+    public static final int DEFAULT_SEARCH_BEAM_WIDTH = 16;
+    /** Largest number of games one task of {@link #playParallel(Supplier, int, int)} plays. */
+    public static final int PARALLEL_CHUNK_GAMES = 32;
+
+    /** The increment of the {@link SplittableRandom} seed sequence, spreading the seeds of consecutive games. */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The results of one strategy over a series of games.
+     *
+     * @param strategy      The strategy's {@link SameGameStrategy#name() name}.
+     * @param games         The number of games played.
+     * @param meanScore     The mean final score.
+     * @param scoreStdDev   The standard deviation of the final scores.
+     * @param minScore      The lowest final score.
+     * @param p10Score      The 10th percentile of the final scores.
+     * @param medianScore   The median final score.
+     * @param p90Score      The 90th percentile of the final scores.
+     * @param maxScore      The highest final score.
+     * @param clearedGames  The number of games that removed every tile.
+     * @param totalMoves    The number of moves played in all games.
+     * @param elapsedMillis The wall time of the series, in milliseconds.
+     */
+    public record StrategyReport(String strategy, int games, double meanScore, double scoreStdDev, int minScore,
+                                 int p10Score, int medianScore, int p90Score, int maxScore, int clearedGames,
+                                 long totalMoves, long elapsedMillis) {
+
+        /** The header matching {@link #toString()}. */
+        public static final String HEADER = String.format("%-8s %7s %9s %8s %7s %6s %6s %6s %6s %6s %8s",
+                "strategy", "games", "games/s", "mean", "stddev", "min", "p10", "median", "p90", "max", "cleared");
+
+        /** @return The throughput of the series in games per second. */
+        public double gamesPerSecond() {
+            return elapsedMillis == 0 ? games * 1000.0 : games * 1000.0 / elapsedMillis;
+        }
+
+        /** @return The share of games that removed every tile, from 0 to 1. */
+        public double clearRate() {
+            return games == 0 ? 0 : (double) clearedGames / games;
+        }
+
+        /** @return This report as a table row under {@link #HEADER}. */
+        @Override
+        public String toString() {
+            return String.format("%-8s %7d %9.1f %8.1f %7.1f %6d %6d %6d %6d %6d %7.1f%%", strategy, games,
+                    gamesPerSecond(), meanScore, scoreStdDev, minScore, p10Score, medianScore, p90Score, maxScore,
+                    clearRate() * 100);
+        }
+    }
+
+    /**
+     * A read-only view of a board and its removable groups, handed to {@link SameGameStrategy#chooseGroup}.
+     * Groups are indexed from 0 in row-major order of their top-left-most tile. The view is only valid for
+     * the duration of the call.
+     */
+    public static final class Position {
+        private final SameGameComponents groups = new SameGameComponents(SameGameModel.MIN_TILES_TO_REMOVE);
+        private final int[] tileCounts = new int[SameGameTileCodec.INSTANCE.codeCount()];
+        private SameGameBoard board;
+        private boolean tileCountsCurrent;
+
+        Position() {
+        }
+
+        /** Points the view at a board, relabeling its groups. */
+        void update(SameGameBoard board) {
+            this.board = board;
+            groups.ensureCurrent(board);
+            tileCountsCurrent = false;
+        }
+
+        /** @return The board. It is the live board of the game and must not be modified; solvers work on a {@link SameGameBoard#copy() copy}. */
+        public SameGameBoard board() {
+            return board;
+        }
+
+        /** @return The number of removable groups. */
+        public int groupCount() {
+            return groups.removableGroupCount();
+        }
+
+        /** @return The number of tiles in a removable group. */
+        public int groupSize(int index) {
+            return groups.groupSize(groups.removableGroup(index));
+        }
+
+        /** @return The {@link SameGameTileCodec tile code} of a removable group's color. */
+        public int groupColor(int index) {
+            return groups.groupColor(groups.removableGroup(index));
+        }
+
+        /** @return The row of a removable group's top-left-most tile. */
+        public int groupRow(int index) {
+            return groups.groupCell(groups.removableGroup(index), 0) / groups.columns();
+        }
+
+        /** @return The column of a removable group's top-left-most tile. */
+        public int groupColumn(int index) {
+            return groups.groupCell(groups.removableGroup(index), 0) % groups.columns();
+        }
+
+        /**
+         * Finds the removable group a selection would remove.
+         *
+         * @param move The selection.
+         * @return The group's index, or -1 if the selection is off the board or not on a removable group.
+         */
+        public int groupAt(SameGameSelectAction move) {
+            if (!board.isValidCoordinate(move.row(), move.column())) {
+                return -1;
+            }
+            int group = groups.groupAt(move.row(), move.column());
+            for (int i = 0; i < groups.removableGroupCount(); i++) {
+                if (groups.removableGroup(i) == group) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * Counts the tiles of one color left on the board.
+         *
+         * @param code The {@link SameGameTileCodec tile code} of the color.
+         * @return The number of tiles of that color.
+         */
+        public int tileCount(int code) {
+            if (!tileCountsCurrent) {
+                Arrays.fill(tileCounts, 0);
+                for (int c = 0; c < board.getColumns(); c++) {
+                    for (int r = board.getRows() - 1; r >= 0; r--) {
+                        tileCounts[board.getCode(r, c)]++;
+                    }
+                }
+                tileCountsCurrent = true;
+            }
+            return tileCounts[code];
+        }
+
+        /** @return The selection removing a group, at its top-left-most tile. */
+        SameGameSelectAction selectionOf(int index) {
+            return new SameGameSelectAction(groupRow(index), groupColumn(index));
+        }
+    }
+
+    private final DifficultyLevel difficulty;
+    private final long seed;
+
+    /**
+     * Creates a runner.
+     *
+     * @param difficulty The difficulty of the boards. Must not be null.
+     * @param seed       The seed of the board sequence and of the strategies' random choices.
+     */
+    public SameGameSelfPlay(DifficultyLevel difficulty, long seed) {
+        this.difficulty = Objects.requireNonNull(difficulty, "DifficultyLevel cannot be null.");
+        this.seed = seed;
+    }
+
+    /**
+     * Plays a series of games with one strategy on the calling thread.
+     *
+     * @param strategy The strategy. Must not be null.
+     * @param games    The number of games. Must not be negative.
+     * @return The score distribution and throughput of the series.
+     * @throws IllegalArgumentException if {@code games} is negative.
+     * @throws IllegalStateException    if the strategy chooses a group that does not exist.
+     */
+    public StrategyReport play(SameGameStrategy strategy, int games) {
+        Objects.requireNonNull(strategy, "SameGameStrategy cannot be null.");
+        Series series = new Series(games);
+        long start = System.nanoTime();
+        playRange(strategy, 0, games, series);
+        return series.report(strategy.name(), (System.nanoTime() - start) / 1_000_000L);
+    }
+
+    /**
+     * Plays a series of games with one strategy on a dedicated {@link ForkJoinPool}. The games are split
+     * into chunks of {@link #PARALLEL_CHUNK_GAMES}, each played by a fresh strategy instance on its own
+     * model. The report is the same as that of {@link #play(SameGameStrategy, int)} for any parallelism,
+     * apart from the elapsed time.
+     *
+     * @param strategies  Creates the strategy instances; called once per chunk, possibly concurrently. Must not be null.
+     * @param games       The number of games. Must not be negative.
+     * @param parallelism The number of games played at once. Must be positive.
+     * @return The score distribution and throughput of the series.
+     * @throws IllegalArgumentException if {@code games} is negative or {@code parallelism} is not positive.
+     * @throws IllegalStateException    if a strategy chooses a group that does not exist.
+     */
+    public StrategyReport playParallel(Supplier<? extends SameGameStrategy> strategies, int games, int parallelism) {
+        Objects.requireNonNull(strategies, "Strategy supplier cannot be null.");
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        String name = Objects.requireNonNull(strategies.get(), "Strategy supplier returned null.").name();
+        Series series = new Series(games);
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new PlayRange(strategies, 0, games, series));
+        } finally {
+            pool.shutdown();
+        }
+        return series.report(name, (System.nanoTime() - start) / 1_000_000L);
+    }
+
+    /**
+     * Derives the seed of one game from a series seed. Each game's board and random choices depend only on
+     * its own seed, which is what makes a series independent of how its games are spread over threads.
+     *
+     * @param seed The series seed.
+     * @param game The game index, from 0.
+     * @return The game's seed.
+     */
+    static long gameSeed(long seed, int game) {
+        return new SplittableRandom(seed + game * GOLDEN_GAMMA).nextLong();
+    }
+
+    /** Plays the games {@code from..to-1} of a series with one strategy instance and model. */
+    private void playRange(SameGameStrategy strategy, int from, int to, Series series) {
+        SameGameModel model = new SameGameModel(difficulty);
+        Position position = new Position();
+        for (int game = from; game < to; game++) {
+            long boardSeed = gameSeed(seed, game);
+            model.initializeGame(boardSeed);
+            RandomGenerator moveRandom = new SplittableRandom(~boardSeed);
+            strategy.newGame();
+            int moves = 0;
+            while (model.getCurrentStatus() == GameStatus.PLAYING) {
+                position.update((SameGameBoard) model.getGameBoard());
+                int choice = strategy.chooseGroup(position, moveRandom);
+                if (choice < 0 || choice >= position.groupCount()) {
+                    throw new IllegalStateException("Strategy " + strategy.name() + " chose group " + choice
+                            + " of " + position.groupCount() + ".");
+                }
+                model.processGameSpecificAction(position.selectionOf(choice));
+                moves++;
+            }
+            series.scores[game] = model.getScore();
+            series.moves[game] = moves;
+            series.cleared[game] = model.getCurrentStatus() == GameStatus.GAME_OVER_WIN;
+        }
+    }
+
+    /** The per-game results of a series; each game writes only its own slots. */
+    private static final class Series {
+        final int[] scores;
+        final int[] moves;
+        final boolean[] cleared;
+
+        Series(int games) {
+            if (games < 0) {
+                throw new IllegalArgumentException("Game count cannot be negative: " + games);
+            }
+            this.scores = new int[games];
+            this.moves = new int[games];
+            this.cleared = new boolean[games];
+        }
+
+        StrategyReport report(String strategy, long elapsedMillis) {
+            int clearedGames = 0;
+            long totalMoves = 0;
+            for (int game = 0; game < scores.length; game++) {
+                totalMoves += moves[game];
+                if (cleared[game]) clearedGames++;
+            }
+            return SameGameSelfPlay.report(strategy, scores, clearedGames, totalMoves, elapsedMillis);
+        }
+    }
+
+    /** Plays the games {@code from..to-1}, splitting the range until each task holds one chunk. */
+    private final class PlayRange extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final transient Supplier<? extends SameGameStrategy> strategies;
+        private final int from;
+        private final int to;
+        private final transient Series series;
+
+        PlayRange(Supplier<? extends SameGameStrategy> strategies, int from, int to, Series series) {
+            this.strategies = strategies;
+            this.from = from;
+            this.to = to;
+            this.series = series;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_CHUNK_GAMES) {
+                playRange(Objects.requireNonNull(strategies.get(), "Strategy supplier returned null."), from, to, series);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new PlayRange(strategies, from, middle, series),
+                        new PlayRange(strategies, middle, to, series));
+            }
+        }
+    }
+
+    private static StrategyReport report(String strategy, int[] scores, int cleared, long moves, long elapsedMillis) {
+        int games = scores.length;
+        if (games == 0) {
+            return new StrategyReport(strategy, 0, 0, 0, 0, 0, 0, 0, 0, 0, moves, elapsedMillis);
+        }
+        double sum = 0;
+        for (int score : scores) {
+            sum += score;
+        }
+        double mean = sum / games;
+        double squares = 0;
+        for (int score : scores) {
+            squares += (score - mean) * (score - mean);
+        }
+        int[] sorted = scores.clone();
+        Arrays.sort(sorted);
+        return new StrategyReport(strategy, games, mean, Math.sqrt(squares / games), sorted[0],
+                percentile(sorted, 0.10), percentile(sorted, 0.50), percentile(sorted, 0.90), sorted[games - 1],
+                cleared, moves, elapsedMillis);
+    }
+
+    /** The nearest-rank percentile of sorted scores. */
+    private static int percentile(int[] sorted, double fraction) {
+        int rank = (int) Math.ceil(fraction * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * Runs the built-in strategies from the command line on {@code --threads} threads (all cores by default)
+     * and prints one report row per strategy; see the class description for the arguments.
+     *
+     * @param args The command-line arguments.
+     */
+    public static void main(String[] args) {
+        int games = DEFAULT_GAMES;
+        DifficultyLevel difficulty = DifficultyLevel.MEDIUM;
+        long seed = 1;
+        int beamWidth = DEFAULT_SEARCH_BEAM_WIDTH;
+        String strategyNames = "random,greedy,color,search";
+        int threads = Runtime.getRuntime().availableProcessors();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--games": games = Integer.parseInt(require(value, args[i])); i++; break;
+                    case "--difficulty": difficulty = DifficultyLevel.valueOf(require(value, args[i]).toUpperCase()); i++; break;
+                    case "--seed": seed = Long.parseLong(require(value, args[i])); i++; break;
+                    case "--strategies": strategyNames = require(value, args[i]); i++; break;
+                    case "--beam": beamWidth = Integer.parseInt(require(value, args[i])); i++; break;
+                    case "--threads": threads = Integer.parseInt(require(value, args[i])); i++; break;
+                    default: usage("Unknown option: " + args[i]); return;
+                }
+            }
+            List<String> names = new ArrayList<>();
+            for (String name : strategyNames.split(",")) {
+                strategy(name.trim(), beamWidth);
+                names.add(name.trim());
+            }
+            SameGameSelfPlay runner = new SameGameSelfPlay(difficulty, seed);
+            System.out.println(StrategyReport.HEADER);
+            final int searchBeamWidth = beamWidth;
+            for (String name : names) {
+                System.out.println(runner.playParallel(() -> strategy(name, searchBeamWidth), games, threads));
+            }
+        } catch (IllegalArgumentException e) {
+            usage(e.getMessage());
+        }
+    }
+
+    /**
+     * Creates a built-in strategy by name.
+     *
+     * @param name      {@code random}, {@code greedy}, {@code color} or {@code search}.
+     * @param beamWidth The beam width of the {@code search} strategy.
+     * @return A new strategy.
+     * @throws IllegalArgumentException if the name is unknown.
+     */
+    static SameGameStrategy strategy(String name, int beamWidth) {
+        switch (name) {
+            case "random": return SameGameStrategy.random();
+            case "greedy": return SameGameStrategy.greedy();
+            case "color": return SameGameStrategy.colorFocused();
+            case "search": return SameGameStrategy.search(new SameGameSolver(beamWidth, SameGameSolver.DEFAULT_MAX_NODES,
+                    SameGameSolver.DEFAULT_TIME_LIMIT_MILLIS));
+            default: throw new IllegalArgumentException("Unknown strategy: " + name);
+        }
+    }
+
+    private static String require(String value, String option) {
+        if (value == null) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return value;
+    }
+
+    private static void usage(String problem) {
+        System.err.println("SameGameSelfPlay: " + problem);
+        System.err.println("Usage: SameGameSelfPlay [--games N] [--difficulty EASY|MEDIUM|HARD] [--seed S] "
+                + "[--strategies random,greedy,color,search] [--beam WIDTH] [--threads N]");
+        System.exit(2);
+    }
+}
@@ -0,0 +1,21 @@
+package com.aoopproject.games.samegame;
+
+import com.aoopproject.games.samegame.action.SameGameSelectAction;
+
+import java.util.List;
+
+/**
+ * The outcome of a {@link SameGameSolver#solve(SameGameBoard)} call.
+ *
+ * @param moves          The moves of the best game found, in order, each selecting one tile of the group to
+ *                       remove; playing them on the solved board ends the game.
+ * @param score          The points the moves score.
+ * @param cleared        Whether the moves remove every tile.
+ * @param exploredNodes  The number of positions the search generated.
+ * @param budgetExceeded Whether the node or time budget ran out, in which case the game was finished greedily
+ *                       from the best positions reached so far.
+ * @param elapsedMillis  The time the search took, in milliseconds.
+ */
+public record SameGameSolution(List<SameGameSelectAction> moves, int score, boolean cleared,
+                               long exploredNodes, boolean budgetExceeded, long elapsedMillis) {
+}
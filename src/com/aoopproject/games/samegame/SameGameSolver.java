@@ -0,0 +1,278 @@
+package com.aoopproject.games.samegame;
+
+import com.aoopproject.games.samegame.action.SameGameSelectAction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * An offline SameGame solver that searches for the move sequence with the highest final score, used to
+ * grade a player's result against the best score achievable on the same board.
+ * <p>
+ * The solver runs a beam search: every position in the beam is expanded by each removable group, and only
+ * the {@code beamWidth} most promising children are kept for the next move. A child's promise is its score
+ * plus the points its remaining tiles would be worth if each color were removed as one group, which favours
+ * moves that keep colors together. Children reached before with at least the same score are dropped
+ * through a transposition table keyed by {@link SameGameBoard#stateHash()}. Positions are
+ * {@link SameGameBoard#copy() copies} of the compact board and never the live grid.
+ * </p>
+ * <p>
+ * The search ends when no position in the beam has a move left. If the node or time budget runs out
+ * first, the most promising positions reached are finished by always taking the largest group, so a
+ * complete game is returned either way. A solver holds no search state of its own, so one instance can
+ * serve several threads.
+ * </p>
+ */
+public final class SameGameSolver {
+
+    /** Beam width used by {@link #SameGameSolver()}. */
+    public static final int DEFAULT_BEAM_WIDTH = 200;
+    /** Node budget used by {@link #SameGameSolver()}. */
+    public static final long DEFAULT_MAX_NODES = 2_000_000;
+    /** Time budget used by {@link #SameGameSolver()}, in milliseconds. */
+    public static final long DEFAULT_TIME_LIMIT_MILLIS = 5_000;
+
+    /** Largest transposition table, in entries. */
+    private static final int MAX_TABLE_SIZE = 1 << 20;
+    private static final int TIME_CHECK_INTERVAL = 1024;
+
+    private final int beamWidth;
+    private final long maxNodes;
+    private final long timeLimitMillis;
+
+    /**
+     * Creates a solver with the given beam width and budget.
+     *
+     * @param beamWidth       The number of positions kept after each move. Must be positive.
+     * @param maxNodes        The number of positions a search may generate. Must be positive.
+     * @param timeLimitMillis The wall-clock time a search may take, in milliseconds. Must be positive.
+     * @throws IllegalArgumentException if a parameter is not positive.
+     */
+    public SameGameSolver(int beamWidth, long maxNodes, long timeLimitMillis) {
+        if (beamWidth <= 0 || maxNodes <= 0 || timeLimitMillis <= 0) {
+            throw new IllegalArgumentException("Solver parameters must be positive: beam=" + beamWidth
+                    + ", nodes=" + maxNodes + ", time=" + timeLimitMillis + "ms");
+        }
+        this.beamWidth = beamWidth;
+        this.maxNodes = maxNodes;
+        this.timeLimitMillis = timeLimitMillis;
+    }
+
+    /** Creates a solver with the default beam width and budget. */
+    public SameGameSolver() {
+        this(DEFAULT_BEAM_WIDTH, DEFAULT_MAX_NODES, DEFAULT_TIME_LIMIT_MILLIS);
+    }
+
+    /**
+     * Searches for the highest-scoring way to play a board to the end.
+     *
+     * @param board The board to solve; it is not modified. Tiles may still be waiting for gravity, as on
+     *              a board set up by hand; the first move settles them just as it does in the game.
+     * @return The best game found. If the calling thread is interrupted, the search stops as if its time
+     * had run out, and the interrupt status is left set.
+     */
+    public SameGameSolution solve(SameGameBoard board) {
+        return new Search(board).run();
+    }
+
+    /** A position reached by the search, linked to its parent to recover the moves. */
+    private static final class Node {
+        final Node parent;
+        /** The row of the selected tile, or -1 for the root. */
+        final int row;
+        final int column;
+        final int score;
+        final long promise;
+        /** The position; released once the node has been expanded. */
+        SameGameBoard board;
+
+        Node(Node parent, int row, int column, int score, long promise, SameGameBoard board) {
+            this.parent = parent;
+            this.row = row;
+            this.column = column;
+            this.score = score;
+            this.promise = promise;
+            this.board = board;
+        }
+    }
+
+    /** The state of one {@link #solve} call. */
+    private final class Search {
+        private final long startNanos = System.nanoTime();
+        private final long deadlineNanos = startNanos + timeLimitMillis * 1_000_000L;
+        private final SameGameBoard start;
+        private final SameGameComponents groups = new SameGameComponents(SameGameModel.MIN_TILES_TO_REMOVE);
+        private final int[] colorCounts = new int[SameGameTileCodec.INSTANCE.codeCount()];
+        private final long[] tableKeys;
+        private final int[] tableScores;
+        private final int tableMask;
+        private long nodes;
+        private boolean budgetExceeded;
+        private Node best;
+        private boolean bestCleared;
+
+        Search(SameGameBoard start) {
+            this.start = start;
+            int tableSize = Integer.highestOneBit((int) Math.min(MAX_TABLE_SIZE, Math.max(16, maxNodes)));
+            this.tableKeys = new long[tableSize];
+            this.tableScores = new int[tableSize];
+            this.tableMask = tableSize - 1;
+            Arrays.fill(tableScores, -1);
+        }
+
+        SameGameSolution run() {
+            List<Node> beam = new ArrayList<>();
+            beam.add(new Node(null, -1, -1, 0, 0, start.copy()));
+            List<Node> children = new ArrayList<>();
+            while (!beam.isEmpty() && !budgetExceeded) {
+                children.clear();
+                for (Node node : beam) {
+                    if (budgetExceeded) {
+                        children.add(node);
+                    } else {
+                        expand(node, children);
+                    }
+                }
+                children.sort(Comparator.comparingLong((Node n) -> n.promise).reversed());
+                beam = new ArrayList<>(children.subList(0, Math.min(beamWidth, children.size())));
+                if (budgetExceeded) {
+                    for (Node node : beam) {
+                        finishGreedily(node);
+                    }
+                }
+            }
+            return solution();
+        }
+
+        /** Adds the children of a node, or records it as a finished game if it has no move. */
+        private void expand(Node node, List<Node> children) {
+            SameGameBoard board = node.board;
+            groups.ensureCurrent(board);
+            int removable = groups.removableGroupCount();
+            if (removable == 0) {
+                offerFinished(node);
+                node.board = null;
+                return;
+            }
+            countColors(board);
+            int columns = groups.columns();
+            for (int i = 0; i < removable; i++) {
+                if (++nodes > maxNodes || (nodes % TIME_CHECK_INTERVAL == 0
+                        && (System.nanoTime() > deadlineNanos || Thread.currentThread().isInterrupted()))) {
+                    budgetExceeded = true;
+                    // Keep the node itself so that it is finished greedily like the rest of the beam.
+                    children.add(node);
+                    return;
+                }
+                int group = groups.removableGroup(i);
+                int size = groups.groupSize(group);
+                int color = groups.groupColor(group);
+                SameGameBoard child = board.copy();
+                removeGroup(child, group);
+                int score = node.score + SameGameModel.calculatePoints(size);
+                if (!isNewOrBetter(child.stateHash(), score)) {
+                    continue;
+                }
+                colorCounts[color] -= size;
+                long promise = score + potential();
+                colorCounts[color] += size;
+                int first = groups.groupCell(group, 0);
+                children.add(new Node(node, first / columns, first % columns, score, promise, child));
+            }
+            node.board = null;
+        }
+
+        /** Plays a node to the end, always removing the largest group, and records the finished game. */
+        private void finishGreedily(Node node) {
+            if (node.board == null) {
+                return;
+            }
+            Node current = node;
+            while (true) {
+                SameGameBoard board = current.board;
+                groups.ensureCurrent(board);
+                int largest = SameGameComponents.NO_GROUP;
+                for (int i = 0; i < groups.removableGroupCount(); i++) {
+                    int group = groups.removableGroup(i);
+                    if (groups.groupSize(group) > groups.groupSize(largest)) {
+                        largest = group;
+                    }
+                }
+                if (largest == SameGameComponents.NO_GROUP) {
+                    break;
+                }
+                int first = groups.groupCell(largest, 0);
+                int columns = groups.columns();
+                int score = current.score + SameGameModel.calculatePoints(groups.groupSize(largest));
+                SameGameBoard next = board.copy();
+                removeGroup(next, largest);
+                current.board = null;
+                current = new Node(current, first / columns, first % columns, score, score, next);
+            }
+            offerFinished(current);
+            current.board = null;
+        }
+
+        /** Removes a group of the labeled board from a copy of it and lets the tiles fall as the game does. */
+        private void removeGroup(SameGameBoard board, int group) {
+            int columns = groups.columns();
+            for (int i = 0; i < groups.groupSize(group); i++) {
+                int cell = groups.groupCell(group, i);
+                board.clearCell(cell / columns, cell % columns);
+            }
+            board.applyGravity();
+            board.compactColumns();
+        }
+
+        private void offerFinished(Node node) {
+            boolean cleared = node.board.getTileCount() == 0;
+            if (best == null || node.score > best.score || (node.score == best.score && cleared && !bestCleared)) {
+                best = node;
+                bestCleared = cleared;
+            }
+        }
+
+        /** Checks the transposition table and records the position if it is new or reached with a higher score. */
+        private boolean isNewOrBetter(long hash, int score) {
+            int slot = (int) (hash ^ (hash >>> 32)) & tableMask;
+            if (tableKeys[slot] == hash && tableScores[slot] >= score) {
+                return false;
+            }
+            tableKeys[slot] = hash;
+            tableScores[slot] = score;
+            return true;
+        }
+
+        private void countColors(SameGameBoard board) {
+            Arrays.fill(colorCounts, 0);
+            for (int c = 0; c < board.getColumns(); c++) {
+                int height = board.getColumnHeight(c);
+                for (int r = board.getRows() - 1; r >= board.getRows() - height; r--) {
+                    colorCounts[board.getCode(r, c)]++;
+                }
+            }
+        }
+
+        /** The points the tiles in {@link #colorCounts} would score if each color were removed in one move. */
+        private long potential() {
+            long total = 0;
+            for (int color = 1; color < colorCounts.length; color++) {
+                total += SameGameModel.calculatePoints(colorCounts[color]);
+            }
+            return total;
+        }
+
+        private SameGameSolution solution() {
+            List<SameGameSelectAction> moves = new ArrayList<>();
+            for (Node node = best; node.parent != null; node = node.parent) {
+                moves.add(new SameGameSelectAction(node.row, node.column));
+            }
+            Collections.reverse(moves);
+            return new SameGameSolution(moves, best.score, bestCleared, nodes, budgetExceeded,
+                    (System.nanoTime() - startNanos) / 1_000_000L);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.aoopproject.games.samegame;
+
+import com.aoopproject.games.samegame.action.SameGameSelectAction;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * A move policy for headless SameGame play by {@link SameGameSelfPlay}.
+ * <p>
+ * A strategy is shown the removable groups of the current board as a {@link SameGameSelfPlay.Position}
+ * and answers with the index of the group to remove, so it can never propose an invalid move. Strategies
+ * may keep state between the moves of one game; {@link #newGame()} is called before the first move of
+ * every game. Instances are not required to be thread-safe, so each player thread should own its own.
+ * </p>
+ */
+public interface SameGameStrategy {
+
+    /** @return A short name identifying the strategy in reports. */
+    String name();
+
+    /** Called before the first move of every game. Does nothing by default. */
+    default void newGame() {
+    }
+
+    /**
+     * Chooses the next move.
+     *
+     * @param position The current board and its removable groups; it has at least one group.
+     * @param random   The generator for any random choice, seeded by the runner.
+     * @return The index of the group to remove, from 0 to {@code position.groupCount() - 1}.
+     */
+    int chooseGroup(SameGameSelfPlay.Position position, RandomGenerator random);
+
+    /** @return A strategy removing a uniformly random group. */
+    static SameGameStrategy random() {
+        return new SameGameStrategy() {
+            @Override
+            public String name() {
+                return "random";
+            }
+
+            @Override
+            public int chooseGroup(SameGameSelfPlay.Position position, RandomGenerator random) {
+                return random.nextInt(position.groupCount());
+            }
+        };
+    }
+
+    /**
+     * @return A strategy removing the largest group, the first of equal groups in row-major order, exactly
+     * as {@link SameGameModel#suggestMove()} hints.
+     */
+    static SameGameStrategy greedy() {
+        return new SameGameStrategy() {
+            @Override
+            public String name() {
+                return "greedy";
+            }
+
+            @Override
+            public int chooseGroup(SameGameSelfPlay.Position position, RandomGenerator random) {
+                return largestGroup(position, SameGameTileCodec.EMPTY_CODE);
+            }
+        };
+    }
+
+    /**
+     * @return A strategy that leaves the color with the most tiles alone, so that it can merge into one
+     * large group, and removes the largest group of the other colors; the dominant color is played only
+     * when no other group is left.
+     */
+    static SameGameStrategy colorFocused() {
+        return new SameGameStrategy() {
+            @Override
+            public String name() {
+                return "color";
+            }
+
+            @Override
+            public int chooseGroup(SameGameSelfPlay.Position position, RandomGenerator random) {
+                int dominant = SameGameTileCodec.EMPTY_CODE;
+                for (int code = 1; code < SameGameTileCodec.INSTANCE.codeCount(); code++) {
+                    if (dominant == SameGameTileCodec.EMPTY_CODE || position.tileCount(code) > position.tileCount(dominant)) {
+                        dominant = code;
+                    }
+                }
+                int choice = largestGroup(position, dominant);
+                return choice >= 0 ? choice : largestGroup(position, SameGameTileCodec.EMPTY_CODE);
+            }
+        };
+    }
+
+    /**
+     * Creates a strategy that plans each game once with a {@link SameGameSolver} on its first move and then
+     * follows the plan.
+     *
+     * @param solver The solver planning each game. Must not be null.
+     * @return The strategy.
+     */
+    static SameGameStrategy search(SameGameSolver solver) {
+        if (solver == null) {
+            throw new IllegalArgumentException("SameGameSolver cannot be null.");
+        }
+        return new SameGameStrategy() {
+            private List<SameGameSelectAction> plan;
+            private int next;
+
+            @Override
+            public String name() {
+                return "search";
+            }
+
+            @Override
+            public void newGame() {
+                plan = null;
+            }
+
+            @Override
+            public int chooseGroup(SameGameSelfPlay.Position position, RandomGenerator random) {
+                if (plan == null) {
+                    plan = solver.solve(position.board()).moves();
+                    next = 0;
+                }
+                if (next < plan.size()) {
+                    int group = position.groupAt(plan.get(next++));
+                    if (group >= 0) {
+                        return group;
+                    }
+                }
+                // Only reached if the board was not played by this strategy alone; fall back to greedy play.
+                plan = List.of();
+                return largestGroup(position, SameGameTileCodec.EMPTY_CODE);
+            }
+        };
+    }
+
+    /**
+     * Finds the largest group not of one color.
+     *
+     * @param position     The position.
+     * @param excludedCode The tile code to skip, or {@link SameGameTileCodec#EMPTY_CODE} to consider every group.
+     * @return The first largest group's index, or -1 if every group has the excluded color.
+     */
+    private static int largestGroup(SameGameSelfPlay.Position position, int excludedCode) {
+        int best = -1;
+        for (int i = 0; i < position.groupCount(); i++) {
+            if (position.groupColor(i) != excludedCode
+                    && (best < 0 || position.groupSize(i) > position.groupSize(best))) {
+                best = i;
+            }
+        }
+        return best;
+    }
+}
@@ -2,28 +2,56 @@ package com.aoopproject.games.samegame;
 
 import com.aoopproject.framework.core.GameEntity;
 import java.awt.Color;
+import java.util.List;
 
 /**
  * Represents a single tile in the SameGame.
  * Each tile has a color and can be considered empty if removed.
+ * <p>
+ * Tiles are immutable flyweights: there is exactly one instance per color of
+ * {@link SameGameModel.PredefinedColors#PALETTE}, obtained with {@link #of(Color)},
+ * plus the shared {@link #EMPTY} tile. Boards therefore change by storing a different
+ * tile in a cell rather than by modifying a tile, and copying a board never copies tiles.
+ * </p>
  */
-public class SameGameTile implements GameEntity {
+public final class SameGameTile implements GameEntity {
+
+    /** The shared tile of an empty cell. */
+    public static final SameGameTile EMPTY = new SameGameTile(SameGameModel.PredefinedColors.EMPTY_SLOT_COLOR, true);
+
+    private static final List<Color> PALETTE = SameGameModel.PredefinedColors.PALETTE;
+    private static final SameGameTile[] COLORED = new SameGameTile[PALETTE.size()];
+
+    static {
+        for (int i = 0; i < COLORED.length; i++) {
+            COLORED[i] = new SameGameTile(PALETTE.get(i), false);
+        }
+    }
 
     private final Color color;
-    private boolean empty;
+    private final boolean empty;
+
+    private SameGameTile(Color color, boolean empty) {
+        this.color = color;
+        this.empty = empty;
+    }
 
     /**
-     * Creates a new tile with a specific color.
-     * Initially, the tile is not empty.
+     * Gets the shared tile of a color.
      *
-     * @param color The color of the tile. Cannot be null.
+     * @param color A color from {@link SameGameModel.PredefinedColors#PALETTE}. Cannot be null.
+     * @return The canonical tile of that color.
+     * @throws IllegalArgumentException if the color is null or not part of the palette.
      */
-    public SameGameTile(Color color) {
+    public static SameGameTile of(Color color) {
         if (color == null) {
             throw new IllegalArgumentException("Tile color cannot be null.");
         }
-        this.color = color;
-        this.empty = false;
+        int index = PALETTE.indexOf(color);
+        if (index < 0) {
+            throw new IllegalArgumentException("Color is not part of the SameGame palette: " + color);
+        }
+        return COLORED[index];
     }
 
     /**
@@ -35,13 +63,6 @@ public class SameGameTile implements GameEntity {
         return color;
     }
 
-    /**
-     * Marks this tile as empty (removed).
-     */
-    public void setEmpty() {
-        this.empty = true;
-    }
-
     @Override
     public boolean isEmpty() {
         return this.empty;
@@ -74,15 +95,12 @@ public class SameGameTile implements GameEntity {
         return "[?]";
     }
     /**
-     * Creates a copy of this tile.
+     * Returns this tile. Tiles are immutable, so a tile can stand in for its own copy;
+     * this keeps {@code SameGameTile::copy} usable wherever a grid copier is expected.
      *
-     * @return A new SameGameTile instance with the same color and empty state.
+     * @return This tile.
      */
     public SameGameTile copy() {
-        SameGameTile newTile = new SameGameTile(this.color);
-        if (this.empty) {
-            newTile.setEmpty();
-        }
-        return newTile;
+        return this;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,72 @@
+package com.aoopproject.games.samegame;
+
+import com.aoopproject.framework.core.EntityCodec;
+
+import java.awt.Color;
+import java.util.List;
+
+/**
+ * {@link EntityCodec} for {@link SameGameTile}s.
+ * SameGame needs only nine cell states: code {@code 0} is an empty cell and codes
+ * {@code 1..8} are the colors of {@link SameGameModel.PredefinedColors#PALETTE} in palette order.
+ * Decoding returns the shared tile of each code ({@link SameGameTile#EMPTY} or {@link SameGameTile#of(Color)}).
+ */
+public final class SameGameTileCodec implements EntityCodec<SameGameTile> {
+
+    /** The shared codec instance. */
+    public static final SameGameTileCodec INSTANCE = new SameGameTileCodec();
+
+    /** The code of an empty cell. */
+    public static final int EMPTY_CODE = 0;
+
+    private final SameGameTile[] flyweights;
+
+    private SameGameTileCodec() {
+        List<Color> palette = SameGameModel.PredefinedColors.PALETTE;
+        this.flyweights = new SameGameTile[palette.size() + 1];
+        this.flyweights[EMPTY_CODE] = SameGameTile.EMPTY;
+        for (int i = 0; i < palette.size(); i++) {
+            this.flyweights[i + 1] = SameGameTile.of(palette.get(i));
+        }
+    }
+
+    /**
+     * Gets the code of a tile color.
+     *
+     * @param color A color from {@link SameGameModel.PredefinedColors#PALETTE}.
+     * @return The code of the color, in {@code 1..PALETTE.size()}.
+     * @throws IllegalArgumentException if the color is not part of the palette.
+     */
+    public int codeOf(Color color) {
+        int index = SameGameModel.PredefinedColors.PALETTE.indexOf(color);
+        if (index < 0) {
+            throw new IllegalArgumentException("Color is not part of the SameGame palette: " + color);
+        }
+        return index + 1;
+    }
+
+    @Override
+    public int codeCount() {
+        return flyweights.length;
+    }
+
+    /**
+     * Encodes a tile; {@code null} and empty tiles map to {@link #EMPTY_CODE}.
+     *
+     * @param tile The tile to encode.
+     * @return The tile's code.
+     * @throws IllegalArgumentException if the tile's color is not part of the palette.
+     */
+    @Override
+    public int encode(SameGameTile tile) {
+        if (tile == null || tile.isEmpty()) {
+            return EMPTY_CODE;
+        }
+        return codeOf(tile.getColor());
+    }
+
+    @Override
+    public SameGameTile decode(int code) {
+        return flyweights[code];
+    }
+}
@@ -14,6 +14,8 @@ import com.aoopproject.common.model.DifficultyLevel;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.List;
@@ -286,6 +288,13 @@ public class SameGameViewSwing implements GameView {
 
         frame = new JFrame("SameGame - AOOP Project (Swing)");
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                // The game session ends with its window, e.g. on quit or before "Play another game?" starts a new one.
+                model.dispose();
+            }
+        });
         frame.setLayout(new BorderLayout(5, 5));
 
         scoreLabel = new JLabel("Score: 0", SwingConstants.CENTER);
@@ -316,6 +325,7 @@ public class SameGameViewSwing implements GameView {
         int rows = DifficultyLevel.MEDIUM.getRows();
         int cols = DifficultyLevel.MEDIUM.getCols();
         if (this.model instanceof SameGameModel) {
+            ((SameGameModel) this.model).setHintEventExecutor(SwingUtilities::invokeLater);
             DifficultyLevel currentDiff = ((SameGameModel) this.model).getCurrentDifficulty();
             if (currentDiff != null) {
                 rows = currentDiff.getRows();
@@ -5,13 +5,19 @@ import com.aoopproject.framework.core.AbstractGameModel;
 import com.aoopproject.framework.core.GameFactory;
 import com.aoopproject.framework.core.GameView;
 import com.aoopproject.framework.core.InputStrategy;
+import com.aoopproject.common.input.CompositeInputStrategy;
 import com.aoopproject.common.input.KeyboardInputStrategy;
+import com.aoopproject.common.input.MouseInputStrategy;
 import com.aoopproject.common.model.DifficultyLevel;
+import com.aoopproject.games.sokoban.model.SokobanLevelPack;
 import com.aoopproject.games.sokoban.model.SokobanModel;
 import com.aoopproject.games.sokoban.view.SokobanViewSwing;
 
 
 import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -19,11 +25,14 @@ import java.util.List;
  * Concrete factory for creating all necessary components for the Sokoban game.
  * This factory implements the {@link GameFactory} interface and is responsible for
  * instantiating the {@link SokobanModel} (with a default level), {@link SokobanViewSwing},
- * a generic {@link AbstractGameController}, and the {@link KeyboardInputStrategy}.
+ * a generic {@link AbstractGameController}, and the {@link KeyboardInputStrategy} combined with a
+ * {@link MouseInputStrategy} for click-to-move.
  * It ensures all components are correctly wired together.
  */
 public class SokobanFactory implements GameFactory {
     private DifficultyLevel lastSelectedDifficulty = DifficultyLevel.MEDIUM;
+    private File lastPackDirectory;
+    private int lastSelectedLevelNumber = 1;
 
 
     /**
@@ -34,12 +43,25 @@ public class SokobanFactory implements GameFactory {
     }
 
     /**
-     * Creates a {@link SokobanModel} instance for Sokoban, initialized with a default level.
+     * Creates a {@link SokobanModel} instance for Sokoban. The user chooses between the built-in level
+     * of a difficulty and a level of a {@link SokobanLevelPack} file.
      *
-     * @return A new {@link SokobanModel}.
+     * @return A new {@link SokobanModel}, or {@code null} if the user cancelled.
      */
     @Override
     public AbstractGameModel createModel() {
+        String[] sources = {"Built-in Levels", "Open Level Pack..."};
+        int source = JOptionPane.showOptionDialog(
+                null, "Play a built-in level or a level from a pack (XSB/SOK)?", "Sokoban Levels",
+                JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, sources, sources[0]);
+        if (source == 1) {
+            return createLevelPackModel();
+        }
+        if (source != 0) {
+            System.out.println("Sokoban level source selection cancelled. Model creation aborted.");
+            return null;
+        }
+
         DifficultyLevel[] levels = DifficultyLevel.values();
         DifficultyLevel choice = (DifficultyLevel) JOptionPane.showInputDialog(
                 null, "Select Sokoban Difficulty:", "Sokoban Difficulty",
@@ -55,6 +77,59 @@ public class SokobanFactory implements GameFactory {
         }
     }
 
+    /**
+     * Lets the user pick a level pack file and a level number in it.
+     * The pack is only indexed here; the chosen level is decoded when the model initializes the game.
+     *
+     * @return A new {@link SokobanModel} for the chosen level, or {@code null} if the user cancelled or the pack could not be read.
+     */
+    private SokobanModel createLevelPackModel() {
+        JFileChooser chooser = new JFileChooser(lastPackDirectory);
+        chooser.setDialogTitle("Open Sokoban Level Pack");
+        chooser.setFileFilter(new FileNameExtensionFilter("Sokoban level packs (*.xsb, *.sok, *.txt)", "xsb", "sok", "txt"));
+        if (chooser.showOpenDialog(null) != JFileChooser.APPROVE_OPTION) {
+            System.out.println("Sokoban level pack selection cancelled. Model creation aborted.");
+            return null;
+        }
+        File file = chooser.getSelectedFile();
+        lastPackDirectory = file.getParentFile();
+
+        SokobanLevelPack pack;
+        try {
+            pack = SokobanLevelPack.open(file.toPath());
+            System.out.println("SokobanFactory: Indexed " + pack.size() + " levels in " + file);
+        } catch (IOException e) {
+            System.err.println("SokobanFactory: Could not read level pack " + file + ": " + e.getMessage());
+            JOptionPane.showMessageDialog(null, "Could not read level pack:\n" + e.getMessage(), "Sokoban", JOptionPane.ERROR_MESSAGE);
+            return null;
+        }
+        if (pack.size() == 0) {
+            JOptionPane.showMessageDialog(null, "No levels were found in " + file.getName() + ".", "Sokoban", JOptionPane.WARNING_MESSAGE);
+            return null;
+        }
+
+        int defaultNumber = Math.min(lastSelectedLevelNumber, pack.size());
+        while (true) {
+            Object answer = JOptionPane.showInputDialog(
+                    null, "Level number (1-" + pack.size() + "):", "Sokoban Level",
+                    JOptionPane.QUESTION_MESSAGE, null, null, defaultNumber);
+            if (answer == null) {
+                System.out.println("Sokoban level number selection cancelled. Model creation aborted.");
+                return null;
+            }
+            try {
+                int number = Integer.parseInt(answer.toString().trim());
+                if (number >= 1 && number <= pack.size()) {
+                    lastSelectedLevelNumber = number;
+                    return new SokobanModel(pack, number - 1, this.lastSelectedDifficulty);
+                }
+            } catch (NumberFormatException e) {
+                // Fall through and ask again.
+            }
+            JOptionPane.showMessageDialog(null, "Please enter a number from 1 to " + pack.size() + ".", "Sokoban Level", JOptionPane.WARNING_MESSAGE);
+        }
+    }
+
     /**
      * Creates a list of {@link GameView}s for Sokoban.
      * Currently, it creates and returns a list containing a single {@link SokobanViewSwing} instance.
@@ -102,7 +177,8 @@ public class SokobanFactory implements GameFactory {
     }
 
     /**
-     * Sets up the complete Sokoban game application with a Swing UI and KeyboardInputStrategy.
+     * Sets up the complete Sokoban game application with a Swing UI, KeyboardInputStrategy for single steps
+     * and MouseInputStrategy for walking to a clicked cell.
      * This method orchestrates the creation of the model, controller, views, and input strategy,
      * and wires them together, including initializing the strategy with the correct view component.
      *
@@ -126,12 +202,14 @@ public class SokobanFactory implements GameFactory {
                 swingViewForKeyboardInput = (SokobanViewSwing) view;
             }
         }
-        InputStrategy strategy = new KeyboardInputStrategy(controller);
+        InputStrategy strategy;
         if (swingViewForKeyboardInput != null) {
-            System.out.println("SokobanFactory: Initializing KeyboardInputStrategy with SokobanViewSwing's JFrame.");
+            System.out.println("SokobanFactory: Initializing keyboard and mouse input with SokobanViewSwing.");
+            strategy = new CompositeInputStrategy(new KeyboardInputStrategy(controller), new MouseInputStrategy(controller));
             strategy.initialize(swingViewForKeyboardInput);
         } else {
             System.err.println("SokobanFactory: CRITICAL - No SokobanViewSwing found for KeyboardInputStrategy initialization.");
+            strategy = new KeyboardInputStrategy(controller);
             strategy.initialize(null);
         }
         controller.setInputStrategy(strategy);
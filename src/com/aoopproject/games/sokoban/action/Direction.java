@@ -52,4 +52,35 @@ public enum Direction {
     public String getDisplayName() {
         return displayName;
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets the character of this direction in LURD notation, in which a walk is written in lower case
+     * and a push in upper case.
+     * @param push {@code true} for the character of a push, {@code false} for a walk.
+     * @return One of {@code l u r d} or {@code L U R D}.
+     */
+    public char toLurd(boolean push) {
+        char walk = switch (this) {
+            case UP -> 'u';
+            case DOWN -> 'd';
+            case LEFT -> 'l';
+            case RIGHT -> 'r';
+        };
+        return push ? Character.toUpperCase(walk) : walk;
+    }
+
+    /**
+     * Gets the direction of a LURD character, ignoring case.
+     * @param lurd A character of a LURD move string.
+     * @return The direction, or {@code null} if the character is not one of {@code lurdLURD}.
+     */
+    public static Direction fromLurd(char lurd) {
+        return switch (Character.toLowerCase(lurd)) {
+            case 'u' -> UP;
+            case 'd' -> DOWN;
+            case 'l' -> LEFT;
+            case 'r' -> RIGHT;
+            default -> null;
+        };
+    }
+}
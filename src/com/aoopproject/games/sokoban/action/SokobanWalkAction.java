@@ -0,0 +1,29 @@
+package com.aoopproject.games.sokoban.action;
+
+import com.aoopproject.framework.core.GameAction;
+
+/**
+ * Represents a game action where the player walks to a cell along the shortest path
+ * that does not push any box. The whole walk is applied as one move: it is undone in one step
+ * and notifies observers once.
+ *
+ * @param row    The row of the destination cell.
+ * @param column The column of the destination cell.
+ */
+public record SokobanWalkAction(int row, int column) implements GameAction {
+
+    /**
+     * Gets the name of this action, typically used for logging or debugging.
+     *
+     * @return A string representation of the action, e.g., "SOKOBAN_WALK_TO (2,3)".
+     */
+    @Override
+    public String getName() {
+        return "SOKOBAN_WALK_TO (" + row + "," + column + ")";
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
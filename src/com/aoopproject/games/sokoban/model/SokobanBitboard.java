@@ -0,0 +1,440 @@
+package com.aoopproject.games.sokoban.model;
+
+import com.aoopproject.framework.core.Grid;
+import com.aoopproject.framework.util.ZobristTable;
+import com.aoopproject.games.sokoban.action.Direction;
+
+import java.util.Arrays;
+
+/**
+ * A compact bitboard representation of a Sokoban position.
+ * Walls, targets and boxes are {@code long[]} bitsets over a cell index, and the player is a single cell index.
+ * <p>
+ * The level is surrounded by a one-cell border of walls, so the cell at {@code (row, column)} has the index
+ * {@code (row + 1) * stride + (column + 1)} with {@code stride = columns + 2}. Stepping from any level cell
+ * in any {@link Direction} therefore stays inside the bitsets, and a move is just an index offset
+ * ({@link #offset(Direction)}) followed by a few bit tests. Levels that are not enclosed by walls behave
+ * as if they were, since leaving the level is never a legal move.
+ * </p>
+ * <p>
+ * A Zobrist hash of the boxes and the player ({@link #stateHash()}) is kept up to date by
+ * {@link #moveBox(int, int)} and {@link #setPlayer(int)}, so positions can be told apart in constant time.
+ * </p>
+ * <p>
+ * This is the authoritative state of a {@link SokobanModel}; the model's {@code Grid<SokobanTile>} is
+ * derived from it (see {@link #toGrid()} and {@link #tileAt(int)}) for rendering.
+ * </p>
+ */
+public final class SokobanBitboard {
+
+    /** Result of {@link #classifyMove(Direction)}: the move is not allowed. */
+    public static final int BLOCKED = 0;
+    /** Result of {@link #classifyMove(Direction)}: the player steps onto a free cell. */
+    public static final int WALK = 1;
+    /** Result of {@link #classifyMove(Direction)}: the player pushes a box onto a free cell. */
+    public static final int PUSH = 2;
+
+    /** Marker for a position without a player. */
+    public static final int NO_PLAYER = -1;
+
+    private final int rows;
+    private final int columns;
+    private final int stride;
+    private final long[] walls;
+    private final long[] targets;
+    private final long[] boxes;
+    private int player = NO_PLAYER;
+    /** Keys for a box ({@code 2 * cell}) or the player ({@code 2 * cell + 1}) on each cell. */
+    private final ZobristTable zobrist;
+    private long stateHash;
+
+    /**
+     * Creates an empty bitboard in which only the border cells are walls.
+     *
+     * @param rows    The number of level rows. Must be positive.
+     * @param columns The number of level columns. Must be positive.
+     * @throws IllegalArgumentException if rows or columns are not positive.
+     */
+    public SokobanBitboard(int rows, int columns) {
+        if (rows <= 0 || columns <= 0) {
+            throw new IllegalArgumentException("Bitboard dimensions must be positive: " + rows + "x" + columns);
+        }
+        this.rows = rows;
+        this.columns = columns;
+        this.stride = columns + 2;
+        int words = ((rows + 2) * stride + 63) >>> 6;
+        this.walls = new long[words];
+        this.targets = new long[words];
+        this.boxes = new long[words];
+        this.zobrist = ZobristTable.shared(2 * (rows + 2) * stride);
+        for (int c = 0; c < stride; c++) {
+            set(walls, c);
+            set(walls, (rows + 1) * stride + c);
+        }
+        for (int r = 1; r <= rows; r++) {
+            set(walls, r * stride);
+            set(walls, r * stride + columns + 1);
+        }
+    }
+
+    /**
+     * Copy constructor; clones the bitsets.
+     *
+     * @param source The bitboard to copy.
+     */
+    private SokobanBitboard(SokobanBitboard source) {
+        this.rows = source.rows;
+        this.columns = source.columns;
+        this.stride = source.stride;
+        this.walls = source.walls.clone();
+        this.targets = source.targets.clone();
+        this.boxes = source.boxes.clone();
+        this.player = source.player;
+        this.zobrist = source.zobrist;
+        this.stateHash = source.stateHash;
+    }
+
+    /**
+     * Parses a level in the model's text format: {@code 'W'} wall, {@code ' '} floor, {@code '.'} target,
+     * {@code 'P'} player, {@code '@'} player on target, {@code 'B'} box, {@code '$'} box on target.
+     * Short lines are padded with floor, and unknown characters are read as floor.
+     *
+     * @param levelData The level rows. Must contain at least one non-empty row.
+     * @return The parsed bitboard; its player is {@link #NO_PLAYER} if the level has none.
+     * @throws IllegalArgumentException if the level has no cells.
+     */
+    public static SokobanBitboard parse(String[] levelData) {
+        int numRows = levelData.length;
+        int numCols = 0;
+        for (String line : levelData) {
+            numCols = Math.max(numCols, line.length());
+        }
+        SokobanBitboard board = new SokobanBitboard(numRows, numCols);
+        for (int r = 0; r < numRows; r++) {
+            String line = levelData[r];
+            for (int c = 0; c < line.length(); c++) {
+                int cell = board.cellIndex(r, c);
+                switch (line.charAt(c)) {
+                    case 'W': set(board.walls, cell); break;
+                    case '.': set(board.targets, cell); break;
+                    case 'P': board.player = cell; break;
+                    case '@': set(board.targets, cell); board.player = cell; break;
+                    case 'B': set(board.boxes, cell); break;
+                    case '$': set(board.targets, cell); set(board.boxes, cell); break;
+                    default: break;
+                }
+            }
+        }
+        board.stateHash = board.computeStateHash();
+        return board;
+    }
+
+    /**
+     * Creates an independent copy of this bitboard.
+     *
+     * @return A new bitboard with the same walls, targets, boxes and player.
+     */
+    public SokobanBitboard copy() {
+        return new SokobanBitboard(this);
+    }
+
+    /** @return The number of level rows, excluding the border. */
+    public int getRows() {
+        return rows;
+    }
+
+    /** @return The number of level columns, excluding the border. */
+    public int getColumns() {
+        return columns;
+    }
+
+    /** @return The number of cell indices, including the border; valid indices are {@code 0..getCellCount()-1}. */
+    public int getCellCount() {
+        return (rows + 2) * stride;
+    }
+
+    /**
+     * Gets the cell index of a level coordinate.
+     *
+     * @param row    The level row, assumed valid.
+     * @param column The level column, assumed valid.
+     * @return The cell index.
+     */
+    public int cellIndex(int row, int column) {
+        return (row + 1) * stride + column + 1;
+    }
+
+    /** @return The level row of a cell index; {@code -1} or {@link #getRows()} for border cells. */
+    public int rowOf(int cell) {
+        return cell / stride - 1;
+    }
+
+    /** @return The level column of a cell index; {@code -1} or {@link #getColumns()} for border cells. */
+    public int columnOf(int cell) {
+        return cell % stride - 1;
+    }
+
+    /**
+     * Checks whether a cell index lies inside the level rather than on the border.
+     *
+     * @param cell The cell index.
+     * @return {@code true} for a level cell.
+     */
+    public boolean isOnBoard(int cell) {
+        int row = rowOf(cell);
+        int column = columnOf(cell);
+        return row >= 0 && row < rows && column >= 0 && column < columns;
+    }
+
+    /**
+     * Gets the cell index offset of one step in a direction.
+     *
+     * @param direction The direction.
+     * @return The offset to add to a cell index.
+     */
+    public int offset(Direction direction) {
+        return direction.getDeltaRow() * stride + direction.getDeltaColumn();
+    }
+
+    /** @return {@code true} if the cell is a wall (border cells included). */
+    public boolean isWall(int cell) {
+        return test(walls, cell);
+    }
+
+    /** @return {@code true} if the cell is a target. */
+    public boolean isTarget(int cell) {
+        return test(targets, cell);
+    }
+
+    /** @return {@code true} if a box stands on the cell. */
+    public boolean hasBox(int cell) {
+        return test(boxes, cell);
+    }
+
+    /** @return {@code true} if the cell is a wall or holds a box, so that nothing can be pushed onto it. */
+    public boolean isBlocked(int cell) {
+        return ((walls[cell >>> 6] | boxes[cell >>> 6]) & (1L << cell)) != 0;
+    }
+
+    /** @return The player's cell index, or {@link #NO_PLAYER}. */
+    public int getPlayer() {
+        return player;
+    }
+
+    /**
+     * Moves the player to a cell. The cell is not validated.
+     *
+     * @param cell The new player cell index.
+     */
+    public void setPlayer(int cell) {
+        stateHash ^= playerKey(player) ^ playerKey(cell);
+        this.player = cell;
+    }
+
+    /**
+     * Moves a box between two cells. Neither cell is validated.
+     *
+     * @param from The cell holding the box.
+     * @param to   The cell to move it to.
+     */
+    public void moveBox(int from, int to) {
+        clear(boxes, from);
+        set(boxes, to);
+        stateHash ^= zobrist.key(2 * from) ^ zobrist.key(2 * to);
+    }
+
+    /**
+     * Finds the first box at or after a cell index, for iterating over the boxes in index order.
+     *
+     * @param from The cell index to start from.
+     * @return The cell of the next box, or {@link #getCellCount()} if there is none.
+     */
+    public int nextBox(int from) {
+        int cells = getCellCount();
+        if (from >= cells) {
+            return cells;
+        }
+        int w = from >>> 6;
+        long bits = boxes[w] & (-1L << from);
+        while (bits == 0) {
+            if (++w == boxes.length) {
+                return cells;
+            }
+            bits = boxes[w];
+        }
+        return (w << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Determines what moving the player one step in a direction would do.
+     *
+     * @param direction The direction of the move.
+     * @return {@link #WALK}, {@link #PUSH} or {@link #BLOCKED}.
+     */
+    public int classifyMove(Direction direction) {
+        int step = offset(direction);
+        int next = player + step;
+        if (test(walls, next)) {
+            return BLOCKED;
+        }
+        if (!test(boxes, next)) {
+            return WALK;
+        }
+        return isBlocked(next + step) ? BLOCKED : PUSH;
+    }
+
+    /** @return The number of target cells. */
+    public int getTargetCount() {
+        return count(targets);
+    }
+
+    /** @return The number of boxes. */
+    public int getBoxCount() {
+        return count(boxes);
+    }
+
+    /** @return The number of boxes standing on targets. */
+    public int countBoxesOnTargets() {
+        int total = 0;
+        for (int w = 0; w < boxes.length; w++) {
+            total += Long.bitCount(boxes[w] & targets[w]);
+        }
+        return total;
+    }
+
+    /**
+     * Gets the boxes as a bitset over the cell indices. The array is the live storage of this bitboard
+     * and must not be modified.
+     *
+     * @return The box bitset.
+     */
+    long[] boxBits() {
+        return boxes;
+    }
+
+    /**
+     * Checks whether every target holds a box, i.e. {@code targets & ~boxes} is empty.
+     * Levels may contain more boxes than targets, in which case the spare boxes can stay anywhere.
+     *
+     * @return {@code true} if no target is uncovered.
+     */
+    public boolean isSolved() {
+        for (int w = 0; w < boxes.length; w++) {
+            if ((targets[w] & ~boxes[w]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the Zobrist hash of the position: the XOR of the {@link ZobristTable#shared(int) shared} keys of
+     * every box and of the player. Walls and targets are not included, so only positions of the same level
+     * (see {@link #layoutHash()}) should be compared. The hash is updated incrementally by every move.
+     *
+     * @return The 64-bit hash of the boxes and the player.
+     */
+    public long stateHash() {
+        return stateHash;
+    }
+
+    /** Computes {@link #stateHash()} from scratch. */
+    private long computeStateHash() {
+        long hash = playerKey(player);
+        for (int w = 0; w < boxes.length; w++) {
+            for (long bits = boxes[w]; bits != 0; bits &= bits - 1) {
+                hash ^= zobrist.key(2 * ((w << 6) + Long.numberOfTrailingZeros(bits)));
+            }
+        }
+        return hash;
+    }
+
+    private long playerKey(int cell) {
+        return cell == NO_PLAYER ? 0 : zobrist.key(2 * cell + 1);
+    }
+
+    /**
+     * Hashes the static layout of the level: its dimensions, walls and targets.
+     * Boxes and the player are ignored, so every position of one level has the same layout hash.
+     *
+     * @return A 64-bit hash of the layout.
+     */
+    public long layoutHash() {
+        long hash = 0x9E3779B97F4A7C15L * (rows * 31L + columns);
+        for (int w = 0; w < walls.length; w++) {
+            hash = (hash ^ walls[w]) * 0xBF58476D1CE4E5B9L;
+            hash = (hash ^ targets[w]) * 0x94D049BB133111EBL;
+            hash ^= hash >>> 31;
+        }
+        return hash;
+    }
+
+    /**
+     * Checks whether another bitboard has the same static layout (dimensions, walls and targets).
+     *
+     * @param other The bitboard to compare with.
+     * @return {@code true} if both are positions of the same level.
+     */
+    public boolean hasSameLayout(SokobanBitboard other) {
+        return rows == other.rows && columns == other.columns
+                && Arrays.equals(walls, other.walls) && Arrays.equals(targets, other.targets);
+    }
+
+    /**
+     * Gets the tile a cell shows, for building the derived grid view.
+     *
+     * @param cell The cell index.
+     * @return The shared {@link SokobanTile} for the cell's base type and occupant.
+     */
+    public SokobanTile tileAt(int cell) {
+        SokobanBaseType base = test(walls, cell) ? SokobanBaseType.WALL
+                : test(targets, cell) ? SokobanBaseType.TARGET : SokobanBaseType.FLOOR;
+        SokobanOccupant occupant = cell == player ? SokobanOccupant.PLAYER
+                : test(boxes, cell) ? SokobanOccupant.BOX : SokobanOccupant.NONE;
+        return SokobanTile.of(base, occupant);
+    }
+
+    /**
+     * Builds the grid view of this position, without the border.
+     *
+     * @return A new grid of shared tiles.
+     */
+    public Grid<SokobanTile> toGrid() {
+        Grid<SokobanTile> grid = new Grid<>(rows, columns);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                grid.setUnchecked(r, c, tileAt(cellIndex(r, c)));
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Estimates the memory retained by this bitboard.
+     *
+     * @return The size in bytes.
+     */
+    public long estimateBytes() {
+        return 3L * walls.length * Long.BYTES + 64;
+    }
+
+    private static boolean test(long[] bits, int cell) {
+        return (bits[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    private static void set(long[] bits, int cell) {
+        bits[cell >>> 6] |= 1L << cell;
+    }
+
+    private static void clear(long[] bits, int cell) {
+        bits[cell >>> 6] &= ~(1L << cell);
+    }
+
+    private static int count(long[] bits) {
+        int total = 0;
+        for (long word : bits) {
+            total += Long.bitCount(word);
+        }
+        return total;
+    }
+}
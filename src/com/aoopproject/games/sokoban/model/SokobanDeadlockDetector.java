@@ -0,0 +1,201 @@
+package com.aoopproject.games.sokoban.model;
+
+import com.aoopproject.games.sokoban.action.Direction;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Detects positions that a push has made unsolvable, by looking only at the pushed box and its neighbourhood.
+ * <p>
+ * Three kinds of deadlock are recognised (see {@link Kind}): a box pushed onto a dead square of the level's
+ * {@link SokobanLevelAnalysis}, a 2&times;2 square of boxes and walls holding a box off target, and a box
+ * that is frozen (immovable on both axes, possibly together with the boxes blocking it) off target.
+ * Levels with more boxes than targets may leave spare boxes anywhere, so there a deadlock is only reported
+ * once more boxes are stuck than there are spares.
+ * </p>
+ * <p>
+ * A check visits a handful of cells around the pushed box, so it can run after every move, and it is the one
+ * freeze test shared by live play and by {@link com.aoopproject.games.sokoban.solver.SokobanSolver}, which checks
+ * its own box bitsets through {@link #checkPush(SokobanBitboard, long[], int)}. A detector keeps a small scratch
+ * buffer and is therefore not thread-safe; it is meant to be owned by one model or one search.
+ * </p>
+ */
+public final class SokobanDeadlockDetector {
+
+    /** The kinds of deadlock a push can create. */
+    public enum Kind {
+        /** The push did not create a deadlock that the detector can see. */
+        NONE("No deadlock."),
+        /** The box was pushed onto a square from which no target can be reached. */
+        DEAD_SQUARE("A box was pushed where it can never reach a target."),
+        /** The box completes a 2x2 square of boxes and walls that holds a box off target. */
+        FROZEN_SQUARE("Four boxes and walls lock each other in a square with a box off target."),
+        /** The box can never move again and stands, or blocks a box that stands, off target. */
+        FROZEN_BOX("A box is frozen away from a target.");
+
+        private final String description;
+
+        Kind(String description) {
+            this.description = description;
+        }
+
+        /** @return A message describing the deadlock, suitable for showing to the player. */
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    /** Maximum length of a chain of mutually blocking boxes followed by the freeze check. */
+    private static final int MAX_CHAIN = 64;
+    /** Count standing for a free cell in {@link #isFrozenSquare(int)}; larger than any count of four cells. */
+    private static final int OPEN = 16;
+
+    private final SokobanLevelAnalysis analysis;
+    private final int spareBoxes;
+    /** The boxes on the current chain of the freeze check; they are treated as walls. */
+    private final int[] chain = new int[MAX_CHAIN];
+    private int chainLength;
+    /** The distinct boxes off target found frozen so far by the freeze check. */
+    private int[] frozenBoxes = new int[MAX_CHAIN];
+    private int frozenOffTarget;
+    private SokobanBitboard board;
+    private long[] boxes;
+    private int horizontal;
+    private int vertical;
+
+    /**
+     * Creates a detector for the positions of one level.
+     *
+     * @param analysis   The level's analysis. Must not be null.
+     * @param spareBoxes The number of boxes beyond the number of targets; negative values are read as zero.
+     */
+    public SokobanDeadlockDetector(SokobanLevelAnalysis analysis, int spareBoxes) {
+        this.analysis = Objects.requireNonNull(analysis, "SokobanLevelAnalysis cannot be null.");
+        this.spareBoxes = Math.max(0, spareBoxes);
+    }
+
+    /**
+     * Checks whether the box that was just pushed onto a cell has made the position unsolvable.
+     *
+     * @param position The position after the push; it is not modified.
+     * @param boxCell  The cell the box was pushed onto.
+     * @return The kind of deadlock found, or {@link Kind#NONE}.
+     */
+    public Kind checkPush(SokobanBitboard position, int boxCell) {
+        return checkPush(position, position.boxBits(), boxCell);
+    }
+
+    /**
+     * Checks whether the box that was just pushed onto a cell has made a set of boxes unsolvable.
+     * Only the walls and targets of {@code level} are read; the boxes are taken from {@code boxes}.
+     *
+     * @param level   A position of the level, supplying its walls and targets; it is not modified.
+     * @param boxes   The boxes after the push, as a bitset over the level's cell indices; it is not modified.
+     * @param boxCell The cell the box was pushed onto.
+     * @return The kind of deadlock found, or {@link Kind#NONE}.
+     */
+    public Kind checkPush(SokobanBitboard level, long[] boxes, int boxCell) {
+        if (analysis.isDeadSquare(boxCell)
+                && (spareBoxes == 0 || analysis.countBoxesOnDeadSquares(boxes) > spareBoxes)) {
+            return Kind.DEAD_SQUARE;
+        }
+        this.board = level;
+        this.boxes = boxes;
+        this.horizontal = level.offset(Direction.RIGHT);
+        this.vertical = level.offset(Direction.DOWN);
+        try {
+            if (isFrozenSquare(boxCell)) {
+                return Kind.FROZEN_SQUARE;
+            }
+            chainLength = 0;
+            frozenOffTarget = 0;
+            if (isFrozen(boxCell) && frozenOffTarget > spareBoxes) {
+                return Kind.FROZEN_BOX;
+            }
+            return Kind.NONE;
+        } finally {
+            this.board = null;
+            this.boxes = null;
+        }
+    }
+
+    /** Checks the four 2x2 squares containing the cell for a square of boxes and walls with too many boxes off target. */
+    private boolean isFrozenSquare(int cell) {
+        for (int dx = 0; dx <= 1; dx++) {
+            for (int dy = 0; dy <= 1; dy++) {
+                int corner = cell - dx * horizontal - dy * vertical;
+                int offTarget = countOffTargetIfBlocked(corner) + countOffTargetIfBlocked(corner + horizontal)
+                        + countOffTargetIfBlocked(corner + vertical) + countOffTargetIfBlocked(corner + horizontal + vertical);
+                if (offTarget > spareBoxes && offTarget < OPEN) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /** @return 1 for a box off target, 0 for a wall or a box on target, and {@link #OPEN} for a free cell. */
+    private int countOffTargetIfBlocked(int cell) {
+        if (hasBox(cell)) return board.isTarget(cell) ? 0 : 1;
+        return board.isWall(cell) ? 0 : OPEN;
+    }
+
+    /**
+     * Checks whether the box on a cell can never move again, recording the distinct frozen boxes off target in
+     * {@link #frozenBoxes}. Boxes on the current {@link #chain} are treated as walls, which both ends the
+     * recursion and captures boxes that block each other. A box reached again along another path is only
+     * counted once, and a chain longer than {@link #MAX_CHAIN} is assumed to be movable, so the check never
+     * reports a false deadlock.
+     */
+    private boolean isFrozen(int cell) {
+        if (chainLength == MAX_CHAIN) {
+            return false;
+        }
+        int offTargetBefore = frozenOffTarget;
+        chain[chainLength++] = cell;
+        boolean frozen = isBlockedOnAxis(cell, horizontal) && isBlockedOnAxis(cell, vertical);
+        chainLength--;
+        if (frozen) {
+            if (!board.isTarget(cell) && !isCounted(cell)) {
+                if (frozenOffTarget == frozenBoxes.length) {
+                    frozenBoxes = Arrays.copyOf(frozenBoxes, frozenOffTarget * 2);
+                }
+                frozenBoxes[frozenOffTarget++] = cell;
+            }
+        } else {
+            frozenOffTarget = offTargetBefore;
+        }
+        return frozen;
+    }
+
+    private boolean isBlockedOnAxis(int cell, int step) {
+        int before = cell - step;
+        int after = cell + step;
+        if (board.isWall(before) || board.isWall(after) || onChain(before) || onChain(after)) {
+            return true;
+        }
+        if (spareBoxes == 0 && analysis.isDeadSquare(before) && analysis.isDeadSquare(after)) {
+            return true;
+        }
+        return (hasBox(before) && isFrozen(before)) || (hasBox(after) && isFrozen(after));
+    }
+
+    private boolean hasBox(int cell) {
+        return (boxes[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    private boolean isCounted(int cell) {
+        for (int i = 0; i < frozenOffTarget; i++) {
+            if (frozenBoxes[i] == cell) return true;
+        }
+        return false;
+    }
+
+    private boolean onChain(int cell) {
+        for (int i = 0; i < chainLength; i++) {
+            if (chain[i] == cell) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,230 @@
+package com.aoopproject.games.sokoban.model;
+
+import com.aoopproject.games.sokoban.action.Direction;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Read-only static analysis of a Sokoban level, computed once per level layout and shared by every
+ * position of that level.
+ * <p>
+ * The analysis depends only on the walls and targets of a {@link SokobanBitboard}, never on boxes or
+ * the player, and covers:
+ * </p>
+ * <ul>
+ *     <li>per-target <em>push distances</em>: the pushes needed to bring a box from any cell to the
+ *     target, ignoring other boxes, found by searching backwards with pulls;</li>
+ *     <li><em>dead squares</em>: floor cells from which no target can be reached by pushing;</li>
+ *     <li><em>tunnels</em>: floor cells enclosed by walls on both sides of one axis, which a box
+ *     or the player can only pass straight through.</li>
+ * </ul>
+ * <p>
+ * Instances are obtained through {@link #of(SokobanBitboard)}, which caches them by
+ * {@link SokobanBitboard#layoutHash()}, so the solver, hints and live deadlock warnings all share
+ * the tables instead of recomputing them per query. Cell indices are those of the bitboard.
+ * </p>
+ */
+public final class SokobanLevelAnalysis {
+
+    /** Push distance of a cell from which the target cannot be reached. */
+    public static final int UNREACHABLE = Integer.MAX_VALUE / 4;
+
+    /** Number of analyses kept by {@link #of(SokobanBitboard)} before the least recently used is dropped. */
+    private static final int CACHE_CAPACITY = 64;
+    private static final Map<Long, SokobanLevelAnalysis> CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, SokobanLevelAnalysis> eldest) {
+            return size() > CACHE_CAPACITY;
+        }
+    };
+
+    private final long layoutHash;
+    /** The analysed layout, kept to tell hash collisions apart. Never modified. */
+    private final SokobanBitboard layout;
+    private final int[] targetCells;
+    /** {@code pushDistance[t][cell]}: pushes needed to bring a box from the cell to target {@code t}. */
+    private final int[][] pushDistance;
+    private final boolean[] dead;
+    /** The dead squares as a bitset over the bitboard's cell indices. */
+    private final long[] deadBits;
+    private final boolean[] tunnel;
+    private final int deadSquareCount;
+
+    /**
+     * Analyses the layout of a position.
+     *
+     * @param position The position; only its walls and targets are read.
+     */
+    private SokobanLevelAnalysis(SokobanBitboard position) {
+        this.layout = position.copy();
+        this.layoutHash = position.layoutHash();
+        int cells = position.getCellCount();
+        int[] offsets = new int[Direction.values().length];
+        for (Direction direction : Direction.values()) {
+            offsets[direction.ordinal()] = position.offset(direction);
+        }
+
+        this.targetCells = new int[position.getTargetCount()];
+        this.pushDistance = new int[targetCells.length][];
+        int[] minPushDistance = new int[cells];
+        Arrays.fill(minPushDistance, UNREACHABLE);
+        int[] queue = new int[cells];
+        int t = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            if (!position.isTarget(cell)) continue;
+            int[] distance = new int[cells];
+            Arrays.fill(distance, UNREACHABLE);
+            distance[cell] = 0;
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = cell;
+            while (head < tail) {
+                int box = queue[head++];
+                for (int step : offsets) {
+                    int from = box - step;
+                    if (!position.isWall(from) && !position.isWall(from - step) && distance[from] == UNREACHABLE) {
+                        distance[from] = distance[box] + 1;
+                        queue[tail++] = from;
+                    }
+                }
+            }
+            for (int c = 0; c < cells; c++) {
+                minPushDistance[c] = Math.min(minPushDistance[c], distance[c]);
+            }
+            targetCells[t] = cell;
+            pushDistance[t++] = distance;
+        }
+
+        int left = offsets[Direction.LEFT.ordinal()];
+        int up = offsets[Direction.UP.ordinal()];
+        this.dead = new boolean[cells];
+        this.deadBits = new long[(cells + 63) >>> 6];
+        this.tunnel = new boolean[cells];
+        int deadCount = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            if (!position.isOnBoard(cell) || position.isWall(cell)) continue;
+            dead[cell] = minPushDistance[cell] == UNREACHABLE;
+            if (dead[cell]) {
+                deadBits[cell >>> 6] |= 1L << cell;
+                deadCount++;
+            }
+            tunnel[cell] = (position.isWall(cell - left) && position.isWall(cell + left))
+                    || (position.isWall(cell - up) && position.isWall(cell + up));
+        }
+        this.deadSquareCount = deadCount;
+    }
+
+    /**
+     * Gets the analysis of a position's level, computing and caching it on first use.
+     * Positions of the same level share one instance.
+     *
+     * @param position The position; only its layout is read, and it is not modified or retained.
+     * @return The shared analysis.
+     */
+    public static SokobanLevelAnalysis of(SokobanBitboard position) {
+        long hash = position.layoutHash();
+        synchronized (CACHE) {
+            SokobanLevelAnalysis cached = CACHE.get(hash);
+            if (cached != null && cached.layout.hasSameLayout(position)) {
+                return cached;
+            }
+        }
+        SokobanLevelAnalysis analysis = new SokobanLevelAnalysis(position);
+        synchronized (CACHE) {
+            CACHE.put(hash, analysis);
+        }
+        return analysis;
+    }
+
+    /** @return The hash of the analysed layout; see {@link SokobanBitboard#layoutHash()}. */
+    public long getLayoutHash() {
+        return layoutHash;
+    }
+
+    /**
+     * Checks whether this analysis applies to a position, i.e. whether the position has the analysed layout.
+     *
+     * @param position The position to check.
+     * @return {@code true} if the tables are valid for the position.
+     */
+    public boolean appliesTo(SokobanBitboard position) {
+        return layoutHash == position.layoutHash() && layout.hasSameLayout(position);
+    }
+
+    /** @return The number of targets; targets are numbered {@code 0..getTargetCount()-1} in cell order. */
+    public int getTargetCount() {
+        return targetCells.length;
+    }
+
+    /**
+     * Gets the cell of a target.
+     *
+     * @param target The target number.
+     * @return The target's cell index.
+     */
+    public int getTargetCell(int target) {
+        return targetCells[target];
+    }
+
+    /**
+     * Gets the pushes needed to bring a box from a cell to a target, ignoring other boxes.
+     *
+     * @param target The target number.
+     * @param cell   The box's cell index.
+     * @return The push distance, or {@link #UNREACHABLE}.
+     */
+    public int getPushDistance(int target, int cell) {
+        return pushDistance[target][cell];
+    }
+
+    /**
+     * Checks whether a cell is a dead square: a box on it can never reach any target.
+     *
+     * @param cell The cell index.
+     * @return {@code true} for a dead floor cell; walls and border cells are not dead squares.
+     */
+    public boolean isDeadSquare(int cell) {
+        return dead[cell];
+    }
+
+    /** @return The number of dead squares in the level. */
+    public int getDeadSquareCount() {
+        return deadSquareCount;
+    }
+
+    /**
+     * Counts the boxes of a position that stand on dead squares.
+     *
+     * @param position A position of the analysed level.
+     * @return The number of boxes on dead squares.
+     */
+    public int countBoxesOnDeadSquares(SokobanBitboard position) {
+        return countBoxesOnDeadSquares(position.boxBits());
+    }
+
+    /**
+     * Counts the boxes of a box bitset that stand on dead squares.
+     *
+     * @param boxes The boxes, as a bitset over the cell indices of the analysed level.
+     * @return The number of boxes on dead squares.
+     */
+    public int countBoxesOnDeadSquares(long[] boxes) {
+        int total = 0;
+        for (int w = 0; w < deadBits.length; w++) {
+            total += Long.bitCount(boxes[w] & deadBits[w]);
+        }
+        return total;
+    }
+
+    /**
+     * Checks whether a cell is part of a tunnel: a floor cell with walls on both sides of one axis.
+     *
+     * @param cell The cell index.
+     * @return {@code true} for a tunnel cell.
+     */
+    public boolean isTunnel(int cell) {
+        return tunnel[cell];
+    }
+}
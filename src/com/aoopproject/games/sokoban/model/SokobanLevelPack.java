@@ -0,0 +1,239 @@
+package com.aoopproject.games.sokoban.model;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * A read-only collection of Sokoban levels in the common XSB / SOK text format, read from a memory-mapped file.
+ * <p>
+ * Opening a pack maps the file and makes one pass over it to record where each level's board starts and ends;
+ * the index holds two {@code int}s per level and no level text. A level is decoded only when it is asked for
+ * through {@link #getLevel(int)}, typically by {@link SokobanModel#initializeGame()}, so opening even a very
+ * large pack is fast and uses little heap.
+ * </p>
+ * <p>
+ * A board is a run of consecutive lines made only of board characters and containing at least one wall.
+ * Board characters are {@code '#'} wall, {@code ' '}, {@code '-'} or {@code '_'} floor, {@code '.'} goal,
+ * {@code '@'} player, {@code '+'} player on goal, {@code '$'} box and {@code '*'} box on goal. All other
+ * lines, such as {@code ';'} comments and {@code "Title:"} lines, separate boards. Boards are converted to
+ * the level format of {@link SokobanBitboard#parse(String[])}.
+ * </p>
+ * <p>
+ * Decoding only reads the mapping, so one pack can serve several threads.
+ * </p>
+ */
+public final class SokobanLevelPack {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Path source;
+    private final MappedByteBuffer data;
+    /** {@code boardStart[i]}: offset of the first byte of level {@code i}'s board. */
+    private final int[] boardStart;
+    /** {@code boardEnd[i]}: offset just past the last board line of level {@code i}. */
+    private final int[] boardEnd;
+
+    private SokobanLevelPack(Path source, MappedByteBuffer data, int[] boardStart, int[] boardEnd) {
+        this.source = source;
+        this.data = data;
+        this.boardStart = boardStart;
+        this.boardEnd = boardEnd;
+    }
+
+    /**
+     * Opens a level pack and indexes its levels.
+     *
+     * @param file The XSB or SOK file.
+     * @return The opened pack.
+     * @throws IOException if the file cannot be read, or is 2 GiB or larger.
+     */
+    public static SokobanLevelPack open(Path file) throws IOException {
+        MappedByteBuffer data;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Level pack is too large to map: " + file + " (" + size + " bytes)");
+            }
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        int[] starts = new int[INITIAL_CAPACITY];
+        int[] ends = new int[INITIAL_CAPACITY];
+        int count = 0;
+        boolean inBoard = false;
+        int limit = data.limit();
+        int lineStart = 0;
+        while (lineStart < limit) {
+            int lineEnd = lineStart;
+            while (lineEnd < limit && data.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            if (isBoardLine(data, lineStart, lineEnd)) {
+                if (!inBoard) {
+                    if (count == starts.length) {
+                        starts = Arrays.copyOf(starts, count * 2);
+                        ends = Arrays.copyOf(ends, count * 2);
+                    }
+                    starts[count++] = lineStart;
+                    inBoard = true;
+                }
+                ends[count - 1] = lineEnd;
+            } else {
+                inBoard = false;
+            }
+            lineStart = lineEnd + 1;
+        }
+        return new SokobanLevelPack(file, data, Arrays.copyOf(starts, count), Arrays.copyOf(ends, count));
+    }
+
+    /** @return The file this pack was read from. */
+    public Path getSource() {
+        return source;
+    }
+
+    /** @return The number of levels in the pack. */
+    public int size() {
+        return boardStart.length;
+    }
+
+    /**
+     * Decodes a level into the format of {@link SokobanBitboard#parse(String[])}.
+     *
+     * @param index The level index, from 0.
+     * @return The level rows, with trailing line breaks removed.
+     * @throws IndexOutOfBoundsException if the index is not in {@code 0..size()-1}.
+     */
+    public String[] getLevel(int index) {
+        checkIndex(index);
+        int end = boardEnd[index];
+        int rows = 1;
+        for (int i = boardStart[index]; i < end; i++) {
+            if (data.get(i) == '\n') rows++;
+        }
+        String[] level = new String[rows];
+        int row = 0;
+        int lineStart = boardStart[index];
+        while (row < rows) {
+            int lineEnd = lineEnd(lineStart, end);
+            StringBuilder line = new StringBuilder(lineEnd - lineStart);
+            for (int i = lineStart; i < lineEnd; i++) {
+                char converted = convert(data.get(i));
+                if (converted != 0) line.append(converted);
+            }
+            level[row++] = line.toString();
+            lineStart = lineEnd + 1;
+        }
+        return level;
+    }
+
+    /**
+     * Gets the title of a level. This is the text of a {@code "Title:"} line between its board and the next
+     * board, or else the last comment line before its board, or else the first comment line after its board.
+     * <p>
+     * Packs place level comments either just before or just after each board, so a comment between two
+     * boards is attributed by the blank lines around it: a comment in the lines directly following a board,
+     * before any blank line, belongs to that board, and only comments after such a blank line may belong to
+     * the next board.
+     * </p>
+     *
+     * @param index The level index, from 0.
+     * @return The title, or {@code null} if the level has none.
+     * @throws IndexOutOfBoundsException if the index is not in {@code 0..size()-1}.
+     */
+    public String getTitle(int index) {
+        checkIndex(index);
+        int nextBoard = index + 1 < boardStart.length ? boardStart[index + 1] : data.limit();
+        String after = null;
+        boolean attached = true;
+        for (int lineStart = boardEnd[index] + 1; lineStart < nextBoard; ) {
+            int lineEnd = lineEnd(lineStart, nextBoard);
+            String line = decode(lineStart, lineEnd).trim();
+            if (line.regionMatches(true, 0, "Title:", 0, 6)) {
+                return line.substring(6).trim();
+            }
+            if (line.isEmpty()) {
+                attached = false;
+            } else if (attached && after == null && isComment(line)) {
+                after = line.substring(1).trim();
+            }
+            lineStart = lineEnd + 1;
+        }
+        String before = null;
+        attached = index > 0;
+        for (int lineStart = index > 0 ? boardEnd[index - 1] + 1 : 0; lineStart < boardStart[index]; ) {
+            int lineEnd = lineEnd(lineStart, boardStart[index]);
+            String line = decode(lineStart, lineEnd).trim();
+            if (line.isEmpty()) {
+                attached = false;
+            } else if (!attached && isComment(line)) {
+                before = line.substring(1).trim();
+            }
+            lineStart = lineEnd + 1;
+        }
+        return before != null ? before : after;
+    }
+
+    private static boolean isComment(String line) {
+        return line.startsWith(";") && line.length() > 1;
+    }
+
+    /** Gets the offset of the line break ending the line that starts at an offset, or the limit. */
+    private int lineEnd(int lineStart, int limit) {
+        int lineEnd = lineStart;
+        while (lineEnd < limit && data.get(lineEnd) != '\n') {
+            lineEnd++;
+        }
+        return lineEnd;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= boardStart.length) {
+            throw new IndexOutOfBoundsException("Level " + index + " is not in pack " + source + " of " + boardStart.length + " levels.");
+        }
+    }
+
+    private String decode(int start, int end) {
+        byte[] bytes = new byte[end - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = data.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Checks whether a line holds a board row: only board characters (and a trailing carriage return), with a wall. */
+    private static boolean isBoardLine(MappedByteBuffer data, int start, int end) {
+        boolean wall = false;
+        for (int i = start; i < end; i++) {
+            byte b = data.get(i);
+            if (b == '#') {
+                wall = true;
+            } else if (convert(b) == 0 && !(b == '\r' && i == end - 1)) {
+                return false;
+            }
+        }
+        return wall;
+    }
+
+    /**
+     * Converts an XSB board character to the level format of {@link SokobanBitboard#parse(String[])}.
+     *
+     * @return The converted character, or {@code 0} for a character that is not part of a board.
+     */
+    private static char convert(byte b) {
+        switch (b) {
+            case '#': return 'W';
+            case ' ': case '-': case '_': return ' ';
+            case '.': return '.';
+            case '@': return 'P';
+            case '+': return '@';
+            case '$': return 'B';
+            case '*': return '$';
+            default: return 0;
+        }
+    }
+}
@@ -7,22 +7,27 @@ import com.aoopproject.common.model.DifficultyLevel;
 import com.aoopproject.framework.core.AbstractGameModel;
 import com.aoopproject.framework.core.GameAction;
 import com.aoopproject.framework.core.GameEvent;
+import com.aoopproject.framework.core.GameHistory;
 import com.aoopproject.framework.core.GameStatus;
 import com.aoopproject.framework.core.Grid;
+import com.aoopproject.framework.core.HistoryParticipant;
 import com.aoopproject.games.sokoban.action.Direction;
 import com.aoopproject.games.sokoban.action.SokobanMoveAction;
+import com.aoopproject.games.sokoban.action.SokobanWalkAction;
 
 import java.util.Objects;
 
 /**
  * Implements the game logic for the Sokoban puzzle game.
- * This class manages the game board (a grid of {@link SokobanTile}s), the player's position,
+ * This class manages the game state (a {@link SokobanBitboard}, from which the grid of
+ * {@link SokobanTile}s shown by views is derived), the player's position,
  * box movements, the undo history specific to Sokoban, and checks for win conditions
  * (all boxes on target locations).
  * <p>
  * It extends {@link AbstractGameModel}, relying on the superclass to handle
- * common framework actions and to manage observers, game status, score (interpreted as move count),
- * and the basic undo history stack mechanism. This class implements game-specific logic
+ * common framework actions and to manage observers, game status and score (interpreted as move count).
+ * Moves are recorded in a {@link GameHistory} as three delta words, since a Sokoban move can be
+ * inverted in place from its direction alone; full snapshots are only taken as periodic checkpoints. This class implements game-specific logic
  * within {@link #processGameSpecificAction(GameAction)}, {@link #initializeGame()},
  * {@link #undoLastMove()}, {@link #canUndo()}, {@link #isValidAction(GameAction)},
  * and {@link #checkEndGameConditions()}.
@@ -30,10 +35,21 @@ import java.util.Objects;
  */
 public class SokobanModel extends AbstractGameModel {
 
-    private int playerRow;
-    private int playerCol;
+    /** The authoritative game state; {@link #gameBoard} is a grid view derived from it. */
+    private SokobanBitboard bitboard;
+    /** Static analysis of the current level, computed once per level (see {@link SokobanLevelAnalysis#of(SokobanBitboard)}). */
+    private SokobanLevelAnalysis levelAnalysis;
+    /** Checks each push for a deadlock; replaced whenever a level is loaded. */
+    private SokobanDeadlockDetector deadlockDetector;
+    /** The move count at which the current deadlock was detected, or -1 if the position is not known to be deadlocked. */
+    private int deadlockedAtMove = -1;
+    /** Plans {@link SokobanWalkAction}s; its distance maps are invalidated whenever a box moves. */
+    private final SokobanWalkPlanner walkPlanner = new SokobanWalkPlanner();
 
     private String[] currentLevelData;
+    /** The pack the level is read from, or null for built-in and given levels. */
+    private SokobanLevelPack levelPack;
+    private int levelIndex = -1;
     private int totalTargets;
     private int boxesOnTargets;
     private DifficultyLevel currentDifficulty;
@@ -63,15 +79,64 @@ public class SokobanModel extends AbstractGameModel {
     };
 
 
+    /** Delta-word flag marking a move that pushed a box; the low two bits hold the {@link Direction} ordinal. */
+    private static final int PUSHED_FLAG = 1 << 2;
+    /** Delta-word flag marking a {@link SokobanWalkAction}; the second word then holds the player's start cell. */
+    private static final int WALK_FLAG = 1 << 3;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    /** A full snapshot of the Sokoban state, held by {@link #moveHistory} as a checkpoint. */
+    private record SokobanSnapshot(SokobanBitboard boardState, int boxesOnTargets, int score) {}
+
     /**
-     * Represents a snapshot of the Sokoban game's state for the undo functionality.
-     * @param boardState A deep copy of the {@link Grid} of {@link SokobanTile}s.
-     * @param playerRow The player's row at the time of this state.
-     * @param playerCol The player's column at the time of this state.
-     * @param boxesOnTargetsCount The number of boxes on target locations in this state.
-     * @param score The game score (move count) in this state.
+     * The undo history. A move is recorded as the delta words {@code [direction | pushed, boxesOnTargets, score]},
+     * the last two holding the values from before the move; a walk as {@code [WALK_FLAG, startCell, score]}.
      */
-    private record SokobanGameState(Grid<SokobanTile> boardState, int playerRow, int playerCol, int boxesOnTargetsCount, int score) {}
+    private GameHistory<SokobanSnapshot> moveHistory;
+
+    /**
+     * Gets the undo history, creating it the first time a game starts or a move is recorded rather
+     * than in a field initializer, where its participant would see a half-constructed model.
+     *
+     * @return The undo history.
+     */
+    private GameHistory<SokobanSnapshot> moveHistory() {
+        if (moveHistory == null) {
+            moveHistory = createHistory(new MoveHistoryParticipant());
+        }
+        return moveHistory;
+    }
+
+    /** The snapshot and delta handler of {@link #moveHistory}, which replays walks and pushes backwards. */
+    private final class MoveHistoryParticipant implements HistoryParticipant<SokobanSnapshot> {
+        @Override
+        public SokobanSnapshot captureSnapshot() {
+            return new SokobanSnapshot(bitboard.copy(), boxesOnTargets, score);
+        }
+
+        @Override
+        public void restoreSnapshot(SokobanSnapshot snapshot) {
+            bitboard = snapshot.boardState().copy();
+            gameBoard = bitboard.toGrid();
+            walkPlanner.invalidate();
+            boxesOnTargets = snapshot.boxesOnTargets();
+            setScore(snapshot.score());
+        }
+
+        @Override
+        public long estimateSnapshotBytes(SokobanSnapshot snapshot) {
+            return snapshot.boardState().estimateBytes() + 16;
+        }
+
+        @Override
+        public void revertDelta(int[] words, int offset, int length) {
+            if ((words[offset] & WALK_FLAG) != 0) {
+                revertWalk(words[offset + 1], words[offset + 2]);
+            } else {
+                revertMove(words[offset], words[offset + 1], words[offset + 2]);
+            }
+        }
+    }
 
     /**
      * Constructs a SokobanModel with the specified difficulty level.
@@ -110,17 +175,43 @@ public class SokobanModel extends AbstractGameModel {
                 " and difficulty: " + this.currentDifficulty.getDisplayName());
     }
 
+    /**
+     * Constructs a SokobanModel that plays one level of a {@link SokobanLevelPack}.
+     * The level is not decoded until {@link #initializeGame()} first asks for it.
+     *
+     * @param levelPack  The pack to read the level from. Must not be null.
+     * @param levelIndex The index of the level in the pack, from 0.
+     * @param difficulty The {@link DifficultyLevel} to associate with this game instance. Must not be null.
+     * @throws IndexOutOfBoundsException if the pack has no level with that index.
+     */
+    public SokobanModel(SokobanLevelPack levelPack, int levelIndex, DifficultyLevel difficulty) {
+        super();
+        this.levelPack = Objects.requireNonNull(levelPack, "SokobanLevelPack cannot be null.");
+        if (levelIndex < 0 || levelIndex >= levelPack.size()) {
+            throw new IndexOutOfBoundsException("Level " + levelIndex + " is not in a pack of " + levelPack.size() + " levels.");
+        }
+        this.levelIndex = levelIndex;
+        this.currentDifficulty = Objects.requireNonNull(difficulty, "DifficultyLevel cannot be null.");
+        this.currentLevelData = null;
+        System.out.println("SokobanModel created for level " + (levelIndex + 1) + " of " + levelPack.getSource());
+    }
+
     /**
      * Initializes or resets the game to the starting state of a level.
-     * If {@code this.currentLevelData} was pre-set by a constructor, that level is used.
+     * If {@code this.currentLevelData} was pre-set by a constructor, that level is used; a level of a
+     * {@link SokobanLevelPack} is decoded into it on the first call.
      * Otherwise, a level is chosen based on {@code this.currentDifficulty}.
-     * Parses the level data, creates the game board, sets player position, counts targets,
+     * Parses the level data, creates the game board, looks up the level's {@link SokobanLevelAnalysis},
+     * sets player position, counts targets,
      * resets score, sets status to PLAYING, clears undo history, and notifies observers.
      */
     @Override
     public void initializeGame() {
         String[] levelDataToParse;
 
+        if (this.currentLevelData == null && this.levelPack != null) {
+            this.currentLevelData = levelPack.getLevel(levelIndex);
+        }
         if (this.currentLevelData != null && this.currentLevelData.length > 0) {
             levelDataToParse = this.currentLevelData;
             System.out.println("SokobanModel.initializeGame: Using pre-set level data.");
@@ -140,39 +231,16 @@ public class SokobanModel extends AbstractGameModel {
             this.currentLevelData = levelDataToParse;
         }
 
-        int numRows = levelDataToParse.length;
-        int numCols = 0;
-        if (numRows > 0) {
-            for (String line : levelDataToParse) { if (line.length() > numCols) numCols = line.length(); }
-        }
+        this.bitboard = SokobanBitboard.parse(levelDataToParse);
+        this.levelAnalysis = SokobanLevelAnalysis.of(bitboard);
+        this.totalTargets = bitboard.getTargetCount();
+        this.boxesOnTargets = bitboard.countBoxesOnTargets();
+        this.gameBoard = bitboard.toGrid();
+        this.deadlockDetector = new SokobanDeadlockDetector(levelAnalysis, bitboard.getBoxCount() - totalTargets);
+        this.deadlockedAtMove = -1;
+        this.walkPlanner.invalidate();
 
-        Grid<SokobanTile> newBoard = new Grid<>(numRows, numCols);
-        this.totalTargets = 0;
-        this.boxesOnTargets = 0;
-        boolean playerFound = false;
-
-        for (int r = 0; r < numRows; r++) {
-            String line = levelDataToParse[r];
-            for (int c = 0; c < numCols; c++) {
-                char cellChar = (c < line.length()) ? line.charAt(c) : ' ';
-                SokobanBaseType base = SokobanBaseType.FLOOR;
-                SokobanOccupant occupant = SokobanOccupant.NONE;
-                switch (cellChar) {
-                    case 'W': base = SokobanBaseType.WALL; break;
-                    case ' ': base = SokobanBaseType.FLOOR; break;
-                    case '.': base = SokobanBaseType.TARGET; this.totalTargets++; break;
-                    case 'P': occupant = SokobanOccupant.PLAYER; this.playerRow = r; this.playerCol = c; playerFound = true; break;
-                    case '@': base = SokobanBaseType.TARGET; occupant = SokobanOccupant.PLAYER; this.playerRow = r; this.playerCol = c; this.totalTargets++; playerFound = true; break;
-                    case 'B': occupant = SokobanOccupant.BOX; break;
-                    case '$': base = SokobanBaseType.TARGET; occupant = SokobanOccupant.BOX; this.totalTargets++; this.boxesOnTargets++; break;
-                    default:  base = SokobanBaseType.FLOOR; break;
-                }
-                newBoard.setEntity(r, c, new SokobanTile(base, occupant));
-            }
-        }
-        this.gameBoard = newBoard;
-
-        if (!playerFound && numRows > 0 && numCols > 0) {
+        if (bitboard.getPlayer() == SokobanBitboard.NO_PLAYER) {
             System.err.println("CRITICAL ERROR: Player ('P' or '@') not found in Sokoban level data. Game may be unplayable.");
             setCurrentStatus(GameStatus.INITIALIZING);
             notifyObservers(new GameEvent(this, "LEVEL_LOAD_ERROR", "Player not found."));
@@ -181,7 +249,7 @@ public class SokobanModel extends AbstractGameModel {
 
         setScore(0);
         setCurrentStatus(GameStatus.PLAYING);
-        if (historyStack != null) historyStack.clear();
+        moveHistory().clear();
         notifyObservers(new GameEvent(this, "BOARD_INITIALIZED", this.gameBoard));
         notifyObservers(new GameEvent(this, "NEW_GAME_STARTED", this.currentDifficulty));
         checkEndGameConditions();
@@ -192,83 +260,198 @@ public class SokobanModel extends AbstractGameModel {
      * This method is called by {@link AbstractGameModel#processInputAction(GameAction)}
      * when the game is PLAYING and the action is not a common framework one.
      *
-     * @param action The {@link SokobanMoveAction} to process.
+     * @param action The {@link SokobanMoveAction} or {@link SokobanWalkAction} to process.
      */
     @Override
-    @SuppressWarnings("unchecked")
     protected void processGameSpecificAction(GameAction action) {
+        if (action instanceof SokobanWalkAction) {
+            processWalk((SokobanWalkAction) action);
+            return;
+        }
         if (!(action instanceof SokobanMoveAction)) {
             System.err.println("SokobanModel: Received unknown game-specific action: " + action.getName());
             return;
         }
 
         SokobanMoveAction moveAction = (SokobanMoveAction) action;
-        Grid<SokobanTile> board = (Grid<SokobanTile>) this.gameBoard;
-        if (board == null) return;
+        if (bitboard == null) return;
 
-        int r = this.playerRow;
-        int c = this.playerCol;
         Direction dir = moveAction.direction();
-        int dr = dir.getDeltaRow();
-        int dc = dir.getDeltaColumn();
+        int step = bitboard.offset(dir);
+        int current = bitboard.getPlayer();
+        int next = current + step;
+        int moveType = bitboard.classifyMove(dir);
+
+        if (moveType == SokobanBitboard.BLOCKED) {
+            if (!bitboard.isOnBoard(next)) {
+                notifyAndReturn("INVALID_MOVE", "Player move out of bounds.");
+            } else if (bitboard.isWall(next)) {
+                notifyAndReturn("INVALID_MOVE", "Cannot move into a wall.");
+            } else if (!bitboard.isOnBoard(next + step)) {
+                notifyAndReturn("INVALID_MOVE", "Cannot push box out of bounds.");
+            } else {
+                notifyAndReturn("INVALID_MOVE", "Box is blocked (wall or another box).");
+            }
+            return;
+        }
+
+        int boxesOnTargetsBefore = this.boxesOnTargets;
+        boolean pushed = moveType == SokobanBitboard.PUSH;
+        if (pushed) {
+            if (bitboard.isTarget(next)) this.boxesOnTargets--;
+            if (bitboard.isTarget(next + step)) this.boxesOnTargets++;
+            bitboard.moveBox(next, next + step);
+            walkPlanner.invalidate();
+        }
+        bitboard.setPlayer(next);
+        refreshCell(current);
+        refreshCell(next);
+        if (pushed) refreshCell(next + step);
+
+        int scoreBefore = this.getScore();
+        setScore(scoreBefore + 1);
+        moveHistory().record(dir.ordinal() | (pushed ? PUSHED_FLAG : 0), boxesOnTargetsBefore, scoreBefore);
+        notifyObservers(new GameEvent(this, "BOARD_CHANGED", this.gameBoard));
+        checkEndGameConditions();
+        if (pushed) checkDeadlock(next + step);
+    }
+
+    /**
+     * Walks the player to the destination of a {@link SokobanWalkAction} along the shortest path found by
+     * the {@link #walkPlanner}. The walk counts one move per step but is recorded as a single undo entry and
+     * fires a single {@code BOARD_CHANGED} event.
+     *
+     * @param walk The walk to perform.
+     */
+    private void processWalk(SokobanWalkAction walk) {
+        if (bitboard == null) return;
+        Direction[] path = planWalk(walk);
+        if (path == null) {
+            notifyAndReturn("INVALID_MOVE", "No walking path to (" + walk.row() + "," + walk.column() + ").");
+            return;
+        }
+        if (path.length == 0) return;
 
-        int nextPlayerR = r + dr;
-        int nextPlayerC = c + dc;
+        int start = bitboard.getPlayer();
+        int destination = bitboard.cellIndex(walk.row(), walk.column());
+        bitboard.setPlayer(destination);
+        refreshCell(start);
+        refreshCell(destination);
 
-        if (!board.isValidCoordinate(nextPlayerR, nextPlayerC)) {
-            notifyAndReturn("INVALID_MOVE", "Player move out of bounds."); return;
+        int scoreBefore = this.getScore();
+        setScore(scoreBefore + path.length);
+        moveHistory().record(WALK_FLAG, start, scoreBefore);
+        notifyObservers(new GameEvent(this, "BOARD_CHANGED", this.gameBoard));
+    }
+
+    /**
+     * Plans the path of a walk from the player's cell.
+     *
+     * @param walk The walk.
+     * @return The steps, empty if the player already stands there, or {@code null} if the destination cannot be reached.
+     */
+    private Direction[] planWalk(SokobanWalkAction walk) {
+        if (walk.row() < 0 || walk.row() >= bitboard.getRows() || walk.column() < 0 || walk.column() >= bitboard.getColumns()) {
+            return null;
         }
+        return walkPlanner.planWalk(bitboard, bitboard.getPlayer(), bitboard.cellIndex(walk.row(), walk.column()));
+    }
 
-        SokobanTile currentPlayerTile = board.getEntity(r, c);
-        SokobanTile targetTileForPlayer = board.getEntity(nextPlayerR, nextPlayerC);
-        boolean moveMade = false;
+    /**
+     * Checks whether the push that moved a box onto a cell made the level unsolvable and, if so, fires a
+     * {@code DEADLOCK_DETECTED} event whose payload is the {@link SokobanDeadlockDetector.Kind}.
+     * A deadlock can only be lifted by undoing the push, so once found it is not checked for again until then.
+     *
+     * @param boxCell The cell the box was pushed onto.
+     */
+    private void checkDeadlock(int boxCell) {
+        if (deadlockedAtMove >= 0 || getCurrentStatus() != GameStatus.PLAYING) return;
+        SokobanDeadlockDetector.Kind kind = deadlockDetector.checkPush(bitboard, boxCell);
+        if (kind != SokobanDeadlockDetector.Kind.NONE) {
+            deadlockedAtMove = getScore();
+            notifyObservers(new GameEvent(this, "DEADLOCK_DETECTED", kind));
+        }
+    }
 
-        if (targetTileForPlayer.getBaseType() == SokobanBaseType.WALL) {
-            notifyAndReturn("INVALID_MOVE", "Cannot move into a wall."); return;
+    /**
+     * Replays a move string in LURD notation, such as a solution found by
+     * {@link com.aoopproject.games.sokoban.solver.SokobanSolver}. Each character is played like a
+     * {@link SokobanMoveAction}, so the moves are recorded for undo and observers are notified as usual.
+     * Replaying stops at the first character that is not a direction, the first move that is not valid,
+     * or when the game is no longer being played.
+     *
+     * @param lurd The moves; walks and pushes may be written in either case.
+     * @return The number of moves played.
+     */
+    public int replay(String lurd) {
+        int played = 0;
+        for (int i = 0; i < lurd.length() && getCurrentStatus() == GameStatus.PLAYING; i++) {
+            Direction dir = Direction.fromLurd(lurd.charAt(i));
+            if (dir == null) break;
+            SokobanMoveAction move = new SokobanMoveAction(dir);
+            if (!isValidAction(move)) break;
+            processInputAction(move);
+            played++;
         }
-        if (targetTileForPlayer.getOccupant() == SokobanOccupant.NONE) {
-            Grid<SokobanTile> boardCopy = board.deepCopy(SokobanTile::copy);
-            SokobanGameState prevState = new SokobanGameState(boardCopy, this.playerRow, this.playerCol, this.boxesOnTargets, this.getScore());
-            if (historyStack != null) historyStack.push(prevState);
-
-            currentPlayerTile.setOccupant(SokobanOccupant.NONE);
-            targetTileForPlayer.setOccupant(SokobanOccupant.PLAYER);
-            this.playerRow = nextPlayerR;
-            this.playerCol = nextPlayerC;
-            moveMade = true;
-
-        } else if (targetTileForPlayer.getOccupant() == SokobanOccupant.BOX) {
-            int nextBoxR = nextPlayerR + dr;
-            int nextBoxC = nextPlayerC + dc;
-
-            if (!board.isValidCoordinate(nextBoxR, nextBoxC)) {
-                notifyAndReturn("INVALID_MOVE", "Cannot push box out of bounds."); return;
-            }
+        return played;
+    }
 
-            SokobanTile targetTileForBox = board.getEntity(nextBoxR, nextBoxC);
-            if (targetTileForBox.getBaseType() != SokobanBaseType.WALL && targetTileForBox.getOccupant() == SokobanOccupant.NONE) {
-                Grid<SokobanTile> boardCopy = board.deepCopy(SokobanTile::copy);
-                SokobanGameState prevState = new SokobanGameState(boardCopy, this.playerRow, this.playerCol, this.boxesOnTargets, this.getScore());
-                if (historyStack != null) historyStack.push(prevState);
-                if (targetTileForPlayer.getBaseType() == SokobanBaseType.TARGET) this.boxesOnTargets--;
-                if (targetTileForBox.getBaseType() == SokobanBaseType.TARGET) this.boxesOnTargets++;
-                targetTileForBox.setOccupant(SokobanOccupant.BOX);
-                targetTileForPlayer.setOccupant(SokobanOccupant.PLAYER);
-                currentPlayerTile.setOccupant(SokobanOccupant.NONE);
-
-                this.playerRow = nextPlayerR;
-                this.playerCol = nextPlayerC;
-                moveMade = true;
-            } else {
-                notifyAndReturn("INVALID_MOVE", "Box is blocked (wall or another box)."); return;
-            }
+    /**
+     * Verifies a solution against the start of the current level, without playing it: the model, its
+     * history and its observers are left untouched. See {@link #verifySolution(SokobanBitboard, String)}.
+     *
+     * @param lurd The moves, with walks in lower case and pushes in upper case.
+     * @return The outcome of the replay.
+     * @throws IllegalStateException if no level has been loaded yet.
+     */
+    public SokobanReplayResult verifySolution(String lurd) {
+        if (currentLevelData == null) {
+            throw new IllegalStateException("No level has been loaded.");
         }
+        return verifySolution(SokobanBitboard.parse(currentLevelData), lurd);
+    }
 
-        if (moveMade) {
-            setScore(this.getScore() + 1);
-            notifyObservers(new GameEvent(this, "BOARD_CHANGED", this.gameBoard));
-            checkEndGameConditions();
+    /**
+     * Verifies a solution in LURD notation by replaying it on a copy of a position. Unlike
+     * {@link #replay(String)}, nothing is recorded or notified and no grid is built: each step is a few
+     * bit operations on the copied {@link SokobanBitboard}, so even long solutions are checked in
+     * microseconds. The case of each move must match what it does; a lower-case move that would push a
+     * box, or an upper-case one that would not, is illegal.
+     *
+     * @param start The position to start from; it is not modified.
+     * @param lurd  The moves, with walks in lower case and pushes in upper case.
+     * @return The outcome, naming the first illegal step if there is one.
+     */
+    public static SokobanReplayResult verifySolution(SokobanBitboard start, String lurd) {
+        Objects.requireNonNull(lurd, "Move string cannot be null.");
+        SokobanBitboard board = start.copy();
+        if (board.getPlayer() == SokobanBitboard.NO_PLAYER) {
+            return new SokobanReplayResult(false, 0, 0, 0, "The level has no player.");
         }
+        int pushes = 0;
+        for (int i = 0; i < lurd.length(); i++) {
+            char move = lurd.charAt(i);
+            Direction dir = Direction.fromLurd(move);
+            if (dir == null) {
+                return new SokobanReplayResult(false, i, pushes, i, "'" + move + "' is not a move.");
+            }
+            int moveType = board.classifyMove(dir);
+            boolean push = Character.isUpperCase(move);
+            if (moveType == SokobanBitboard.BLOCKED) {
+                return new SokobanReplayResult(false, i, pushes, i, "Move " + move + " is blocked.");
+            }
+            if (push != (moveType == SokobanBitboard.PUSH)) {
+                return new SokobanReplayResult(false, i, pushes, i,
+                        "Move " + move + (push ? " does not push a box." : " pushes a box; pushes are written in upper case."));
+            }
+            int next = board.getPlayer() + board.offset(dir);
+            if (push) {
+                board.moveBox(next, next + board.offset(dir));
+                pushes++;
+            }
+            board.setPlayer(next);
+        }
+        return new SokobanReplayResult(board.isSolved(), lurd.length(), pushes, SokobanReplayResult.NO_FAILURE, null);
     }
 
     /** Helper to simplify firing an event and returning, for invalid moves. */
@@ -279,36 +462,85 @@ public class SokobanModel extends AbstractGameModel {
 
 
     /**
-     * Undoes the last successful move by restoring the game state from history.
+     * Undoes the last successful move through {@link #moveHistory}, which inverts it in place
+     * on the current board (see {@link #revertMove(int, int, int)}) or restores a checkpoint.
+     * Undoing the push that caused a deadlock fires {@code DEADLOCK_CLEARED}.
      */
     @Override
     public void undoLastMove() {
-        if (historyStack == null || historyStack.isEmpty()) return;
-
-        SokobanGameState prevState = (SokobanGameState) historyStack.pop();
-        this.gameBoard = prevState.boardState();
-        this.playerRow = prevState.playerRow();
-        this.playerCol = prevState.playerCol();
-        this.boxesOnTargets = prevState.boxesOnTargetsCount();
-        setScore(prevState.score());
+        if (bitboard == null || !moveHistory().undo()) return;
         setCurrentStatus(GameStatus.PLAYING);
+        if (deadlockedAtMove >= 0 && getScore() < deadlockedAtMove) {
+            deadlockedAtMove = -1;
+            notifyObservers(new GameEvent(this, "DEADLOCK_CLEARED", null));
+        }
 
         notifyObservers(new GameEvent(this, "BOARD_CHANGED", this.gameBoard));
         notifyObservers(new GameEvent(this, "UNDO_PERFORMED", null));
     }
 
+    /**
+     * Inverts a recorded move in place: the player steps back against the recorded direction and,
+     * if the move was a push, pulls the box back onto the square the player leaves.
+     *
+     * @param move                 The direction ordinal, with {@link #PUSHED_FLAG} set for a push.
+     * @param boxesOnTargetsBefore The boxes-on-targets count from before the move.
+     * @param scoreBefore          The score from before the move.
+     */
+    private void revertMove(int move, int boxesOnTargetsBefore, int scoreBefore) {
+        int step = bitboard.offset(DIRECTIONS[move & 0b11]);
+        int current = bitboard.getPlayer();
+        int previous = current - step;
+
+        if ((move & PUSHED_FLAG) != 0) {
+            bitboard.moveBox(current + step, current);
+            refreshCell(current + step);
+            walkPlanner.invalidate();
+        }
+        bitboard.setPlayer(previous);
+        refreshCell(current);
+        refreshCell(previous);
+        this.boxesOnTargets = boxesOnTargetsBefore;
+        setScore(scoreBefore);
+    }
+
+    /**
+     * Inverts a recorded walk in place by putting the player back on its start cell.
+     *
+     * @param start       The player's cell before the walk.
+     * @param scoreBefore The score from before the walk.
+     */
+    private void revertWalk(int start, int scoreBefore) {
+        int current = bitboard.getPlayer();
+        bitboard.setPlayer(start);
+        refreshCell(current);
+        refreshCell(start);
+        setScore(scoreBefore);
+    }
+
+    /**
+     * Updates the derived grid view at a level cell from the {@link #bitboard}.
+     *
+     * @param cell The bitboard cell index of a level cell.
+     */
+    @SuppressWarnings("unchecked")
+    private void refreshCell(int cell) {
+        ((Grid<SokobanTile>) this.gameBoard).setUnchecked(bitboard.rowOf(cell), bitboard.columnOf(cell), bitboard.tileAt(cell));
+    }
+
     /**
      * Checks if an undo operation is possible.
-     * @return {@code true} if undo history is not empty.
+     * @return {@code true} if the move history holds a move.
      */
     @Override
     public boolean canUndo() {
-        return historyStack != null && !historyStack.isEmpty();
+        return moveHistory().canUndo();
     }
 
     /**
      * Validates if a given {@link GameAction} is permissible in the current Sokoban game state.
-     * Primarily checks {@link SokobanMoveAction} for validity based on game rules.
+     * Primarily checks {@link SokobanMoveAction} against the {@link #getLegalMoves() legal moves}, and that the destination
+     * of a {@link SokobanWalkAction} can be reached without pushing.
      * Other common actions (NewGame, Undo, Quit) are assumed to be handled by {@link AbstractGameModel}
      * for their basic enablement, though this method also returns true for them.
      *
@@ -316,7 +548,6 @@ public class SokobanModel extends AbstractGameModel {
      * @return {@code true} if the action is considered valid, {@code false} otherwise.
      */
     @Override
-    @SuppressWarnings("unchecked")
     public boolean isValidAction(GameAction action) {
         if (action instanceof NewGameAction || action instanceof QuitAction) return true;
         if (action instanceof UndoAction) return canUndo();
@@ -324,37 +555,20 @@ public class SokobanModel extends AbstractGameModel {
         if (getCurrentStatus() != GameStatus.PLAYING) return false;
 
         if (action instanceof SokobanMoveAction) {
-            SokobanMoveAction moveAction = (SokobanMoveAction) action;
-            Grid<SokobanTile> board = (Grid<SokobanTile>) this.gameBoard;
-            if (board == null) return false;
-
-            int r = this.playerRow;
-            int c = this.playerCol;
-            Direction dir = moveAction.direction();
-            int dr = dir.getDeltaRow();
-            int dc = dir.getDeltaColumn();
-            int nextPlayerR = r + dr;
-            int nextPlayerC = c + dc;
-
-            if (!board.isValidCoordinate(nextPlayerR, nextPlayerC)) return false;
-            SokobanTile targetTileForPlayer = board.getEntity(nextPlayerR, nextPlayerC);
-            if (targetTileForPlayer.getBaseType() == SokobanBaseType.WALL) return false;
-
-            if (targetTileForPlayer.getOccupant() == SokobanOccupant.BOX) {
-                int nextBoxR = nextPlayerR + dr;
-                int nextBoxC = nextPlayerC + dc;
-                if (!board.isValidCoordinate(nextBoxR, nextBoxC)) return false;
-                SokobanTile targetTileForBox = board.getEntity(nextBoxR, nextBoxC);
-                return targetTileForBox.getBaseType() != SokobanBaseType.WALL &&
-                        targetTileForBox.getOccupant() == SokobanOccupant.NONE;
-            }
-            return true;
+            if (bitboard == null) return false;
+            return (getLegalMoves() & SokobanMoveGenerator.bit(((SokobanMoveAction) action).direction())) != 0;
+        }
+        if (action instanceof SokobanWalkAction) {
+            if (bitboard == null) return false;
+            Direction[] path = planWalk((SokobanWalkAction) action);
+            return path != null && path.length > 0;
         }
         return false;
     }
 
     /**
-     * Checks if all targets are covered by boxes to determine win condition.
+     * Checks if all targets are covered by boxes to determine win condition
+     * (see {@link SokobanBitboard#isSolved()}).
      * If all targets are covered and game is PLAYING, status is set to GAME_OVER_WIN.
      */
     @Override
@@ -362,15 +576,31 @@ public class SokobanModel extends AbstractGameModel {
         if (gameBoard == null || getCurrentStatus() != GameStatus.PLAYING) {
             return;
         }
-        if (this.totalTargets > 0 && this.boxesOnTargets == this.totalTargets) {
+        if (this.totalTargets > 0 && bitboard.isSolved()) {
             setCurrentStatus(GameStatus.GAME_OVER_WIN);
         }
     }
 
+    /** @return The level pack being played, or {@code null} for built-in and given levels. */
+    public SokobanLevelPack getLevelPack() { return levelPack; }
+    /** @return The index of the level in {@link #getLevelPack()}, or -1 when not playing a pack. */
+    public int getLevelIndex() { return levelIndex; }
     /** @return The player's current row. */
-    public int getPlayerRow() { return playerRow; }
+    public int getPlayerRow() { return bitboard.rowOf(bitboard.getPlayer()); }
     /** @return The player's current column. */
-    public int getPlayerCol() { return playerCol; }
+    public int getPlayerCol() { return bitboard.columnOf(bitboard.getPlayer()); }
+    /** @return The bitboard holding the current game state; it must not be modified by callers. */
+    public SokobanBitboard getBitboard() { return bitboard; }
+    /** @return The directions the player can move in, as a {@link SokobanMoveGenerator#legalMoves(SokobanBitboard) mask}. */
+    public int getLegalMoves() { return SokobanMoveGenerator.legalMoves(bitboard); }
+    /** @return The directions in which the player would push a box, as a {@link SokobanMoveGenerator#legalPushes(SokobanBitboard) mask}. */
+    public int getLegalPushes() { return SokobanMoveGenerator.legalPushes(bitboard); }
+    /** @return The Zobrist hash of the current position, kept up to date by every move (see {@link SokobanBitboard#stateHash()}). */
+    public long stateHash() { return bitboard.stateHash(); }
+    /** @return The static analysis (dead squares, push distances, tunnels) of the current level, or null before the first game. */
+    public SokobanLevelAnalysis getLevelAnalysis() { return levelAnalysis; }
+    /** @return {@code true} if a push has left the level unsolvable and has not been undone yet. */
+    public boolean isDeadlocked() { return deadlockedAtMove >= 0; }
     /** @return The total number of targets in the current level. */
     public int getTotalTargets() { return totalTargets; }
     /** @return The current number of boxes on target locations. */
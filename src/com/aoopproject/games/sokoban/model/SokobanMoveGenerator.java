@@ -0,0 +1,154 @@
+package com.aoopproject.games.sokoban.model;
+
+import com.aoopproject.games.sokoban.action.Direction;
+
+import java.util.Arrays;
+
+/**
+ * Generates the legal moves of a Sokoban position, for move validation, solvers and computer players alike.
+ * <p>
+ * Single steps are returned as a bitmask over {@link Direction#ordinal()} (see {@link #bit(Direction)}):
+ * {@link #legalMoves(SokobanBitboard)} holds every step that walks or pushes, and
+ * {@link #legalPushes(SokobanBitboard)} only the steps that push. Both are four calls of
+ * {@link SokobanBitboard#classifyMove(Direction)}, so they follow exactly the rules the model plays by.
+ * </p>
+ * <p>
+ * {@link #generatePushes(SokobanBitboard, int[])} lists every push the player can make after walking
+ * anywhere it can reach, which is the move set of push-based searches. Pushes are written into a
+ * caller-owned {@code int[]} as {@code boxCell << 2 | direction.ordinal()} (see {@link #encodePush(int, Direction)}).
+ * The generator reuses its reachability buffers, so it allocates nothing once it has seen a level's size,
+ * and is therefore not thread-safe; each search or player should own one.
+ * </p>
+ */
+public final class SokobanMoveGenerator {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private int[] reachMark = new int[0];
+    private int reachStamp;
+    private int[] queue = new int[0];
+
+    /**
+     * Gets the mask bit of a direction.
+     *
+     * @param direction The direction.
+     * @return {@code 1 << direction.ordinal()}.
+     */
+    public static int bit(Direction direction) {
+        return 1 << direction.ordinal();
+    }
+
+    /**
+     * Gets the steps the player can take from a position.
+     *
+     * @param position The position; it is not modified.
+     * @return A mask of the {@link #bit(Direction) bits} of the directions that walk or push.
+     */
+    public static int legalMoves(SokobanBitboard position) {
+        int mask = 0;
+        for (Direction direction : DIRECTIONS) {
+            if (position.classifyMove(direction) != SokobanBitboard.BLOCKED) {
+                mask |= bit(direction);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Gets the steps from a position that push a box.
+     *
+     * @param position The position; it is not modified.
+     * @return A mask of the {@link #bit(Direction) bits} of the directions that push.
+     */
+    public static int legalPushes(SokobanBitboard position) {
+        int mask = 0;
+        for (Direction direction : DIRECTIONS) {
+            if (position.classifyMove(direction) == SokobanBitboard.PUSH) {
+                mask |= bit(direction);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Encodes a push for {@link #generatePushes(SokobanBitboard, int[])}.
+     *
+     * @param boxCell   The cell of the box to push.
+     * @param direction The direction to push it in.
+     * @return The encoded push.
+     */
+    public static int encodePush(int boxCell, Direction direction) {
+        return boxCell << 2 | direction.ordinal();
+    }
+
+    /** @return The cell of the box moved by an encoded push. */
+    public static int pushedBox(int push) {
+        return push >>> 2;
+    }
+
+    /** @return The direction of an encoded push. */
+    public static Direction pushDirection(int push) {
+        return DIRECTIONS[push & 3];
+    }
+
+    /**
+     * Lists every push available from a position to a player who may first walk anywhere it can reach
+     * without pushing. Pushes are ordered by box cell, then by direction.
+     *
+     * @param position The position; it is not modified.
+     * @param buffer   Receives the {@link #encodePush(int, Direction) encoded} pushes. It must hold at least
+     *                 {@code 4 * position.getBoxCount()} entries.
+     * @return The number of pushes written.
+     * @throws IllegalArgumentException if the buffer is too small.
+     */
+    public int generatePushes(SokobanBitboard position, int[] buffer) {
+        int boxes = position.getBoxCount();
+        if (buffer.length < 4 * boxes) {
+            throw new IllegalArgumentException("Push buffer holds " + buffer.length + " entries; " + 4 * boxes + " are needed.");
+        }
+        if (position.getPlayer() == SokobanBitboard.NO_PLAYER) {
+            return 0;
+        }
+        markReachable(position);
+        int count = 0;
+        int cells = position.getCellCount();
+        for (int box = position.nextBox(0); box < cells; box = position.nextBox(box + 1)) {
+            for (Direction direction : DIRECTIONS) {
+                int step = position.offset(direction);
+                if (reachMark[box - step] == reachStamp && !position.isBlocked(box + step)) {
+                    buffer[count++] = encodePush(box, direction);
+                }
+            }
+        }
+        return count;
+    }
+
+    /** Marks every cell the player can walk to with {@link #reachStamp}. */
+    private void markReachable(SokobanBitboard position) {
+        int cells = position.getCellCount();
+        if (reachMark.length != cells) {
+            reachMark = new int[cells];
+            queue = new int[cells];
+            reachStamp = 0;
+        }
+        if (++reachStamp == Integer.MAX_VALUE) {
+            Arrays.fill(reachMark, 0);
+            reachStamp = 1;
+        }
+        int head = 0;
+        int tail = 0;
+        int start = position.getPlayer();
+        reachMark[start] = reachStamp;
+        queue[tail++] = start;
+        while (head < tail) {
+            int cell = queue[head++];
+            for (Direction direction : DIRECTIONS) {
+                int next = cell + position.offset(direction);
+                if (reachMark[next] != reachStamp && !position.isBlocked(next)) {
+                    reachMark[next] = reachStamp;
+                    queue[tail++] = next;
+                }
+            }
+        }
+    }
+}
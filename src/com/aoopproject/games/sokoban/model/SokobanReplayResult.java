@@ -0,0 +1,21 @@
+package com.aoopproject.games.sokoban.model;
+
+/**
+ * The outcome of checking a LURD move string with {@link SokobanModel#verifySolution(SokobanBitboard, String)}.
+ *
+ * @param solved      Whether every move was legal and the level ended solved.
+ * @param movesPlayed The number of legal moves played before the replay ended.
+ * @param pushes      The number of pushes among the moves played.
+ * @param failedStep  The index of the first illegal character of the move string, or {@link #NO_FAILURE}.
+ * @param failure     Why that step is illegal, or {@code null} if every step was legal.
+ */
+public record SokobanReplayResult(boolean solved, int movesPlayed, int pushes, int failedStep, String failure) {
+
+    /** {@link #failedStep()} of a move string whose every step is legal. */
+    public static final int NO_FAILURE = -1;
+
+    /** @return {@code true} if every step of the move string was legal, whether or not it solved the level. */
+    public boolean isLegal() {
+        return failedStep == NO_FAILURE;
+    }
+}
@@ -7,11 +7,27 @@ import com.aoopproject.framework.core.GameEntity;
  * It implements {@link GameEntity} and holds information about its base type (wall, floor, target)
  * and any occupant (player, box, or none). It determines its visual representation based on this state,
  * loading images from the "/sokoban/images/" resource path.
+ * <p>
+ * Tiles are immutable flyweights with one shared instance per base type and occupant combination,
+ * obtained with {@link #of(SokobanBaseType, SokobanOccupant)}. Moving an entity replaces the tile
+ * in a grid cell with {@link #withOccupant(SokobanOccupant)} instead of modifying it.
+ * </p>
  */
-public class SokobanTile implements GameEntity {
+public final class SokobanTile implements GameEntity {
+
+    private static final SokobanOccupant[] OCCUPANTS = SokobanOccupant.values();
+    private static final SokobanTile[] FLYWEIGHTS = new SokobanTile[SokobanBaseType.values().length * OCCUPANTS.length];
+
+    static {
+        for (SokobanBaseType base : SokobanBaseType.values()) {
+            for (SokobanOccupant occupant : OCCUPANTS) {
+                FLYWEIGHTS[base.ordinal() * OCCUPANTS.length + occupant.ordinal()] = new SokobanTile(base, occupant);
+            }
+        }
+    }
 
     private final SokobanBaseType baseType;
-    private SokobanOccupant occupant;
+    private final SokobanOccupant occupant;
     public static final String IMG_WALL = "/sokoban/images/wall.png";
     public static final String IMG_FLOOR = "/sokoban/images/blank.png";
     public static final String IMG_TARGET = "/sokoban/images/blankmarked.png";
@@ -19,16 +35,21 @@ public class SokobanTile implements GameEntity {
     public static final String IMG_BOX_ON_FLOOR = "/sokoban/images/crate.png";
     public static final String IMG_BOX_ON_TARGET = "/sokoban/images/cratemarked.png";
 
-    /**
-     * Constructs a SokobanTile with a specific base type and occupant.
-     * @param baseType The static base type of the tile (WALL, FLOOR, TARGET).
-     * @param occupant The initial occupant of the tile (PLAYER, BOX, NONE).
-     */
-    public SokobanTile(SokobanBaseType baseType, SokobanOccupant occupant) {
+    private SokobanTile(SokobanBaseType baseType, SokobanOccupant occupant) {
         this.baseType = baseType;
         this.occupant = occupant;
     }
 
+    /**
+     * Gets the shared tile with a specific base type and occupant.
+     * @param baseType The static base type of the tile (WALL, FLOOR, TARGET). Must not be null.
+     * @param occupant The occupant of the tile (PLAYER, BOX, NONE). Must not be null.
+     * @return The canonical tile for that combination.
+     */
+    public static SokobanTile of(SokobanBaseType baseType, SokobanOccupant occupant) {
+        return FLYWEIGHTS[baseType.ordinal() * OCCUPANTS.length + occupant.ordinal()];
+    }
+
     /**
      * Gets the base type of this tile.
      * @return The {@link SokobanBaseType}.
@@ -46,16 +67,17 @@ public class SokobanTile implements GameEntity {
     }
 
     /**
-     * Sets the occupant of this tile. Used when entities move.
-     * Prevents placing occupants on WALL tiles after construction.
+     * Gets the tile with the same base type as this one and the given occupant. Used when entities move.
+     * Prevents placing occupants on WALL tiles.
      * @param occupant The new occupant.
+     * @return The shared tile for the new combination, or this tile if the occupant cannot be placed.
      */
-    public void setOccupant(SokobanOccupant occupant) {
+    public SokobanTile withOccupant(SokobanOccupant occupant) {
         if (this.baseType == SokobanBaseType.WALL && occupant != SokobanOccupant.NONE) {
             System.err.println("Warning: Attempted to place an occupant on a WALL tile.");
-            return;
+            return this;
         }
-        this.occupant = occupant;
+        return of(this.baseType, occupant);
     }
 
     /**
@@ -101,12 +123,12 @@ public class SokobanTile implements GameEntity {
     }
 
     /**
-     * Creates a copy of this SokobanTile with the same base type and current occupant.
-     * Useful for state saving mechanisms like an undo history or for predictive checks.
-     * @return A new {@code SokobanTile} instance with the same properties.
+     * Returns this tile. Tiles are immutable, so a tile can stand in for its own copy
+     * wherever a grid copier such as {@code SokobanTile::copy} is expected.
+     * @return This tile.
      */
     public SokobanTile copy() {
-        return new SokobanTile(this.baseType, this.occupant);
+        return this;
     }
 
     /**
@@ -0,0 +1,110 @@
+package com.aoopproject.games.sokoban.model;
+
+import com.aoopproject.games.sokoban.action.Direction;
+
+import java.util.Arrays;
+
+/**
+ * Finds shortest walking paths for the player, i.e. paths that do not push any box.
+ * <p>
+ * A path is found from a breadth-first distance map rooted at the destination, which holds the walking
+ * distance to it from every reachable cell. Walking never moves a box, so a map stays valid until the next
+ * push and serves every walk to the same destination from anywhere; the planner keeps the last few maps.
+ * The owner must call {@link #invalidate()} whenever boxes move (a push, its undo, or a new position).
+ * </p>
+ * <p>
+ * A planner reuses its buffers and is therefore not thread-safe; it is meant to be owned by one model.
+ * </p>
+ */
+public final class SokobanWalkPlanner {
+
+    /** Number of distance maps kept between pushes. */
+    private static final int CACHE_SIZE = 8;
+    private static final int UNVISITED = -1;
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final Direction[] NO_STEPS = new Direction[0];
+
+    private final int[] roots = new int[CACHE_SIZE];
+    private final int[][] maps = new int[CACHE_SIZE][];
+    private int cachedMaps;
+    private int nextSlot;
+    private int[] queue = new int[0];
+
+    /**
+     * Plans the shortest walk between two cells of a position.
+     *
+     * @param position The position; it is not modified.
+     * @param from     The start cell, normally the player's cell.
+     * @param to       The destination cell.
+     * @return The steps of a shortest walk (empty if {@code from == to}), or {@code null} if the destination
+     * is not a free cell the player can reach without pushing.
+     */
+    public Direction[] planWalk(SokobanBitboard position, int from, int to) {
+        if (from == to) {
+            return NO_STEPS;
+        }
+        if (to < 0 || to >= position.getCellCount() || !position.isOnBoard(to) || position.isBlocked(to)) {
+            return null;
+        }
+        int[] distance = distanceMap(position, to);
+        if (distance[from] == UNVISITED) {
+            return null;
+        }
+        Direction[] path = new Direction[distance[from]];
+        int cell = from;
+        for (int i = 0; i < path.length; i++) {
+            for (Direction direction : DIRECTIONS) {
+                int next = cell + position.offset(direction);
+                if (distance[next] == distance[cell] - 1) {
+                    path[i] = direction;
+                    cell = next;
+                    break;
+                }
+            }
+        }
+        return path;
+    }
+
+    /** Forgets every cached distance map; to be called whenever boxes move. */
+    public void invalidate() {
+        cachedMaps = 0;
+        nextSlot = 0;
+    }
+
+    /** Gets the cached distance map rooted at a cell, or computes it into the next cache slot. */
+    private int[] distanceMap(SokobanBitboard position, int root) {
+        int cells = position.getCellCount();
+        for (int i = 0; i < cachedMaps; i++) {
+            if (roots[i] == root && maps[i].length == cells) {
+                return maps[i];
+            }
+        }
+        int slot = nextSlot;
+        nextSlot = (nextSlot + 1) % CACHE_SIZE;
+        cachedMaps = Math.max(cachedMaps, slot + 1);
+        if (maps[slot] == null || maps[slot].length != cells) {
+            maps[slot] = new int[cells];
+        }
+        if (queue.length != cells) {
+            queue = new int[cells];
+        }
+        int[] distance = maps[slot];
+        Arrays.fill(distance, UNVISITED);
+        distance[root] = 0;
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = root;
+        while (head < tail) {
+            int cell = queue[head++];
+            for (Direction direction : DIRECTIONS) {
+                int next = cell + position.offset(direction);
+                if (distance[next] == UNVISITED && !position.isBlocked(next)) {
+                    distance[next] = distance[cell] + 1;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        roots[slot] = root;
+        return distance;
+    }
+}
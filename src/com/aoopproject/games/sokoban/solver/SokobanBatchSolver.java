@@ -0,0 +1,308 @@
+package com.aoopproject.games.sokoban.solver;
+
+import com.aoopproject.games.sokoban.model.SokobanBitboard;
+import com.aoopproject.games.sokoban.model.SokobanLevelPack;
+import com.aoopproject.games.sokoban.model.SokobanModel;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Serial;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Solves and verifies every level of a {@link SokobanLevelPack} concurrently, for regression checks of whole packs.
+ * <p>
+ * Levels are solved as {@link RecursiveAction}s on a dedicated {@link ForkJoinPool}, each with its own
+ * {@link SolverLimits}. Levels without a player, without a target or with fewer boxes than targets are reported
+ * as {@link SolverResult.Outcome#INVALID_LEVEL} without a search. Every solution found is verified by replaying it on the level with
+ * {@link SokobanModel#verifySolution(SokobanBitboard, String)}, and a {@link LevelReport} is handed to a sink as
+ * soon as the level is done, so reports stream in completion order.
+ * </p>
+ * <p>
+ * {@link #main(String[])} runs the batch from the command line and writes the reports as CSV or JSON lines:
+ * </p>
+ * <pre>
+ * java com.aoopproject.games.sokoban.solver.SokobanBatchSolver pack.xsb [--threads N] [--time-limit SECONDS]
+ *      [--memory-limit MIB] [--format csv|json] [--output FILE]
+ * </pre>
+ * <p>
+ * A summary with the throughput in levels per second is printed to {@code System.err}. The exit code is
+ * {@code 1} if any level is invalid or any solution failed verification, {@code 2} for invalid arguments and {@code 0} otherwise.
+ * </p>
+ */
+public final class SokobanBatchSolver {
+
+    /**
+     * The result for one level of a batch.
+     *
+     * @param level          The level number, from 1.
+     * @param title          The level's title, or {@code null}.
+     * @param outcome        The solver outcome.
+     * @param verified       {@code true} if the solution replays to a solved position; {@code false} if it does
+     *                       not or if no solution was found.
+     * @param moves          The number of moves in the solution.
+     * @param pushes         The number of pushes in the solution.
+     * @param exploredStates The number of states the solver expanded.
+     * @param elapsedMillis  The wall time spent on the level, in milliseconds.
+     */
+    public record LevelReport(int level, String title, SolverResult.Outcome outcome, boolean verified,
+                              int moves, int pushes, int exploredStates, long elapsedMillis) {
+
+        /** The CSV header matching {@link #toCsv()}. */
+        public static final String CSV_HEADER = "level,title,outcome,verified,moves,pushes,explored_states,elapsed_ms";
+
+        /** @return This report as a CSV row. */
+        public String toCsv() {
+            String quotedTitle = title == null ? "" : "\"" + title.replace("\"", "\"\"") + "\"";
+            return level + "," + quotedTitle + "," + outcome + "," + verified + "," + moves + "," + pushes + ","
+                    + exploredStates + "," + elapsedMillis;
+        }
+
+        /** @return This report as a single-line JSON object. */
+        public String toJson() {
+            return "{\"level\":" + level + ",\"title\":" + (title == null ? "null" : jsonString(title))
+                    + ",\"outcome\":\"" + outcome + "\",\"verified\":" + verified + ",\"moves\":" + moves
+                    + ",\"pushes\":" + pushes + ",\"exploredStates\":" + exploredStates
+                    + ",\"elapsedMillis\":" + elapsedMillis + "}";
+        }
+    }
+
+    /**
+     * Totals of a batch.
+     *
+     * @param levels         The number of levels processed.
+     * @param solved         The number of levels solved.
+     * @param invalid        The number of levels that are not valid levels.
+     * @param failedVerification The number of solutions that did not replay to a solved position.
+     * @param wallMillis     The wall time of the whole batch, in milliseconds.
+     */
+    public record BatchSummary(int levels, int solved, int invalid, int failedVerification, long wallMillis) {
+
+        /** @return The throughput of the batch in levels per second. */
+        public double levelsPerSecond() {
+            return wallMillis == 0 ? levels * 1000.0 : levels * 1000.0 / wallMillis;
+        }
+    }
+
+    private final SokobanSolver solver;
+    private final int parallelism;
+
+    /**
+     * Creates a batch solver.
+     *
+     * @param limits      The limits applied to each level. Must not be null.
+     * @param parallelism The number of levels solved at once. Must be positive.
+     * @throws IllegalArgumentException if parallelism is not positive.
+     */
+    public SokobanBatchSolver(SolverLimits limits, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.solver = new SokobanSolver(Objects.requireNonNull(limits, "SolverLimits cannot be null."));
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Solves and verifies every level of a pack.
+     *
+     * @param pack       The levels. Must not be null.
+     * @param reportSink Receives each level's report as soon as it is done. Calls are serialised, so the
+     *                   sink need not be thread-safe.
+     * @return The totals of the batch.
+     */
+    public BatchSummary solveAll(SokobanLevelPack pack, Consumer<LevelReport> reportSink) {
+        Objects.requireNonNull(pack, "SokobanLevelPack cannot be null.");
+        Objects.requireNonNull(reportSink, "Report sink cannot be null.");
+        AtomicInteger solved = new AtomicInteger();
+        AtomicInteger invalid = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        Consumer<LevelReport> collector = report -> {
+            if (report.outcome() == SolverResult.Outcome.SOLVED) {
+                solved.incrementAndGet();
+                if (!report.verified()) failed.incrementAndGet();
+            } else if (report.outcome() == SolverResult.Outcome.INVALID_LEVEL) {
+                invalid.incrementAndGet();
+            }
+            synchronized (reportSink) {
+                reportSink.accept(report);
+            }
+        };
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new SolveRange(pack, 0, pack.size(), collector));
+        } finally {
+            pool.shutdown();
+        }
+        long wallMillis = (System.nanoTime() - start) / 1_000_000L;
+        return new BatchSummary(pack.size(), solved.get(), invalid.get(), failed.get(), wallMillis);
+    }
+
+    /**
+     * Solves and verifies one level. The solver checks that the level is valid before it searches.
+     *
+     * @param pack  The pack holding the level.
+     * @param index The level index, from 0.
+     * @return The level's report.
+     */
+    LevelReport solveLevel(SokobanLevelPack pack, int index) {
+        long start = System.nanoTime();
+        SokobanBitboard level = SokobanBitboard.parse(pack.getLevel(index));
+        SolverResult result = solver.solve(level);
+        boolean verified = result.isSolved() && SokobanModel.verifySolution(level, result.moves()).solved();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000L;
+        return new LevelReport(index + 1, pack.getTitle(index), result.outcome(), verified,
+                result.moves().length(), result.pushes(), result.exploredStates(), elapsedMillis);
+    }
+
+    /** Solves the levels {@code from..to-1}, splitting the range until each task holds one level. */
+    private final class SolveRange extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final transient SokobanLevelPack pack;
+        private final int from;
+        private final int to;
+        private final transient Consumer<LevelReport> collector;
+
+        SolveRange(SokobanLevelPack pack, int from, int to, Consumer<LevelReport> collector) {
+            this.pack = pack;
+            this.from = from;
+            this.to = to;
+            this.collector = collector;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                collector.accept(solveLevel(pack, from));
+            } else if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new SolveRange(pack, from, middle, collector), new SolveRange(pack, middle, to, collector));
+            }
+        }
+    }
+
+    private static String jsonString(String text) {
+        StringBuilder json = new StringBuilder(text.length() + 2).append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"': json.append("\\\""); break;
+                case '\\': json.append("\\\\"); break;
+                case '\n': json.append("\\n"); break;
+                case '\r': json.append("\\r"); break;
+                case '\t': json.append("\\t"); break;
+                default:
+                    if (c < 0x20) json.append(String.format("\\u%04x", (int) c));
+                    else json.append(c);
+            }
+        }
+        return json.append('"').toString();
+    }
+
+    /**
+     * Runs a batch from the command line; see the class description for the arguments.
+     *
+     * @param args The command-line arguments.
+     */
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            usage("No level pack given.");
+            return;
+        }
+        Path packFile = Path.of(args[0]);
+        int threads = Runtime.getRuntime().availableProcessors();
+        long timeLimitMillis = SolverLimits.DEFAULT.timeLimitMillis();
+        long memoryLimitBytes = SolverLimits.DEFAULT.maxMemoryBytes();
+        boolean json = false;
+        Path output = null;
+        try {
+            for (int i = 1; i < args.length; i++) {
+                String value = i + 1 < args.length ? args[i + 1] : null;
+                switch (args[i]) {
+                    case "--threads": threads = Integer.parseInt(require(value, args[i])); i++; break;
+                    case "--time-limit": timeLimitMillis = (long) (Double.parseDouble(require(value, args[i])) * 1000); i++; break;
+                    case "--memory-limit": memoryLimitBytes = Long.parseLong(require(value, args[i])) * 1024 * 1024; i++; break;
+                    case "--format": json = isJsonFormat(require(value, args[i])); i++; break;
+                    case "--output": output = Path.of(require(value, args[i])); i++; break;
+                    default: usage("Unknown option: " + args[i]); return;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            usage(e.getMessage());
+            return;
+        }
+
+        long heap = Runtime.getRuntime().maxMemory();
+        if (threads > 0 && memoryLimitBytes > heap / 2 / threads) {
+            memoryLimitBytes = Math.max(1, heap / 2 / threads);
+            System.err.println("SokobanBatchSolver: Memory limit lowered to " + memoryLimitBytes / (1024 * 1024)
+                    + " MiB per level so that " + threads + " searches fit in the heap.");
+        }
+
+        SokobanBatchSolver batch;
+        SokobanLevelPack pack;
+        try {
+            batch = new SokobanBatchSolver(new SolverLimits(timeLimitMillis, memoryLimitBytes), threads);
+            pack = SokobanLevelPack.open(packFile);
+        } catch (IllegalArgumentException e) {
+            usage(e.getMessage());
+            return;
+        } catch (IOException e) {
+            System.err.println("SokobanBatchSolver: Could not read level pack " + packFile + ": " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        BatchSummary summary;
+        try (PrintWriter out = output == null
+                ? new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)))
+                : new PrintWriter(Files.newBufferedWriter(output, StandardCharsets.UTF_8))) {
+            if (!json) out.println(LevelReport.CSV_HEADER);
+            final boolean asJson = json;
+            summary = batch.solveAll(pack, report -> {
+                out.println(asJson ? report.toJson() : report.toCsv());
+                out.flush();
+            });
+        } catch (IOException e) {
+            System.err.println("SokobanBatchSolver: Could not write report " + output + ": " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+        System.err.printf("SokobanBatchSolver: Solved %d of %d levels in %.1f s on %d threads (%.1f levels/sec); %d levels invalid, %d solutions failed verification.%n",
+                summary.solved(), summary.levels(), summary.wallMillis() / 1000.0, threads,
+                summary.levelsPerSecond(), summary.invalid(), summary.failedVerification());
+        System.exit(summary.invalid() > 0 || summary.failedVerification() > 0 ? 1 : 0);
+    }
+
+    private static String require(String value, String option) {
+        if (value == null) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return value;
+    }
+
+    private static boolean isJsonFormat(String format) {
+        if (!format.equalsIgnoreCase("json") && !format.equalsIgnoreCase("csv")) {
+            throw new IllegalArgumentException("Unknown format: " + format);
+        }
+        return format.equalsIgnoreCase("json");
+    }
+
+    private static void usage(String problem) {
+        System.err.println("SokobanBatchSolver: " + problem);
+        System.err.println("Usage: SokobanBatchSolver <pack.xsb> [--threads N] [--time-limit SECONDS] "
+                + "[--memory-limit MIB] [--format csv|json] [--output FILE]");
+        System.exit(2);
+    }
+}
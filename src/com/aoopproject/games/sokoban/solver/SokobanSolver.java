@@ -0,0 +1,575 @@
+package com.aoopproject.games.sokoban.solver;
+
+import com.aoopproject.games.sokoban.action.Direction;
+import com.aoopproject.games.sokoban.model.SokobanBitboard;
+import com.aoopproject.games.sokoban.model.SokobanDeadlockDetector;
+import com.aoopproject.games.sokoban.model.SokobanLevelAnalysis;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A push-optimal Sokoban solver.
+ * <p>
+ * The solver runs an A* search over box configurations in which every edge is a single push.
+ * The player position is normalised to the smallest cell index it can reach without pushing,
+ * so positions that differ only by walking collapse into one state, and a transposition table
+ * keeps every state found once. The heuristic is a lower bound on the remaining pushes computed
+ * from the per-target push distances of the level's {@link SokobanLevelAnalysis}, which ignore other boxes.
+ * </p>
+ * <p>
+ * Pushes that create a deadlock are pruned with the same {@link SokobanDeadlockDetector} that warns
+ * the player during play: pushes onto <em>dead squares</em>, from which no target can be reached by
+ * pushing, and pushes that leave boxes <em>frozen</em> (immovable on both axes) off a target. Levels with
+ * more boxes than targets may leave the spare boxes anywhere, so in such levels a push is only pruned
+ * once more boxes are stuck than there are spares.
+ * </p>
+ * <p>
+ * A solver holds no search state of its own, so one instance can serve several threads.
+ * </p>
+ */
+public final class SokobanSolver {
+
+    private final SolverLimits limits;
+
+    /**
+     * Creates a solver with the given budget.
+     *
+     * @param limits The time and memory limits of each search. Must not be null.
+     */
+    public SokobanSolver(SolverLimits limits) {
+        this.limits = Objects.requireNonNull(limits, "SolverLimits cannot be null.");
+    }
+
+    /** Creates a solver with {@link SolverLimits#DEFAULT}. */
+    public SokobanSolver() {
+        this(SolverLimits.DEFAULT);
+    }
+
+    /**
+     * Gets the budget applied to each search.
+     *
+     * @return The limits.
+     */
+    public SolverLimits getLimits() {
+        return limits;
+    }
+
+    /**
+     * Solves a position.
+     *
+     * @param position The position to solve; it is not modified.
+     * @return The result, holding a push-optimal LURD solution if one was found within the limits, or
+     * {@link SolverResult.Outcome#INVALID_LEVEL} without searching if the position is not a valid level.
+     */
+    public SolverResult solve(SokobanBitboard position) {
+        return new Search(position.copy(), limits).run();
+    }
+
+    /** The state of one search. */
+    private static final class Search {
+
+        private static final Direction[] DIRECTIONS = Direction.values();
+        private static final int UNREACHABLE = SokobanLevelAnalysis.UNREACHABLE;
+        /** Estimated bytes per stored state beyond its box bitset: node fields, table slot and heap entry. */
+        private static final long NODE_OVERHEAD_BYTES = 40;
+        private static final int INITIAL_NODES = 1024;
+        private static final int TIME_CHECK_INTERVAL = 256;
+        private static final long PRIORITY_MASK = 0xFFFFFFFF00000000L;
+        /** Assignment cost standing in for an unreachable box-target pair; large, but safe to sum. */
+        private static final int NO_ASSIGNMENT = 1 << 20;
+
+        private final SokobanBitboard level;
+        private final long startNanos = System.nanoTime();
+        private final long deadlineNanos;
+        private final int cells;
+        private final int words;
+        private final int[] offsets = new int[DIRECTIONS.length];
+
+        private final boolean[] wall;
+        private final long[] targetBits;
+        /** Push distances and dead squares of the level, shared with every other search of it. */
+        private final SokobanLevelAnalysis analysis;
+        private int spareBoxes;
+
+        /** Scratch arrays of {@link #estimate()}, 1-based: box cells, potentials and the current matching. */
+        private int[] boxCells;
+        private int[] rowPotential;
+        private int[] columnPotential;
+        private int[] matchedRow;
+        private int[] previousColumn;
+        private int[] minSlack;
+        private boolean[] usedColumn;
+
+        private final int maxNodes;
+        private long[] nodeBoxes;
+        private int[] nodePlayer;
+        private int[] nodeParent;
+        private int[] nodeCost;
+        private int[] nodeEstimate;
+        private int[] nodePushFrom;
+        private byte[] nodePushDirection;
+        private boolean[] nodeClosed;
+        private int nodeCount;
+        private boolean memoryExhausted;
+
+        private int[] table;
+        private long[] heap = new long[INITIAL_NODES];
+        private int heapSize;
+
+        private final long[] current;
+        private final int[] queue;
+        private final int[] reachMark;
+        private int reachStamp;
+        private final int[] walkMark;
+        private int walkStamp;
+        /** Freeze and square deadlock checks for the pushes of this search. */
+        private SokobanDeadlockDetector deadlocks;
+
+        Search(SokobanBitboard level, SolverLimits limits) {
+            this.level = level;
+            this.analysis = SokobanLevelAnalysis.of(level);
+            this.deadlineNanos = startNanos + limits.timeLimitMillis() * 1_000_000L;
+            this.cells = level.getCellCount();
+            this.words = (cells + 63) >>> 6;
+            for (int d = 0; d < DIRECTIONS.length; d++) {
+                offsets[d] = level.offset(DIRECTIONS[d]);
+            }
+            this.wall = new boolean[cells];
+            this.targetBits = new long[words];
+            this.current = new long[words];
+            for (int cell = 0; cell < cells; cell++) {
+                wall[cell] = level.isWall(cell);
+                if (level.isTarget(cell)) targetBits[cell >>> 6] |= 1L << cell;
+                if (level.hasBox(cell)) current[cell >>> 6] |= 1L << cell;
+            }
+            this.queue = new int[cells];
+            this.reachMark = new int[cells];
+            this.walkMark = new int[cells];
+            this.maxNodes = (int) Math.min(Integer.MAX_VALUE / 4,
+                    Math.max(1, limits.maxMemoryBytes() / (words * (long) Long.BYTES + NODE_OVERHEAD_BYTES)));
+        }
+
+        SolverResult run() {
+            int boxes = 0;
+            for (long word : current) boxes += Long.bitCount(word);
+            spareBoxes = boxes - level.getTargetCount();
+            if (level.getPlayer() == SokobanBitboard.NO_PLAYER || level.getTargetCount() == 0 || spareBoxes < 0) {
+                return result(SolverResult.Outcome.INVALID_LEVEL, -1, 0);
+            }
+            deadlocks = new SokobanDeadlockDetector(analysis, spareBoxes);
+            int targetCount = analysis.getTargetCount();
+            boxCells = new int[boxes + 1];
+            rowPotential = new int[targetCount + 1];
+            columnPotential = new int[boxes + 1];
+            matchedRow = new int[boxes + 1];
+            previousColumn = new int[boxes + 1];
+            minSlack = new int[boxes + 1];
+            usedColumn = new boolean[boxes + 1];
+            if (deadBoxCount() > spareBoxes) {
+                return result(SolverResult.Outcome.UNSOLVABLE, -1, 0);
+            }
+            int estimate = estimate();
+            if (estimate >= UNREACHABLE) {
+                return result(SolverResult.Outcome.UNSOLVABLE, -1, 0);
+            }
+
+            allocateNodes(Math.min(INITIAL_NODES, maxNodes));
+            int root = addNode(normalizedPlayer(level.getPlayer()), -1, 0, estimate, -1, -1);
+            push(root);
+            int expanded = 0;
+
+            while (heapSize > 0) {
+                long entry = pop();
+                int node = (int) entry;
+                if (nodeClosed[node] || (entry & PRIORITY_MASK) != priority(node)) {
+                    continue;
+                }
+                nodeClosed[node] = true;
+                expanded++;
+                if (expanded % TIME_CHECK_INTERVAL == 0 && System.nanoTime() > deadlineNanos) {
+                    return result(SolverResult.Outcome.TIME_LIMIT, -1, expanded);
+                }
+                System.arraycopy(nodeBoxes, node * words, current, 0, words);
+                if (isGoal()) {
+                    return result(SolverResult.Outcome.SOLVED, node, expanded);
+                }
+                expand(node);
+                if (memoryExhausted) {
+                    // A dropped state may lie on a cheaper path, so no later goal could be proven push-optimal.
+                    return result(SolverResult.Outcome.MEMORY_LIMIT, -1, expanded);
+                }
+            }
+            return result(SolverResult.Outcome.UNSOLVABLE, -1, expanded);
+        }
+
+        /** Generates every push available from a node, with {@link #current} holding its boxes. */
+        private void expand(int node) {
+            markReachable(nodePlayer[node]);
+            int deadBoxes = spareBoxes > 0 ? deadBoxCount() : 0;
+            int childCost = nodeCost[node] + 1;
+            for (int w = 0; w < words; w++) {
+                long bits = current[w];
+                while (bits != 0) {
+                    int box = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    for (int d = 0; d < DIRECTIONS.length; d++) {
+                        int step = offsets[d];
+                        int destination = box + step;
+                        if (reachMark[box - step] != reachStamp || wall[destination] || hasBox(destination)) {
+                            continue;
+                        }
+                        int childDeadBoxes = deadBoxes - (analysis.isDeadSquare(box) ? 1 : 0) + (analysis.isDeadSquare(destination) ? 1 : 0);
+                        if (childDeadBoxes > spareBoxes) {
+                            continue;
+                        }
+                        moveBox(box, destination);
+                        if (deadlocks.checkPush(level, current, destination) == SokobanDeadlockDetector.Kind.NONE) {
+                            int estimate = estimate();
+                            if (estimate < UNREACHABLE) {
+                                offer(normalizedPlayer(box), node, childCost, estimate, box, d);
+                            }
+                        }
+                        moveBox(destination, box);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Records a child state, updating it if it was already found on a longer path.
+         * A new state that does not fit in the node budget is dropped and {@link #memoryExhausted} is set.
+         */
+        private void offer(int player, int parent, int cost, int estimate, int pushFrom, int direction) {
+            int existing = find(player);
+            if (existing >= 0) {
+                if (cost < nodeCost[existing]) {
+                    nodeParent[existing] = parent;
+                    nodeCost[existing] = cost;
+                    nodePushFrom[existing] = pushFrom;
+                    nodePushDirection[existing] = (byte) direction;
+                    nodeClosed[existing] = false;
+                    push(existing);
+                }
+                return;
+            }
+            if (nodeCount == maxNodes) {
+                memoryExhausted = true;
+                return;
+            }
+            push(addNode(player, parent, cost, estimate, pushFrom, direction));
+        }
+
+        private boolean isGoal() {
+            for (int w = 0; w < words; w++) {
+                if ((targetBits[w] & ~current[w]) != 0) return false;
+            }
+            return true;
+        }
+
+        private boolean hasBox(int cell) {
+            return (current[cell >>> 6] & (1L << cell)) != 0;
+        }
+
+        private void moveBox(int from, int to) {
+            current[from >>> 6] &= ~(1L << from);
+            current[to >>> 6] |= 1L << to;
+        }
+
+        private int deadBoxCount() {
+            int count = 0;
+            for (int w = 0; w < words; w++) {
+                long bits = current[w];
+                while (bits != 0) {
+                    if (analysis.isDeadSquare((w << 6) + Long.numberOfTrailingZeros(bits))) count++;
+                    bits &= bits - 1;
+                }
+            }
+            return count;
+        }
+
+        // ---- Reachability --------------------------------------------------------------------------
+
+        /** Marks every cell the player can walk to from {@code start} with {@link #reachStamp}. */
+        private void markReachable(int start) {
+            reachStamp++;
+            flood(start, reachMark, reachStamp);
+        }
+
+        /** Gets the smallest cell index the player can walk to from {@code start}. */
+        private int normalizedPlayer(int start) {
+            walkStamp++;
+            return flood(start, walkMark, walkStamp);
+        }
+
+        private int flood(int start, int[] mark, int stamp) {
+            int head = 0;
+            int tail = 0;
+            int smallest = start;
+            mark[start] = stamp;
+            queue[tail++] = start;
+            while (head < tail) {
+                int cell = queue[head++];
+                if (cell < smallest) smallest = cell;
+                for (int step : offsets) {
+                    int next = cell + step;
+                    if (mark[next] != stamp && !wall[next] && !hasBox(next)) {
+                        mark[next] = stamp;
+                        queue[tail++] = next;
+                    }
+                }
+            }
+            return smallest;
+        }
+
+        // ---- Heuristic -----------------------------------------------------------------------------
+
+        /**
+         * Estimates the remaining pushes for the boxes in {@link #current} as the cost of a minimum-cost
+         * assignment of boxes to targets (Hungarian method), each pair costing the push distance between
+         * them. Every target needs its own box, so this is a lower bound; it is also
+         * {@link #UNREACHABLE} when no assignment exists, which catches deadlocks the dead squares miss.
+         *
+         * @return A lower bound on the pushes left, or {@link #UNREACHABLE}.
+         */
+        private int estimate() {
+            int boxCount = 0;
+            for (int w = 0; w < words; w++) {
+                long bits = current[w];
+                while (bits != 0) {
+                    boxCells[++boxCount] = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                }
+            }
+            int targetCount = analysis.getTargetCount();
+            Arrays.fill(rowPotential, 0);
+            Arrays.fill(columnPotential, 0);
+            Arrays.fill(matchedRow, 0);
+            for (int i = 1; i <= targetCount; i++) {
+                matchedRow[0] = i;
+                int column = 0;
+                Arrays.fill(minSlack, 0, boxCount + 1, Integer.MAX_VALUE);
+                Arrays.fill(usedColumn, 0, boxCount + 1, false);
+                do {
+                    usedColumn[column] = true;
+                    int row = matchedRow[column];
+                    int delta = Integer.MAX_VALUE;
+                    int nextColumn = 0;
+                    for (int j = 1; j <= boxCount; j++) {
+                        if (usedColumn[j]) continue;
+                        int cost = Math.min(analysis.getPushDistance(row - 1, boxCells[j]), NO_ASSIGNMENT);
+                        int slack = cost - rowPotential[row] - columnPotential[j];
+                        if (slack < minSlack[j]) {
+                            minSlack[j] = slack;
+                            previousColumn[j] = column;
+                        }
+                        if (minSlack[j] < delta) {
+                            delta = minSlack[j];
+                            nextColumn = j;
+                        }
+                    }
+                    for (int j = 0; j <= boxCount; j++) {
+                        if (usedColumn[j]) {
+                            rowPotential[matchedRow[j]] += delta;
+                            columnPotential[j] -= delta;
+                        } else {
+                            minSlack[j] -= delta;
+                        }
+                    }
+                    column = nextColumn;
+                } while (matchedRow[column] != 0);
+                do {
+                    int previous = previousColumn[column];
+                    matchedRow[column] = matchedRow[previous];
+                    column = previous;
+                } while (column != 0);
+            }
+            int total = -columnPotential[0];
+            return total >= NO_ASSIGNMENT ? UNREACHABLE : total;
+        }
+
+        // ---- Node store and transposition table ----------------------------------------------------
+
+        private void allocateNodes(int capacity) {
+            nodeBoxes = new long[capacity * words];
+            nodePlayer = new int[capacity];
+            nodeParent = new int[capacity];
+            nodeCost = new int[capacity];
+            nodeEstimate = new int[capacity];
+            nodePushFrom = new int[capacity];
+            nodePushDirection = new byte[capacity];
+            nodeClosed = new boolean[capacity];
+            table = new int[Integer.highestOneBit(capacity) * 4];
+        }
+
+        private int addNode(int player, int parent, int cost, int estimate, int pushFrom, int direction) {
+            if (nodeCount == nodePlayer.length) {
+                growNodes();
+            }
+            int node = nodeCount++;
+            System.arraycopy(current, 0, nodeBoxes, node * words, words);
+            nodePlayer[node] = player;
+            nodeParent[node] = parent;
+            nodeCost[node] = cost;
+            nodeEstimate[node] = estimate;
+            nodePushFrom[node] = pushFrom;
+            nodePushDirection[node] = (byte) direction;
+            int mask = table.length - 1;
+            int slot = hash(current, player) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = node + 1;
+            return node;
+        }
+
+        /** Finds the node holding {@link #current} with the given normalised player, or returns {@code -1}. */
+        private int find(int player) {
+            int mask = table.length - 1;
+            int slot = hash(current, player) & mask;
+            while (table[slot] != 0) {
+                int node = table[slot] - 1;
+                if (nodePlayer[node] == player && Arrays.equals(nodeBoxes, node * words, node * words + words, current, 0, words)) {
+                    return node;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void growNodes() {
+            int capacity = (int) Math.min((long) nodePlayer.length * 2, maxNodes);
+            nodeBoxes = Arrays.copyOf(nodeBoxes, capacity * words);
+            nodePlayer = Arrays.copyOf(nodePlayer, capacity);
+            nodeParent = Arrays.copyOf(nodeParent, capacity);
+            nodeCost = Arrays.copyOf(nodeCost, capacity);
+            nodeEstimate = Arrays.copyOf(nodeEstimate, capacity);
+            nodePushFrom = Arrays.copyOf(nodePushFrom, capacity);
+            nodePushDirection = Arrays.copyOf(nodePushDirection, capacity);
+            nodeClosed = Arrays.copyOf(nodeClosed, capacity);
+            table = new int[Integer.highestOneBit(capacity) * 4];
+            int mask = table.length - 1;
+            long[] boxes = new long[words];
+            for (int node = 0; node < nodeCount; node++) {
+                System.arraycopy(nodeBoxes, node * words, boxes, 0, words);
+                int slot = hash(boxes, nodePlayer[node]) & mask;
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = node + 1;
+            }
+        }
+
+        private int hash(long[] boxes, int player) {
+            long h = player * 0x9E3779B97F4A7C15L;
+            for (int w = 0; w < words; w++) {
+                h = (h ^ boxes[w]) * 0x9E3779B97F4A7C15L;
+            }
+            return (int) (h ^ (h >>> 32));
+        }
+
+        // ---- Open list -----------------------------------------------------------------------------
+
+        /**
+         * Gets the open-list priority of a node in the high bits of a heap entry: the estimated
+         * total cost, then the estimate alone as a tie-breaker (deeper nodes first).
+         */
+        private long priority(int node) {
+            long total = Math.min(nodeCost[node] + nodeEstimate[node], 0x7FFF);
+            long estimate = Math.min(nodeEstimate[node], 0xFFFF);
+            return (total << 48) | (estimate << 32);
+        }
+
+        /** Adds a node to the open list; the node index fills the low 32 bits of its heap entry. */
+        private void push(int node) {
+            long entry = priority(node) | node;
+            if (heapSize == heap.length) {
+                heap = Arrays.copyOf(heap, heapSize * 2);
+            }
+            int i = heapSize++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= entry) break;
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = entry;
+        }
+
+        private long pop() {
+            long top = heap[0];
+            long last = heap[--heapSize];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= heapSize) break;
+                if (child + 1 < heapSize && heap[child + 1] < heap[child]) child++;
+                if (heap[child] >= last) break;
+                heap[i] = heap[child];
+                i = child;
+            }
+            heap[i] = last;
+            return top;
+        }
+
+        // ---- Solution ------------------------------------------------------------------------------
+
+        private SolverResult result(SolverResult.Outcome outcome, int goal, int expanded) {
+            long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000L;
+            if (goal < 0) {
+                return new SolverResult(outcome, "", 0, expanded, elapsedMillis);
+            }
+            int pushes = nodeCost[goal];
+            return new SolverResult(outcome, replayPushes(goal, pushes), pushes, expanded, elapsedMillis);
+        }
+
+        /** Turns the chain of pushes ending at {@code goal} into LURD moves, adding the walks between pushes. */
+        private String replayPushes(int goal, int pushes) {
+            int[] chain = new int[pushes];
+            for (int node = goal, i = pushes - 1; i >= 0; node = nodeParent[node], i--) {
+                chain[i] = node;
+            }
+            for (int cell = 0; cell < cells; cell++) {
+                if (level.hasBox(cell)) current[cell >>> 6] |= 1L << cell;
+                else current[cell >>> 6] &= ~(1L << cell);
+            }
+            StringBuilder moves = new StringBuilder();
+            int[] cameFrom = new int[cells];
+            int player = level.getPlayer();
+            for (int node : chain) {
+                int box = nodePushFrom[node];
+                int direction = nodePushDirection[node];
+                appendWalk(moves, player, box - offsets[direction], cameFrom);
+                moves.append(DIRECTIONS[direction].toLurd(true));
+                moveBox(box, box + offsets[direction]);
+                player = box;
+            }
+            return moves.toString();
+        }
+
+        /** Appends the shortest walk from {@code from} to {@code to} around the boxes in {@link #current}. */
+        private void appendWalk(StringBuilder moves, int from, int to, int[] cameFrom) {
+            walkStamp++;
+            int head = 0;
+            int tail = 0;
+            walkMark[from] = walkStamp;
+            queue[tail++] = from;
+            while (head < tail && walkMark[to] != walkStamp) {
+                int cell = queue[head++];
+                for (int d = 0; d < DIRECTIONS.length; d++) {
+                    int next = cell + offsets[d];
+                    if (walkMark[next] != walkStamp && !wall[next] && !hasBox(next)) {
+                        walkMark[next] = walkStamp;
+                        cameFrom[next] = d;
+                        queue[tail++] = next;
+                    }
+                }
+            }
+            StringBuilder walk = new StringBuilder();
+            for (int cell = to; cell != from; cell -= offsets[cameFrom[cell]]) {
+                walk.append(DIRECTIONS[cameFrom[cell]].toLurd(false));
+            }
+            moves.append(walk.reverse());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.aoopproject.games.sokoban.solver;
+
+/**
+ * Budget for a single {@link SokobanSolver#solve} call.
+ *
+ * @param timeLimitMillis The wall-clock time the search may take, in milliseconds. Must be positive.
+ * @param maxMemoryBytes  The estimated memory the search may use for its states, in bytes. Must be positive.
+ */
+public record SolverLimits(long timeLimitMillis, long maxMemoryBytes) {
+
+    /** The limits used unless configured otherwise: 10 seconds and 256 MiB. */
+    public static final SolverLimits DEFAULT = new SolverLimits(10_000, 256L * 1024 * 1024);
+
+    /**
+     * Validates the limits.
+     *
+     * @throws IllegalArgumentException if a limit is not positive.
+     */
+    public SolverLimits {
+        if (timeLimitMillis <= 0 || maxMemoryBytes <= 0) {
+            throw new IllegalArgumentException("Solver limits must be positive: time=" + timeLimitMillis
+                    + "ms, memory=" + maxMemoryBytes + " bytes");
+        }
+    }
+}
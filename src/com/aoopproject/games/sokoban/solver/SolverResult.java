@@ -0,0 +1,33 @@
+package com.aoopproject.games.sokoban.solver;
+
+/**
+ * The outcome of a {@link SokobanSolver#solve} call.
+ *
+ * @param outcome        Whether a solution was found, and if not, why the search stopped.
+ * @param moves          The solution in LURD notation (walks in lower case, pushes in upper case),
+ *                       or an empty string if no solution was found.
+ * @param pushes         The number of pushes in the solution, or {@code 0} if none was found.
+ * @param exploredStates The number of box configurations the search expanded.
+ * @param elapsedMillis  The time the search took, in milliseconds.
+ */
+public record SolverResult(Outcome outcome, String moves, int pushes, int exploredStates, long elapsedMillis) {
+
+    /** Why a search ended. */
+    public enum Outcome {
+        /** A solution with the fewest pushes was found. */
+        SOLVED,
+        /** The whole reachable state space was searched without finding a solution. */
+        UNSOLVABLE,
+        /** The {@link SolverLimits#timeLimitMillis() time limit} ran out first. */
+        TIME_LIMIT,
+        /** The {@link SolverLimits#maxMemoryBytes() memory budget} ran out first. */
+        MEMORY_LIMIT,
+        /** The position is not a valid level: it has no player, no target, or fewer boxes than targets. */
+        INVALID_LEVEL
+    }
+
+    /** @return {@code true} if {@link #moves()} holds a solution. */
+    public boolean isSolved() {
+        return outcome == Outcome.SOLVED;
+    }
+}
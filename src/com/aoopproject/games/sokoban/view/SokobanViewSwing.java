@@ -8,6 +8,7 @@ import com.aoopproject.framework.core.GameView;
 import com.aoopproject.framework.core.Grid;
 import com.aoopproject.common.action.NewGameAction;
 import com.aoopproject.common.action.UndoAction;
+import com.aoopproject.games.sokoban.model.SokobanDeadlockDetector;
 import com.aoopproject.games.sokoban.model.SokobanModel;
 import com.aoopproject.games.sokoban.model.SokobanTile;
 
@@ -23,7 +24,8 @@ import java.util.Map;
  * A Swing-based graphical view for the Sokoban game.
  * This class implements {@link GameView} and is responsible for rendering the
  * Sokoban game board using images for different game entities (player, box, wall, etc.).
- * It also displays the current score (move count) and provides UI elements like
+ * It also displays the current score (move count), warns as soon as a push leaves the level
+ * unsolvable (a {@code DEADLOCK_DETECTED} event), and provides UI elements like
  * Undo and Restart Level buttons.
  */
 public class SokobanViewSwing implements GameView {
@@ -33,6 +35,7 @@ public class SokobanViewSwing implements GameView {
     private GamePanel gamePanel;
     private JLabel scoreLabel;
     private JLabel statusLabel;
+    private JLabel deadlockLabel;
     private JButton undoButton;
     private JButton restartButton;
 
@@ -53,6 +56,16 @@ public class SokobanViewSwing implements GameView {
         return frame;
     }
 
+    /**
+     * Provides access to the {@link GamePanel} where the board is rendered,
+     * e.g. for a mouse input strategy to attach its listener.
+     *
+     * @return The {@link GamePanel} instance, or {@code null} before {@link #initialize(AbstractGameModel)}.
+     */
+    public GamePanel getGamePanel() {
+        return gamePanel;
+    }
+
     /**
      * Initializes the Swing view components for Sokoban.
      *
@@ -74,6 +87,8 @@ public class SokobanViewSwing implements GameView {
 
         scoreLabel = new JLabel("Moves: 0", SwingConstants.CENTER);
         statusLabel = new JLabel("Status: INITIALIZING", SwingConstants.CENTER);
+        deadlockLabel = new JLabel("", SwingConstants.CENTER);
+        deadlockLabel.setForeground(Color.RED);
 
         undoButton = new JButton("Undo");
         undoButton.setFocusable(false);
@@ -100,6 +115,7 @@ public class SokobanViewSwing implements GameView {
         JPanel topInfoPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 5));
         topInfoPanel.add(scoreLabel);
         topInfoPanel.add(statusLabel);
+        topInfoPanel.add(deadlockLabel);
         frame.add(topInfoPanel, BorderLayout.NORTH);
 
         JPanel bottomButtonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 5));
@@ -163,6 +179,11 @@ public class SokobanViewSwing implements GameView {
                     System.out.println("SokobanView: Invalid move - " + event.getPayload());
                 }
                 break;
+            case "DEADLOCK_DETECTED":
+                if (event.getPayload() instanceof SokobanDeadlockDetector.Kind) {
+                    System.out.println("SokobanView: Deadlock - " + ((SokobanDeadlockDetector.Kind) event.getPayload()).getDescription());
+                }
+                break;
             case "UNDO_FAILED":
                 if (event.getPayload() instanceof String && frame.isVisible()) {
                     JOptionPane.showMessageDialog(frame, event.getPayload(), "Undo Failed", JOptionPane.WARNING_MESSAGE);
@@ -212,12 +233,14 @@ public class SokobanViewSwing implements GameView {
         if (model != null) {
             scoreLabel.setText("Moves: " + model.getScore());
             statusLabel.setText("Status: " + model.getCurrentStatus());
+            deadlockLabel.setText(model.isDeadlocked() ? "Deadlock! Undo to continue." : "");
             boolean isPlaying = model.getCurrentStatus() == GameStatus.PLAYING;
             undoButton.setEnabled(model.canUndo() && isPlaying);
             restartButton.setEnabled(true);
         } else {
             scoreLabel.setText("Moves: N/A");
             statusLabel.setText("Status: N/A");
+            if(deadlockLabel != null) deadlockLabel.setText("");
             if(undoButton != null) undoButton.setEnabled(false);
             if(restartButton != null) restartButton.setEnabled(false);
         }
@@ -322,6 +345,30 @@ public class SokobanViewSwing implements GameView {
             revalidate(); repaint();
         }
 
+        /**
+         * Converts mouse click coordinates (relative to this panel) to
+         * game grid cell coordinates (row and column).
+         * This method is intended to be used by a {@code MouseInputStrategy} to determine
+         * which cell the player should walk to.
+         *
+         * @param mouseX The x-coordinate of the mouse click within this panel.
+         * @param mouseY The y-coordinate of the mouse click within this panel.
+         * @return A {@link Point} object where {@code Point.x} is the row index and
+         * {@code Point.y} is the column index of the clicked cell. Returns {@code null}
+         * if the click was outside the board or if the model/board is not available.
+         */
+        public Point getTileCoordinatesForMouse(int mouseX, int mouseY) {
+            if (model == null || model.getGameBoard() == null || this.numRows <= 0 || this.numCols <= 0) {
+                return null;
+            }
+            if (mouseX < PADDING || mouseY < PADDING ||
+                    mouseX >= PADDING + this.numCols * TILE_SIZE ||
+                    mouseY >= PADDING + this.numRows * TILE_SIZE) {
+                return null;
+            }
+            return new Point((mouseY - PADDING) / TILE_SIZE, (mouseX - PADDING) / TILE_SIZE);
+        }
+
         /** Paints the Sokoban board. */
         @Override
         protected void paintComponent(Graphics g) {
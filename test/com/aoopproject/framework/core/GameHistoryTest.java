@@ -0,0 +1,126 @@
+package com.aoopproject.framework.core;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link GameHistory} class.
+ * A counter stands in for a game: each move adds an amount to it and records that amount
+ * as its only delta word, and a snapshot is simply the counter value.
+ */
+class GameHistoryTest {
+
+    /** A minimal participant whose whole state is one integer. */
+    private static final class Counter implements HistoryParticipant<Integer> {
+        int value;
+        int restores;
+
+        @Override
+        public Integer captureSnapshot() {
+            return value;
+        }
+
+        @Override
+        public void restoreSnapshot(Integer snapshot) {
+            value = snapshot;
+            restores++;
+        }
+
+        @Override
+        public long estimateSnapshotBytes(Integer snapshot) {
+            return 16;
+        }
+
+        @Override
+        public void revertDelta(int[] words, int offset, int length) {
+            value -= words[offset];
+        }
+    }
+
+    private static void add(Counter counter, GameHistory<Integer> history, int amount) {
+        counter.value += amount;
+        history.record(amount);
+    }
+
+    /**
+     * Verifies that undo reverts moves one by one, and that undoing to an earlier move
+     * restores the nearest checkpoint instead of reverting every move in between.
+     */
+    @Test
+    void testUndoAndUndoToCheckpoint() {
+        Counter counter = new Counter();
+        GameHistory<Integer> history = new GameHistory<>(counter, new HistoryPolicy(100, 1 << 20, 4));
+        for (int i = 1; i <= 10; i++) {
+            add(counter, history, i);
+        }
+        assertEquals(55, counter.value);
+        assertEquals(2, history.getCheckpointCount(), "Checkpoints should be taken after moves 4 and 8.");
+
+        assertTrue(history.undo());
+        assertEquals(45, counter.value, "Undo should revert the last move.");
+
+        assertTrue(history.undoTo(5));
+        assertEquals(15, counter.value, "Undoing to move 5 should leave the first five moves.");
+        assertEquals(1, counter.restores, "The checkpoint after move 8 should have been restored.");
+        assertEquals(5, history.getMoveCount());
+        assertEquals(1, history.getCheckpointCount(), "Checkpoints after the target should be dropped.");
+
+        assertTrue(history.undoTo(0));
+        assertEquals(0, counter.value);
+        assertFalse(history.canUndo());
+        assertFalse(history.undo(), "Undo on an empty history should report failure.");
+    }
+
+    /**
+     * Verifies that the entry budget evicts the oldest moves, and that the byte budget drops
+     * checkpoints before it evicts any move.
+     */
+    @Test
+    void testBudgetsMergeCheckpointsBeforeEvicting() {
+        Counter counter = new Counter();
+        GameHistory<Integer> history = new GameHistory<>(counter, new HistoryPolicy(5, 1 << 20, 2));
+        for (int i = 1; i <= 8; i++) {
+            add(counter, history, 1);
+        }
+        assertEquals(5, history.size(), "Only the newest five moves should be kept.");
+        assertEquals(3, history.getFirstUndoableMove());
+        assertFalse(history.undoTo(2), "Evicted moves can no longer be undone.");
+
+        long footprint = history.getFootprintBytes();
+        history.setPolicy(new HistoryPolicy(5, footprint - 1, 2));
+        assertEquals(5, history.size(), "Dropping a checkpoint should free enough bytes without evicting moves.");
+        assertTrue(history.getFootprintBytes() < footprint);
+
+        history.setPolicy(new HistoryPolicy(5, 5 * (Integer.BYTES + 8), 0));
+        assertEquals(0, history.getCheckpointCount(), "All periodic checkpoints should be merged away.");
+        assertEquals(5, history.size());
+        assertTrue(history.undoTo(3));
+        assertEquals(3, counter.value);
+    }
+
+    /**
+     * Verifies that a move recorded with a snapshot is undone by restoring that snapshot,
+     * and that a disabled policy records nothing.
+     */
+    @Test
+    void testSnapshotMovesAndDisabledPolicy() {
+        Counter counter = new Counter();
+        GameHistory<Integer> history = new GameHistory<>(counter, new HistoryPolicy(10, 1 << 20, 0));
+        add(counter, history, 3);
+        history.recordWithSnapshot(counter.value);
+        counter.value = 100;
+        add(counter, history, 2);
+
+        assertTrue(history.undo());
+        assertEquals(100, counter.value);
+        assertTrue(history.undo());
+        assertEquals(3, counter.value, "The snapshot move should restore the state from before it.");
+        assertTrue(history.undo());
+        assertEquals(0, counter.value);
+
+        history.setPolicy(HistoryPolicy.DISABLED);
+        add(counter, history, 1);
+        assertFalse(history.canUndo(), "A disabled history should record nothing.");
+        assertEquals(0, history.getFootprintBytes());
+    }
+}
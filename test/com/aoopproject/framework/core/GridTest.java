@@ -0,0 +1,91 @@
+package com.aoopproject.framework.core;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link Grid} class.
+ * These tests verify that the flat row-major storage keeps every cell addressable
+ * by {@code (row, column)}, that the bounds-checked accessors reject or ignore
+ * invalid coordinates, and that copies do not share cell storage with the original.
+ */
+class GridTest {
+
+    /**
+     * A minimal entity that remembers the coordinates it was placed at.
+     */
+    private record Cell(int row, int column) implements GameEntity {
+        @Override
+        public Object getVisualRepresentation() {
+            return row + "," + column;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return false;
+        }
+    }
+
+    /**
+     * Fills a non-square grid cell by cell and verifies that every cell reads back
+     * the entity written to it, so rows and columns are never transposed or aliased.
+     */
+    @Test
+    void testRowMajorIndexingOnNonSquareGrid() {
+        Grid<Cell> grid = new Grid<>(3, 5);
+        for (int r = 0; r < grid.getRows(); r++) {
+            for (int c = 0; c < grid.getColumns(); c++) {
+                grid.setEntity(r, c, new Cell(r, c));
+            }
+        }
+
+        for (int r = 0; r < grid.getRows(); r++) {
+            for (int c = 0; c < grid.getColumns(); c++) {
+                assertEquals(new Cell(r, c), grid.getEntity(r, c), "Cell (" + r + "," + c + ") should read back unchanged.");
+                assertSame(grid.getEntity(r, c), grid.getUnchecked(r, c), "Checked and unchecked reads should agree.");
+            }
+        }
+        grid.setUnchecked(2, 0, null);
+        assertNull(grid.getEntity(2, 0), "Unchecked writes should address the same cell as checked reads.");
+        assertEquals(new Cell(1, 4), grid.getEntity(1, 4), "The last cell of a row should not alias the next row.");
+    }
+
+    /**
+     * Verifies the bounds of the checked accessors: reads outside the grid return null,
+     * writes outside the grid throw, and coordinates that would wrap into a neighbouring
+     * row in the flat array are still rejected.
+     */
+    @Test
+    void testBoundsChecks() {
+        Grid<Cell> grid = new Grid<>(2, 3);
+        grid.fill(() -> new Cell(0, 0));
+
+        assertTrue(grid.isValidCoordinate(1, 2), "The bottom-right cell should be valid.");
+        assertFalse(grid.isValidCoordinate(0, 3), "A column past the end should be invalid even though row*cols+col is in range.");
+        assertFalse(grid.isValidCoordinate(-1, 0), "Negative rows should be invalid.");
+        assertFalse(grid.isValidCoordinate(2, 0), "A row past the end should be invalid.");
+        assertNull(grid.getEntity(0, 3), "Reads past the end of a row should return null.");
+        assertNull(grid.getEntity(0, -1), "Reads before the start of a row should return null.");
+        assertThrows(IndexOutOfBoundsException.class, () -> grid.setEntity(0, 3, new Cell(0, 3)));
+        assertThrows(IndexOutOfBoundsException.class, () -> grid.setEntity(2, 0, new Cell(2, 0)));
+        assertThrows(IllegalArgumentException.class, () -> new Grid<Cell>(0, 3));
+    }
+
+    /**
+     * Verifies that both copy flavours allocate their own cell storage, and that
+     * {@link Grid#deepCopy(java.util.function.Function)} applies the copier to every non-null cell.
+     */
+    @Test
+    void testCopiesAreIndependent() {
+        Grid<Cell> grid = new Grid<>(2, 2);
+        grid.setEntity(0, 1, new Cell(0, 1));
+
+        Grid<Cell> shallow = grid.copy();
+        Grid<Cell> deep = grid.deepCopy(cell -> new Cell(cell.row() + 10, cell.column()));
+        grid.setEntity(0, 1, null);
+
+        assertEquals(new Cell(0, 1), shallow.getEntity(0, 1), "A copy should keep its own cells.");
+        assertEquals(new Cell(10, 1), deep.getEntity(0, 1), "A deep copy should hold the copier's results.");
+        assertNull(deep.getEntity(1, 1), "Empty cells should stay empty in a deep copy.");
+    }
+}
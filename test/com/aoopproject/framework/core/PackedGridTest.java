@@ -0,0 +1,76 @@
+package com.aoopproject.framework.core;
+
+import com.aoopproject.games.samegame.SameGameTile;
+import com.aoopproject.games.samegame.SameGameTileCodec;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.Color;
+
+/**
+ * Unit tests for the {@link PackedGrid} class.
+ * These tests verify that packing an object-backed {@link Grid} through an {@link EntityCodec}
+ * preserves every cell, that decoded entities are the codec's shared flyweights,
+ * and that copies of a packed grid are independent of the original.
+ */
+class PackedGridTest {
+
+    /**
+     * Packs a small SameGame board and verifies that colors and empty cells survive,
+     * and that reading the same code twice yields the same flyweight instance.
+     */
+    @Test
+    void testPackPreservesCellsAndDecodesFlyweights() {
+        Grid<SameGameTile> board = new Grid<>(2, 2);
+        SameGameTile empty = SameGameTile.EMPTY;
+        board.setEntity(0, 0, SameGameTile.of(Color.RED));
+        board.setEntity(0, 1, SameGameTile.of(Color.BLUE));
+        board.setEntity(1, 0, empty);
+        board.setEntity(1, 1, SameGameTile.of(Color.RED));
+
+        PackedGrid<SameGameTile> packed = PackedGrid.pack(board, SameGameTileCodec.INSTANCE);
+
+        assertEquals(Color.RED, packed.getEntity(0, 0).getColor(), "Red tile should survive packing.");
+        assertEquals(Color.BLUE, packed.getEntity(0, 1).getColor(), "Blue tile should survive packing.");
+        assertTrue(packed.getEntity(1, 0).isEmpty(), "Empty tile should survive packing.");
+        assertSame(packed.getEntity(0, 0), packed.getEntity(1, 1), "Equal codes should decode to the same flyweight.");
+        assertEquals(SameGameTileCodec.EMPTY_CODE, packed.getCode(1, 0), "Empty cells should use the empty code.");
+        assertNull(packed.getEntity(2, 0), "Out-of-bounds reads should return null like Grid.");
+    }
+
+    /**
+     * Verifies that a copy of a packed grid does not share storage with the original,
+     * and that unpacking yields the same immutable flyweight tiles.
+     */
+    @Test
+    void testCopyAndUnpackAreIndependent() {
+        PackedGrid<SameGameTile> packed = new PackedGrid<>(1, 2, SameGameTileCodec.INSTANCE);
+        packed.setEntity(0, 0, SameGameTile.of(Color.GREEN));
+
+        PackedGrid<SameGameTile> copy = (PackedGrid<SameGameTile>) packed.deepCopy(SameGameTile::copy);
+        packed.setCode(0, 0, SameGameTileCodec.EMPTY_CODE);
+        assertEquals(Color.GREEN, copy.getEntity(0, 0).getColor(), "Copy should keep its own cell codes.");
+
+        Grid<SameGameTile> unpacked = copy.unpack(SameGameTile::copy);
+        assertSame(copy.getEntity(0, 0), unpacked.getEntity(0, 0), "Immutable tiles should be shared, not copied.");
+        assertTrue(unpacked.getEntity(0, 1).isEmpty(), "Untouched cells should unpack as empty tiles.");
+    }
+
+    /**
+     * Verifies that copying an object-backed grid shares its immutable tiles
+     * while keeping the cells themselves independent.
+     */
+    @Test
+    void testGridCopySharesTilesButNotCells() {
+        Grid<SameGameTile> board = new Grid<>(1, 2);
+        board.setEntity(0, 0, SameGameTile.of(Color.RED));
+        board.setEntity(0, 1, SameGameTile.EMPTY);
+
+        Grid<SameGameTile> copy = board.copy();
+        assertSame(board.getEntity(0, 0), copy.getEntity(0, 0), "Copies should share tile references.");
+        board.setEntity(0, 0, SameGameTile.of(Color.BLUE));
+        assertEquals(Color.RED, copy.getEntity(0, 0).getColor(), "Changing the original should not affect the copy.");
+        assertSame(SameGameTile.of(Color.BLUE), board.getEntity(0, 0), "Tiles of one color should be canonical.");
+    }
+}
@@ -0,0 +1,138 @@
+package com.aoopproject.games.samegame;
+
+import com.aoopproject.common.model.DifficultyLevel;
+import com.aoopproject.framework.core.GameStatus;
+import com.aoopproject.games.samegame.action.SameGameSelectAction;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Unit tests for the {@link SameGameBoardGenerator} and {@link SameGameBoardPool} classes.
+ * These tests verify that generated boards are full and cleared by their solution when played in the model,
+ * that generation is reproducible, that the pool keeps boards ready, and that disposing a model stops its pool.
+ */
+class SameGameBoardGeneratorTest {
+
+    private static final DifficultyLevel LEVEL = DifficultyLevel.HARD;
+
+    private static SameGameBoardGenerator hardGenerator() {
+        int[] colorCodes = new int[LEVEL.getNumColors()];
+        for (int i = 0; i < colorCodes.length; i++) {
+            colorCodes[i] = SameGameTileCodec.INSTANCE.codeOf(SameGameModel.PredefinedColors.PALETTE.get(i));
+        }
+        return new SameGameBoardGenerator(LEVEL.getRows(), LEVEL.getCols(), colorCodes);
+    }
+
+    /**
+     * Generates boards of several seeds and plays each one's solution in a {@link SameGameModel}, verifying
+     * that the board starts full and every move removes a group until the game is won on an empty board.
+     */
+    @Test
+    void testGeneratedBoardsAreClearedByTheirSolution() {
+        SameGameBoardGenerator generator = hardGenerator();
+        for (long seed = 0; seed < 10; seed++) {
+            SameGameBoardGenerator.ClearableBoard generated = generator.generate(new SplittableRandom(seed), SameGameModel.CLEARABLE_BOARD_MAX_BUILDS);
+            assertNotNull(generated, "Seed " + seed + " should yield a board.");
+            assertEquals(LEVEL.getRows() * LEVEL.getCols(), generated.board().getTileCount());
+
+            SameGameModel model = new SameGameModel(LEVEL);
+            model.setTestGameBoard(generated.board(), LEVEL, GameStatus.PLAYING);
+            for (SameGameSelectAction move : generated.solution()) {
+                assertTrue(model.isValidAction(move), "Seed " + seed + ": " + move + " should remove a group.");
+                model.processInputAction(move);
+            }
+            assertEquals(GameStatus.GAME_OVER_WIN, model.getCurrentStatus(), "Seed " + seed + " should be cleared.");
+        }
+    }
+
+    /**
+     * Verifies that the same seed yields the same board, both from the generator and from
+     * {@link SameGameModel#initializeGame(long)} once solvable-only boards are requested.
+     */
+    @Test
+    void testGenerationIsReproducible() {
+        SameGameBoardGenerator generator = hardGenerator();
+        long first = generator.generate(new SplittableRandom(3), SameGameModel.CLEARABLE_BOARD_MAX_BUILDS).board().stateHash();
+        assertEquals(first, generator.generate(new SplittableRandom(3), SameGameModel.CLEARABLE_BOARD_MAX_BUILDS).board().stateHash());
+
+        SameGameModel model = new SameGameModel(LEVEL);
+        assertFalse(model.isSolvableOnly(), "No predefined level asks for clearable boards.");
+        model.setSolvableOnly(true);
+        model.initializeGame(3);
+        assertEquals(first, model.stateHash(), "A solvable-only model should deal the generated board.");
+    }
+
+    /**
+     * Deals seeded solvable-only MEDIUM boards, the level whose builds get stuck most often, in two models
+     * and verifies that each seed gives the same full board in both, with no fallback to a random board.
+     */
+    @Test
+    void testSeededClearableBoardsDoNotDependOnTiming() {
+        List<String> events = new ArrayList<>();
+        SameGameModel first = new SameGameModel(DifficultyLevel.MEDIUM);
+        SameGameModel second = new SameGameModel(DifficultyLevel.MEDIUM);
+        first.setSolvableOnly(true);
+        second.setSolvableOnly(true);
+        first.addObserver(event -> events.add(event.getType()));
+        for (long seed = 0; seed < 20; seed++) {
+            first.initializeGame(seed);
+            second.initializeGame(seed);
+            assertEquals(first.stateHash(), second.stateHash(), "Seed " + seed + " should deal the same board.");
+        }
+        assertFalse(events.contains("CLEARABLE_BOARD_UNAVAILABLE"), "Every seed should yield a clearable board.");
+    }
+
+    /** Verifies that the pool starts empty, fills up in the background, and hands out full boards. */
+    @Test
+    void testPoolKeepsBoardsReady() throws InterruptedException {
+        SameGameBoardPool pool = new SameGameBoardPool(hardGenerator(), 2, 1);
+        assertNull(pool.poll(), "A new pool has no board ready.");
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (pool.readyCount() < 2 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(2, pool.readyCount());
+        SameGameBoard board = pool.poll();
+        assertNotNull(board);
+        assertEquals(LEVEL.getRows() * LEVEL.getCols(), board.getTileCount());
+        pool.shutdown();
+    }
+
+    /**
+     * Starts a solvable-only game, which starts the model's pool thread, and verifies that disposing
+     * the model stops that thread.
+     */
+    @Test
+    void testDisposeStopsThePoolThread() throws InterruptedException {
+        Set<Thread> before = poolThreads();
+        SameGameModel model = new SameGameModel(LEVEL);
+        model.setSolvableOnly(true);
+        model.initializeGame();
+        Set<Thread> started = poolThreads();
+        started.removeAll(before);
+        assertFalse(started.isEmpty(), "A new solvable-only game should start the pool thread.");
+
+        model.dispose();
+        for (Thread thread : started) {
+            thread.join(10_000);
+            assertFalse(thread.isAlive(), "Disposing the model should stop its pool thread.");
+        }
+    }
+
+    private static Set<Thread> poolThreads() {
+        Set<Thread> threads = new HashSet<>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals("samegame-boards")) {
+                threads.add(thread);
+            }
+        }
+        return threads;
+    }
+}
@@ -0,0 +1,175 @@
+package com.aoopproject.games.samegame;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+/**
+ * Unit tests for the {@link SameGameBoard} class.
+ * These tests verify that the incrementally maintained tile and adjacent-pair counts
+ * used for end-of-game detection agree with a full scan of the board after removals,
+ * gravity and column compaction, and that the Zobrist state hash stays consistent.
+ */
+class SameGameBoardTest {
+
+    /**
+     * Clears cells in the middle and at the bottom of columns on a fixed board and verifies the column
+     * heights, that gravity closes every gap while keeping tile order, and that compaction shifts
+     * non-empty columns left, reports the closed columns and leaves empty columns at the right end.
+     */
+    @Test
+    void testGravityAndCompactionKeepColumnsGapFree() {
+        // Codes from top to bottom per column:  col0 = 1,2,3   col1 = 1,1,2   col2 = 3,2,1   col3 = 2,3,3
+        int[][] codes = {
+                {1, 1, 3, 2},
+                {2, 1, 2, 3},
+                {3, 2, 1, 3}
+        };
+        SameGameBoard board = new SameGameBoard(3, 4);
+        for (int r = 0; r < 3; r++) {
+            for (int c = 0; c < 4; c++) {
+                board.setCode(r, c, codes[r][c]);
+            }
+        }
+        for (int c = 0; c < 4; c++) {
+            assertEquals(3, board.getColumnHeight(c), "A full column should have full height.");
+        }
+
+        board.clearCell(1, 0);
+        board.clearCell(0, 1);
+        board.clearCell(1, 1);
+        board.clearCell(2, 1);
+        board.clearCell(2, 2);
+        assertFalse(board.isSettled(), "Cleared cells should leave the board unsettled.");
+        board.applyGravity();
+
+        assertEquals(2, board.getColumnHeight(0), "Column 0 should drop its middle gap.");
+        assertEquals(0, board.getColumnHeight(1), "Column 1 should be empty.");
+        assertEquals(2, board.getColumnHeight(2), "Column 2 should drop its bottom gap.");
+        assertEquals(3, board.getColumnHeight(3), "Untouched columns should keep their height.");
+        assertEquals(SameGameTileCodec.EMPTY_CODE, board.getCode(0, 0), "The top slot of column 0 should be empty.");
+        assertEquals(1, board.getCode(1, 0), "The upper tile should have fallen onto the lower one.");
+        assertEquals(3, board.getCode(2, 0), "The bottom tile should stay in place.");
+        assertEquals(3, board.getCode(1, 2), "Tile order should be kept when falling.");
+        assertEquals(2, board.getCode(2, 2), "Tile order should be kept when falling.");
+
+        int[] closed = board.compactColumns();
+        assertArrayEquals(new int[]{1}, closed, "Only the empty column left of a non-empty one should be closed.");
+        assertTrue(board.isSettled(), "Gravity and compaction should settle the board.");
+        assertEquals(2, board.getColumnHeight(1), "Column 2 should have moved into column 1.");
+        assertEquals(3, board.getColumnHeight(2), "Column 3 should have moved into column 2.");
+        assertEquals(0, board.getColumnHeight(3), "The emptied column should end up at the right.");
+        assertEquals(2, board.getCode(2, 1), "Moved columns should keep their tiles.");
+        assertEquals(2, board.getCode(0, 2), "Moved columns should keep their tiles.");
+        for (int r = 0; r < 3; r++) {
+            assertEquals(SameGameTileCodec.EMPTY_CODE, board.getCode(r, 3), "The last column should be empty.");
+        }
+        assertEquals(7, board.getTileCount(), "Five of the twelve tiles were removed.");
+        assertEquals(0, board.compactColumns().length, "Compacting a compact board should close nothing.");
+    }
+
+    /**
+     * Plays random removals on seeded random boards and, after every step, compares
+     * {@link SameGameBoard#getTileCount()} and {@link SameGameBoard#hasAdjacentPair()}
+     * with values computed by scanning every cell.
+     */
+    @Test
+    void testIncrementalCountsMatchFullScan() {
+        Random random = new Random(42);
+        for (int game = 0; game < 50; game++) {
+            SameGameBoard board = new SameGameBoard(6, 7);
+            for (int r = 0; r < board.getRows(); r++) {
+                for (int c = 0; c < board.getColumns(); c++) {
+                    board.setCode(r, c, 1 + random.nextInt(3));
+                }
+            }
+            assertCountsMatchScan(board);
+
+            while (board.getTileCount() > 0) {
+                int r = random.nextInt(board.getRows());
+                int c = random.nextInt(board.getColumns());
+                if (board.getCode(r, c) == SameGameTileCodec.EMPTY_CODE) {
+                    continue;
+                }
+                board.clearCell(r, c);
+                assertCountsMatchScan(board);
+                board.applyGravity();
+                assertCountsMatchScan(board);
+                board.compactColumns();
+                assertCountsMatchScan(board);
+            }
+        }
+    }
+
+    /**
+     * Plays random removals and checks that the incrementally updated {@link SameGameBoard#stateHash()}
+     * equals the hash of a board built from scratch with the same tiles, and that reversing a move with
+     * {@link SameGameBoard#reopenColumns(int[], int, int)} and {@link SameGameBoard#restoreTiles(int[], int, int, int)}
+     * brings the previous hash back.
+     */
+    @Test
+    void testStateHashMatchesRebuiltBoard() {
+        Random random = new Random(7);
+        for (int game = 0; game < 50; game++) {
+            SameGameBoard board = new SameGameBoard(5, 6);
+            for (int r = 0; r < board.getRows(); r++) {
+                for (int c = 0; c < board.getColumns(); c++) {
+                    board.setCode(r, c, 1 + random.nextInt(3));
+                }
+            }
+            assertNotEquals(0L, board.stateHash());
+
+            while (board.getTileCount() > 0) {
+                int r = random.nextInt(board.getRows());
+                int c = random.nextInt(board.getColumns());
+                int code = board.getCode(r, c);
+                if (code == SameGameTileCodec.EMPTY_CODE) {
+                    continue;
+                }
+                long hashBefore = board.stateHash();
+                int[] removed = {board.columnSlotIndex(r, c)};
+                board.clearCell(r, c);
+                board.applyGravity();
+                int[] closed = board.compactColumns();
+                assertEquals(rebuild(board).stateHash(), board.stateHash(), "The hash should match a rebuilt board.");
+
+                SameGameBoard undone = board.copy();
+                undone.reopenColumns(closed, 0, closed.length);
+                undone.restoreTiles(removed, 0, 1, code);
+                assertEquals(hashBefore, undone.stateHash(), "Undoing the removal should restore the hash.");
+            }
+            assertEquals(0L, board.stateHash(), "An empty board has no keys.");
+        }
+    }
+
+    private static SameGameBoard rebuild(SameGameBoard board) {
+        SameGameBoard rebuilt = new SameGameBoard(board.getRows(), board.getColumns());
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getColumns(); c++) {
+                rebuilt.setCode(r, c, board.getCode(r, c));
+            }
+        }
+        return rebuilt;
+    }
+
+    private static void assertCountsMatchScan(SameGameBoard board) {
+        int tiles = 0;
+        boolean pair = false;
+        for (int r = 0; r < board.getRows(); r++) {
+            for (int c = 0; c < board.getColumns(); c++) {
+                int code = board.getCode(r, c);
+                if (code == SameGameTileCodec.EMPTY_CODE) {
+                    continue;
+                }
+                tiles++;
+                if ((r + 1 < board.getRows() && board.getCode(r + 1, c) == code)
+                        || (c + 1 < board.getColumns() && board.getCode(r, c + 1) == code)) {
+                    pair = true;
+                }
+            }
+        }
+        assertEquals(tiles, board.getTileCount(), "Tile count should match a full scan.");
+        assertEquals(pair, board.hasAdjacentPair(), "Pair detection should match a full scan.");
+    }
+}
@@ -0,0 +1,79 @@
+package com.aoopproject.games.samegame;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Unit tests for the {@link SameGameFloodFill} class and the {@link SameGameComponents}
+ * labeling built on top of it.
+ * These tests verify that a fill finds exactly the cells of a group, that cells already
+ * filled in a sweep are skipped, and that the labeling agrees with independent fills.
+ */
+class SameGameFloodFillTest {
+
+    /**
+     * Fills a U-shaped group whose arms are only joined through the bottom row and verifies
+     * that every cell of it is found once, and that a second fill of the same sweep skips it.
+     */
+    @Test
+    void testFillFindsWholeGroupOncePerSweep() {
+        // 1 2 1
+        // 1 2 1
+        // 1 1 1
+        SameGameBoard board = new SameGameBoard(3, 3);
+        for (int r = 0; r < 3; r++) {
+            for (int c = 0; c < 3; c++) {
+                board.setCode(r, c, c == 1 && r < 2 ? 2 : 1);
+            }
+        }
+
+        SameGameFloodFill floodFill = new SameGameFloodFill();
+        floodFill.beginSweep(board);
+        assertEquals(7, floodFill.fillFrom(board, 0, 0), "The U shape should be one group of seven tiles.");
+        int[] cells = new int[floodFill.groupSize()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = floodFill.groupCell(i);
+        }
+        Arrays.sort(cells);
+        assertArrayEquals(new int[]{0, 2, 3, 5, 6, 7, 8}, cells, "The fill should list exactly the group's cells.");
+        assertEquals(0, floodFill.fillFrom(board, 0, 2), "A cell filled earlier in the sweep should be skipped.");
+        assertEquals(2, floodFill.fillFrom(board, 1, 1), "The other group should still be found.");
+
+        floodFill.beginSweep(board);
+        assertEquals(7, floodFill.fillFrom(board, 0, 2), "A new sweep should forget the visited cells.");
+    }
+
+    /**
+     * Labels seeded random boards with gaps and checks every cell's group size against
+     * a fresh single fill from that cell.
+     */
+    @Test
+    void testComponentsMatchSingleFills() {
+        Random random = new Random(11);
+        SameGameComponents components = new SameGameComponents(SameGameModel.MIN_TILES_TO_REMOVE);
+        SameGameFloodFill floodFill = new SameGameFloodFill();
+        for (int game = 0; game < 30; game++) {
+            SameGameBoard board = new SameGameBoard(6, 8);
+            for (int r = 0; r < board.getRows(); r++) {
+                for (int c = 0; c < board.getColumns(); c++) {
+                    board.setCode(r, c, random.nextInt(4));
+                }
+            }
+            components.ensureCurrent(board);
+            for (int r = 0; r < board.getRows(); r++) {
+                for (int c = 0; c < board.getColumns(); c++) {
+                    floodFill.beginSweep(board);
+                    int expected = floodFill.fillFrom(board, r, c);
+                    int group = components.groupAt(r, c);
+                    assertEquals(expected, components.groupSize(group), "Group sizes should agree at (" + r + "," + c + ").");
+                    if (expected > 0) {
+                        assertEquals(board.getCode(r, c), components.groupColor(group), "Groups should keep their color.");
+                    }
+                }
+            }
+        }
+    }
+}
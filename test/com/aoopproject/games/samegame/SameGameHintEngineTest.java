@@ -0,0 +1,82 @@
+package com.aoopproject.games.samegame;
+
+import com.aoopproject.games.samegame.action.SameGameSelectAction;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for the {@link SameGameHintEngine} class.
+ * These tests verify that a background search reports improving hints and caches its final hint,
+ * and that a cancelled search leaves nothing behind.
+ */
+class SameGameHintEngineTest {
+
+    /**
+     * Searches a random board and verifies that at least one hint is reported for the board's hash, that
+     * the last one is cached as final once the search is done, and that the search did not modify the board.
+     */
+    @Test
+    void testSearchReportsHintsAndCachesTheLast() throws Exception {
+        SameGameHintEngine engine = new SameGameHintEngine(500);
+        SameGameBoard board = randomBoard(new Random(3), 8, 12);
+        long stateHash = board.stateHash();
+        List<SameGameSelectAction> hints = Collections.synchronizedList(new ArrayList<>());
+
+        Future<?> search = engine.search(board, (hash, move, group) -> {
+            assertEquals(stateHash, hash);
+            assertTrue(group.contains(new SameGameModel.SameGameTilePosition(move.row(), move.column())),
+                    "The hinted group should contain the hinted tile.");
+            assertThrows(UnsupportedOperationException.class, () -> group.clear(), "The group should be immutable.");
+            hints.add(move);
+        });
+        search.get(10, TimeUnit.SECONDS);
+
+        assertFalse(hints.isEmpty(), "The search should report a hint.");
+        assertTrue(engine.hasFinalHint(stateHash));
+        assertFalse(engine.isSearching(stateHash));
+        assertEquals(hints.get(hints.size() - 1), engine.getBestKnownHint(stateHash));
+        assertEquals(stateHash, board.stateHash(), "The search must not modify the board.");
+        engine.shutdown();
+    }
+
+    /**
+     * Cancels a long search and verifies that it is no longer reported as running and never caches a hint,
+     * even after the worker has moved on to the next search.
+     */
+    @Test
+    void testCancelledSearchCachesNothing() throws Exception {
+        SameGameHintEngine engine = new SameGameHintEngine(60_000);
+        Random random = new Random(5);
+        SameGameBoard large = randomBoard(random, 12, 20);
+        long largeHash = large.stateHash();
+
+        Future<?> search = engine.search(large, (hash, move, group) -> { });
+        engine.cancel();
+        assertTrue(search.isCancelled());
+        assertFalse(engine.isSearching(largeHash));
+
+        SameGameBoard small = randomBoard(random, 3, 4);
+        engine.search(small, (hash, move, group) -> { }).get(60, TimeUnit.SECONDS);
+        assertFalse(engine.hasFinalHint(largeHash), "A cancelled search must not cache its hint.");
+        assertNull(engine.getBestKnownHint(largeHash));
+        engine.shutdown();
+    }
+
+    private static SameGameBoard randomBoard(Random random, int rows, int columns) {
+        SameGameBoard board = new SameGameBoard(rows, columns);
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                board.setCode(r, c, 1 + random.nextInt(3));
+            }
+        }
+        return board;
+    }
+}
@@ -11,6 +11,8 @@ import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Unit tests for the {@link SameGameModel} class.
@@ -71,6 +73,25 @@ class SameGameModelTest {
         assertFalse(model.canUndo(), "Undo should not be possible on a new game (no history).");
     }
 
+    /**
+     * Tests that {@link SameGameModel#initializeGame(long)} deals the same board for the same seed,
+     * whatever model deals it and whatever was dealt before, and a different board for another seed.
+     */
+    @Test
+    void testInitializeGameWithSeedIsReproducible() {
+        model.initializeGame(99);
+        long firstHash = model.stateHash();
+
+        SameGameModel other = new SameGameModel(testDifficultyMedium);
+        other.initializeGame(5);
+        other.initializeGame(99);
+        assertEquals(firstHash, other.stateHash(), "The same seed should deal the same board.");
+        assertEquals(GameStatus.PLAYING, other.getCurrentStatus());
+
+        other.initializeGame(100);
+        assertNotEquals(firstHash, other.stateHash(), "Another seed should deal another board.");
+    }
+
     /**
      * Verifies that the private {@code calculatePoints} method is implicitly tested
      * through gameplay scenarios, specifically within {@link #testProcessInputAction_ValidMoveAndScore_CustomBoard()}.
@@ -95,9 +116,9 @@ class SameGameModelTest {
         Grid<SameGameTile> testBoard = new Grid<>(3, 3);
         Color C_RED = Color.RED;
         Color C_BLUE = Color.BLUE;
-        testBoard.setEntity(0,0, new SameGameTile(C_RED));  testBoard.setEntity(0,1, new SameGameTile(C_RED)); testBoard.setEntity(0,2, new SameGameTile(C_BLUE));
-        testBoard.setEntity(1,0, new SameGameTile(C_RED));  testBoard.setEntity(1,1, new SameGameTile(C_BLUE));testBoard.setEntity(1,2, new SameGameTile(C_BLUE));
-        testBoard.setEntity(2,0, new SameGameTile(C_BLUE)); testBoard.setEntity(2,1, new SameGameTile(C_RED)); testBoard.setEntity(2,2, new SameGameTile(C_BLUE));
+        testBoard.setEntity(0,0, SameGameTile.of(C_RED));  testBoard.setEntity(0,1, SameGameTile.of(C_RED)); testBoard.setEntity(0,2, SameGameTile.of(C_BLUE));
+        testBoard.setEntity(1,0, SameGameTile.of(C_RED));  testBoard.setEntity(1,1, SameGameTile.of(C_BLUE));testBoard.setEntity(1,2, SameGameTile.of(C_BLUE));
+        testBoard.setEntity(2,0, SameGameTile.of(C_BLUE)); testBoard.setEntity(2,1, SameGameTile.of(C_RED)); testBoard.setEntity(2,2, SameGameTile.of(C_BLUE));
         model.setTestGameBoard(testBoard, testDifficultyFor3x3, GameStatus.PLAYING);
 
         assertTrue(model.isValidAction(new SameGameSelectAction(0,0)), "Selecting (0,0) C_RED group (3 tiles) should be a valid move.");
@@ -120,9 +141,9 @@ class SameGameModelTest {
         Color C1 = Color.RED;
         Color C2 = Color.GREEN;
         Color C3 = Color.BLUE;
-        board.setEntity(0,0, new SameGameTile(C1)); board.setEntity(0,1, new SameGameTile(C1)); board.setEntity(0,2, new SameGameTile(C2));
-        board.setEntity(1,0, new SameGameTile(C3)); board.setEntity(1,1, new SameGameTile(C2)); board.setEntity(1,2, new SameGameTile(C2));
-        board.setEntity(2,0, new SameGameTile(C3)); board.setEntity(2,1, new SameGameTile(C3)); board.setEntity(2,2, new SameGameTile(C1));
+        board.setEntity(0,0, SameGameTile.of(C1)); board.setEntity(0,1, SameGameTile.of(C1)); board.setEntity(0,2, SameGameTile.of(C2));
+        board.setEntity(1,0, SameGameTile.of(C3)); board.setEntity(1,1, SameGameTile.of(C2)); board.setEntity(1,2, SameGameTile.of(C2));
+        board.setEntity(2,0, SameGameTile.of(C3)); board.setEntity(2,1, SameGameTile.of(C3)); board.setEntity(2,2, SameGameTile.of(C1));
 
         model.setTestGameBoard(board, testDifficultyFor3x3, GameStatus.PLAYING);
 
@@ -219,18 +240,17 @@ class SameGameModelTest {
         Grid<SameGameTile> board = new Grid<>(3, 3);
         Color R = Color.RED;
         Color G = Color.GREEN;
-        SameGameTile emptyPlaceholder = new SameGameTile(SameGameModel.PredefinedColors.EMPTY_SLOT_COLOR);
-        emptyPlaceholder.setEmpty();
-        board.setEntity(0, 0, new SameGameTile(R));
+        SameGameTile emptyPlaceholder = SameGameTile.EMPTY;
+        board.setEntity(0, 0, SameGameTile.of(R));
         board.setEntity(1, 0, emptyPlaceholder.copy());
-        board.setEntity(2, 0, new SameGameTile(G));
+        board.setEntity(2, 0, SameGameTile.of(G));
 
         board.setEntity(0, 1, emptyPlaceholder.copy());
-        board.setEntity(1, 1, new SameGameTile(R));
-        board.setEntity(2, 1, new SameGameTile(G));
+        board.setEntity(1, 1, SameGameTile.of(R));
+        board.setEntity(2, 1, SameGameTile.of(G));
 
-        board.setEntity(0, 2, new SameGameTile(R));
-        board.setEntity(1, 2, new SameGameTile(G));
+        board.setEntity(0, 2, SameGameTile.of(R));
+        board.setEntity(1, 2, SameGameTile.of(G));
         board.setEntity(2, 2, emptyPlaceholder.copy());
 
         model.setTestGameBoard(board, testDifficultyFor3x3, GameStatus.PLAYING);
@@ -270,11 +290,10 @@ class SameGameModelTest {
         Grid<SameGameTile> board = new Grid<>(3, 3);
         Color R = Color.RED;
         Color B = Color.BLUE;
-        SameGameTile emptyTile = new SameGameTile(SameGameModel.PredefinedColors.EMPTY_SLOT_COLOR);
-        emptyTile.setEmpty();
-        board.setEntity(0, 0, new SameGameTile(R)); board.setEntity(1, 0, new SameGameTile(R)); board.setEntity(2, 0, new SameGameTile(R));
+        SameGameTile emptyTile = SameGameTile.EMPTY;
+        board.setEntity(0, 0, SameGameTile.of(R)); board.setEntity(1, 0, SameGameTile.of(R)); board.setEntity(2, 0, SameGameTile.of(R));
         board.setEntity(0, 1, emptyTile.copy());    board.setEntity(1, 1, emptyTile.copy());    board.setEntity(2, 1, emptyTile.copy());
-        board.setEntity(0, 2, new SameGameTile(B)); board.setEntity(1, 2, new SameGameTile(B)); board.setEntity(2, 2, new SameGameTile(B));
+        board.setEntity(0, 2, SameGameTile.of(B)); board.setEntity(1, 2, SameGameTile.of(B)); board.setEntity(2, 2, SameGameTile.of(B));
 
         model.setTestGameBoard(board, testDifficultyFor3x3, GameStatus.PLAYING);
 
@@ -295,6 +314,71 @@ class SameGameModelTest {
         assertTrue(boardAfterCompact.getEntity(2, 2).isEmpty(), "Col2,Row2 should now be empty.");
     }
 
+    /**
+     * Tests that hints and end-of-game detection follow the board as it changes.
+     * On a 2x3 board the hint must be the larger (blue) group; removing it leaves the
+     * red pair as the only move, and removing that pair clears the board for a win.
+     */
+    @Test
+    void testSuggestMoveAndEndGame_FollowBoardChanges() {
+        model = new SameGameModel(testDifficultyFor3x3);
+
+        Grid<SameGameTile> board = new Grid<>(2, 3);
+        Color R = Color.RED;
+        Color B = Color.BLUE;
+        board.setEntity(0, 0, SameGameTile.of(R)); board.setEntity(0, 1, SameGameTile.of(B)); board.setEntity(0, 2, SameGameTile.of(B));
+        board.setEntity(1, 0, SameGameTile.of(R)); board.setEntity(1, 1, SameGameTile.of(B)); board.setEntity(1, 2, SameGameTile.of(B));
+        model.setTestGameBoard(board, testDifficultyFor3x3, GameStatus.PLAYING);
+
+        assertEquals(4, model.suggestMove().size(), "The hint should be the four-tile blue group.");
+
+        model.processInputAction(new SameGameSelectAction(0, 1));
+        assertEquals(GameStatus.PLAYING, model.getCurrentStatus(), "The red pair should still be removable.");
+        assertEquals(2, model.suggestMove().size(), "After the blue group is gone, the hint should be the red pair.");
+
+        model.processInputAction(new SameGameSelectAction(1, 0));
+        assertEquals(GameStatus.GAME_OVER_WIN, model.getCurrentStatus(), "Clearing every tile should win the game.");
+        assertEquals(4 * 3 + 2, model.getScore(), "Score should add n*(n-1) for both groups.");
+    }
+
+    /**
+     * Tests that undo replays moves backwards exactly, including moves that empty and close up columns.
+     * Plays a whole game on a fresh board by always taking the hinted group, keeping a copy of the board
+     * and score before every move, then undoes every move and compares each restored state with its copy.
+     */
+    @Test
+    void testUndoAllMoves_RestoresEveryPreviousBoard() {
+        model = new SameGameModel(testDifficultyFor3x3);
+        model.initializeGame();
+
+        List<SameGameBoard> boards = new ArrayList<>();
+        List<Integer> scores = new ArrayList<>();
+        while (model.getCurrentStatus() == GameStatus.PLAYING) {
+            boards.add(((SameGameBoard) model.getGameBoard()).copy());
+            scores.add(model.getScore());
+            SameGameModel.SameGameTilePosition target = model.suggestMove().get(0);
+            model.processInputAction(new SameGameSelectAction(target.row, target.col));
+        }
+
+        for (int move = boards.size() - 1; move >= 0; move--) {
+            assertTrue(model.canUndo(), "Every recorded move should be undoable.");
+            model.undoLastMove();
+            SameGameBoard expected = boards.get(move);
+            SameGameBoard actual = (SameGameBoard) model.getGameBoard();
+            for (int r = 0; r < expected.getRows(); r++) {
+                for (int c = 0; c < expected.getColumns(); c++) {
+                    assertEquals(expected.getCode(r, c), actual.getCode(r, c),
+                            "Cell (" + r + "," + c + ") should be restored after undoing move " + move + ".");
+                }
+            }
+            assertEquals(expected.getTileCount(), actual.getTileCount(), "Tile count should be restored.");
+            assertEquals(expected.stateHash(), model.stateHash(), "State hash should be restored.");
+            assertEquals((int) scores.get(move), model.getScore(), "Score should be restored after undoing move " + move + ".");
+            assertEquals(GameStatus.PLAYING, model.getCurrentStatus(), "A restored position with a move left should be PLAYING.");
+        }
+        assertFalse(model.canUndo(), "No moves should remain after undoing the whole game.");
+    }
+
     /**
      * Helper method to find the first valid action on the current model's board.
      * Iterates through all cells and checks if selecting that cell constitutes a valid move
@@ -0,0 +1,88 @@
+package com.aoopproject.games.samegame;
+
+import com.aoopproject.common.model.DifficultyLevel;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link SameGameSelfPlay} class.
+ * These tests verify that seeded series are reproducible, that the reported distribution is consistent,
+ * and that the built-in strategies rank as expected on the same boards.
+ */
+class SameGameSelfPlayTest {
+
+    /**
+     * Verifies that two runners with the same seed report the same scores, and that the percentiles
+     * of a report are ordered.
+     */
+    @Test
+    void testSeededSeriesAreReproducible() {
+        SameGameSelfPlay.StrategyReport first = new SameGameSelfPlay(DifficultyLevel.EASY, 42)
+                .play(SameGameStrategy.random(), 50);
+        SameGameSelfPlay.StrategyReport second = new SameGameSelfPlay(DifficultyLevel.EASY, 42)
+                .play(SameGameStrategy.random(), 50);
+
+        assertEquals(50, first.games());
+        assertEquals(first.meanScore(), second.meanScore());
+        assertEquals(first.totalMoves(), second.totalMoves());
+        assertTrue(first.minScore() <= first.p10Score());
+        assertTrue(first.p10Score() <= first.medianScore());
+        assertTrue(first.medianScore() <= first.p90Score());
+        assertTrue(first.p90Score() <= first.maxScore());
+    }
+
+    /**
+     * Plays the same boards with the greedy and search strategies and verifies that planning ahead
+     * scores higher on average.
+     */
+    @Test
+    void testSearchOutscoresGreedyOnTheSameBoards() {
+        SameGameSelfPlay runner = new SameGameSelfPlay(DifficultyLevel.EASY, 7);
+        SameGameSelfPlay.StrategyReport greedy = runner.play(SameGameStrategy.greedy(), 20);
+        SameGameSelfPlay.StrategyReport search = runner.play(
+                SameGameStrategy.search(new SameGameSolver(16, 200_000, 5_000)), 20);
+
+        assertEquals("greedy", greedy.strategy());
+        assertTrue(search.meanScore() > greedy.meanScore(),
+                "Search mean " + search.meanScore() + " should beat greedy mean " + greedy.meanScore());
+    }
+
+    /**
+     * Plays the same series sequentially and on several threads and verifies that the reports agree
+     * in everything but the elapsed time.
+     */
+    @Test
+    void testParallelSeriesMatchesSequentialSeries() {
+        SameGameSelfPlay runner = new SameGameSelfPlay(DifficultyLevel.MEDIUM, 11);
+        int games = 3 * SameGameSelfPlay.PARALLEL_CHUNK_GAMES + 5;
+        SameGameSelfPlay.StrategyReport sequential = runner.play(SameGameStrategy.random(), games);
+        for (int threads : new int[] {1, 4}) {
+            SameGameSelfPlay.StrategyReport parallel = runner.playParallel(SameGameStrategy::random, games, threads);
+            assertEquals(sequential.strategy(), parallel.strategy());
+            assertEquals(sequential.meanScore(), parallel.meanScore());
+            assertEquals(sequential.scoreStdDev(), parallel.scoreStdDev());
+            assertEquals(sequential.medianScore(), parallel.medianScore());
+            assertEquals(sequential.clearedGames(), parallel.clearedGames());
+            assertEquals(sequential.totalMoves(), parallel.totalMoves());
+        }
+    }
+
+    /** Verifies that a strategy choosing a group that does not exist is reported rather than played. */
+    @Test
+    void testInvalidChoiceIsRejected() {
+        SameGameStrategy broken = new SameGameStrategy() {
+            @Override
+            public String name() {
+                return "broken";
+            }
+
+            @Override
+            public int chooseGroup(SameGameSelfPlay.Position position, java.util.random.RandomGenerator random) {
+                return position.groupCount();
+            }
+        };
+        assertThrows(IllegalStateException.class,
+                () -> new SameGameSelfPlay(DifficultyLevel.EASY, 1).play(broken, 1));
+    }
+}
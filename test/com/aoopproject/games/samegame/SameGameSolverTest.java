@@ -0,0 +1,90 @@
+package com.aoopproject.games.samegame;
+
+import com.aoopproject.common.model.DifficultyLevel;
+import com.aoopproject.framework.core.GameStatus;
+import com.aoopproject.games.samegame.action.SameGameSelectAction;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Random;
+
+/**
+ * Unit tests for the {@link SameGameSolver} class.
+ * These tests verify that the solver looks past the greedy choice, that its moves replay in the model
+ * to exactly the reported score, and that a game is still completed when the budget runs out.
+ */
+class SameGameSolverTest {
+
+    /**
+     * On the row {@code A A B B A}, taking the first pair of A leaves a single A (4 points), while taking
+     * the B pair first joins all three A (8 points) and clears the board.
+     */
+    @Test
+    void testLooksPastTheGreedyMove() {
+        SameGameBoard board = new SameGameBoard(1, 5);
+        int[] row = {1, 1, 2, 2, 1};
+        for (int c = 0; c < row.length; c++) {
+            board.setCode(0, c, row[c]);
+        }
+        long hashBefore = board.stateHash();
+
+        SameGameSolution solution = new SameGameSolver().solve(board);
+
+        assertEquals(8, solution.score());
+        assertTrue(solution.cleared());
+        assertFalse(solution.budgetExceeded());
+        assertEquals(2, solution.moves().size());
+        assertEquals(new SameGameSelectAction(0, 2), solution.moves().get(0));
+        assertEquals(hashBefore, board.stateHash(), "The solved board must not be modified.");
+    }
+
+    /**
+     * Solves random boards and replays each solution in a model: every move must be valid, the game must
+     * end after the last move, and the model's score must equal the solution's, which is at least the
+     * score of always taking the hinted group. A tiny node budget must still yield a complete game.
+     */
+    @Test
+    void testSolutionsReplayToTheirScore() {
+        Random random = new Random(11);
+        SameGameSolver solver = new SameGameSolver(16, 100_000, 10_000);
+        for (int game = 0; game < 5; game++) {
+            SameGameBoard board = new SameGameBoard(6, 8);
+            for (int r = 0; r < board.getRows(); r++) {
+                for (int c = 0; c < board.getColumns(); c++) {
+                    board.setCode(r, c, 1 + random.nextInt(3));
+                }
+            }
+            SameGameSolution solution = solver.solve(board);
+            assertEquals(solution.score(), replay(board, solution), "Replaying the moves should score as reported.");
+            assertTrue(solution.score() >= playHints(board), "The search should do at least as well as the hints.");
+
+            SameGameSolution rushed = new SameGameSolver(16, 5, 10_000).solve(board);
+            assertTrue(rushed.budgetExceeded());
+            assertEquals(rushed.score(), replay(board, rushed));
+        }
+    }
+
+    private static int replay(SameGameBoard board, SameGameSolution solution) {
+        SameGameModel model = new SameGameModel(DifficultyLevel.EASY);
+        model.setTestGameBoard(board, DifficultyLevel.EASY, GameStatus.PLAYING);
+        for (SameGameSelectAction move : solution.moves()) {
+            assertEquals(GameStatus.PLAYING, model.getCurrentStatus());
+            assertTrue(model.isValidAction(move), "Move " + move + " should be valid.");
+            model.processInputAction(move);
+        }
+        assertNotEquals(GameStatus.PLAYING, model.getCurrentStatus(), "The moves should end the game.");
+        assertEquals(solution.cleared(), model.getCurrentStatus() == GameStatus.GAME_OVER_WIN);
+        return model.getScore();
+    }
+
+    private static int playHints(SameGameBoard board) {
+        SameGameModel model = new SameGameModel(DifficultyLevel.EASY);
+        model.setTestGameBoard(board, DifficultyLevel.EASY, GameStatus.PLAYING);
+        while (model.getCurrentStatus() == GameStatus.PLAYING) {
+            SameGameModel.SameGameTilePosition target = model.suggestMove().get(0);
+            model.processInputAction(new SameGameSelectAction(target.row, target.col));
+        }
+        return model.getScore();
+    }
+}
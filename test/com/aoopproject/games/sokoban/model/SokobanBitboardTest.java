@@ -0,0 +1,88 @@
+package com.aoopproject.games.sokoban.model;
+
+import com.aoopproject.framework.core.Grid;
+import com.aoopproject.games.sokoban.action.Direction;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link SokobanBitboard} class.
+ * These tests verify level parsing (including levels without an enclosing wall),
+ * move classification, the win check, the derived grid view, and the Zobrist state hash.
+ */
+class SokobanBitboardTest {
+
+    /**
+     * Parses a level that is not enclosed by walls and verifies that the implicit border
+     * blocks the player and boxes like a wall, while pushes onto free cells are allowed.
+     */
+    @Test
+    void testParseAndClassifyMoves() {
+        SokobanBitboard board = SokobanBitboard.parse(new String[]{"PB.", " $W"});
+
+        assertEquals(2, board.getRows());
+        assertEquals(3, board.getColumns());
+        assertEquals(board.cellIndex(0, 0), board.getPlayer());
+        assertEquals(2, board.getTargetCount());
+        assertEquals(2, board.getBoxCount());
+        assertEquals(1, board.countBoxesOnTargets());
+        assertFalse(board.isOnBoard(board.getPlayer() + board.offset(Direction.UP)), "The border lies outside the level.");
+
+        assertEquals(SokobanBitboard.BLOCKED, board.classifyMove(Direction.UP), "Stepping off the level is blocked.");
+        assertEquals(SokobanBitboard.BLOCKED, board.classifyMove(Direction.LEFT));
+        assertEquals(SokobanBitboard.WALK, board.classifyMove(Direction.DOWN));
+        assertEquals(SokobanBitboard.PUSH, board.classifyMove(Direction.RIGHT));
+        assertFalse(board.isSolved());
+
+        board.moveBox(board.cellIndex(0, 1), board.cellIndex(0, 2));
+        board.setPlayer(board.cellIndex(0, 1));
+        assertTrue(board.isSolved(), "Every target should now hold a box.");
+        assertEquals(SokobanBitboard.BLOCKED, board.classifyMove(Direction.RIGHT), "A box cannot be pushed off the level.");
+    }
+
+    /**
+     * Verifies that the derived grid shows the same tiles as the level text,
+     * and that a copy does not share state with the original.
+     */
+    @Test
+    void testToGridAndCopy() {
+        String[] level = {"WWWWW", "W@B W", "W $.W", "WWWWW"};
+        SokobanBitboard board = SokobanBitboard.parse(level);
+        Grid<SokobanTile> grid = board.toGrid();
+
+        assertEquals("@", grid.getEntity(1, 1).toString());
+        assertEquals("B", grid.getEntity(1, 2).toString());
+        assertEquals("X", grid.getEntity(2, 2).toString());
+        assertEquals(".", grid.getEntity(2, 3).toString());
+        assertEquals("W", grid.getEntity(0, 0).toString());
+
+        SokobanBitboard copy = board.copy();
+        board.moveBox(board.cellIndex(1, 2), board.cellIndex(1, 3));
+        assertTrue(copy.hasBox(copy.cellIndex(1, 2)), "The copy should keep its own boxes.");
+        assertFalse(board.hasBox(board.cellIndex(1, 2)));
+    }
+
+    /**
+     * Verifies that the state hash follows moves incrementally: it equals the hash of the same position
+     * parsed from text, it tells the player's cell apart, and moving back restores it.
+     */
+    @Test
+    void testStateHashFollowsMoves() {
+        SokobanBitboard board = SokobanBitboard.parse(new String[]{"WWWWWW", "WP B.W", "WWWWWW"});
+        long start = board.stateHash();
+
+        board.setPlayer(board.cellIndex(1, 2));
+        assertNotEquals(start, board.stateHash(), "The player's cell is part of the state.");
+        assertEquals(SokobanBitboard.parse(new String[]{"WWWWWW", "W PB.W", "WWWWWW"}).stateHash(), board.stateHash());
+
+        board.moveBox(board.cellIndex(1, 3), board.cellIndex(1, 4));
+        board.setPlayer(board.cellIndex(1, 3));
+        assertEquals(SokobanBitboard.parse(new String[]{"WWWWWW", "W  P$W", "WWWWWW"}).stateHash(), board.stateHash());
+        assertEquals(board.stateHash(), board.copy().stateHash());
+
+        board.moveBox(board.cellIndex(1, 4), board.cellIndex(1, 3));
+        board.setPlayer(board.cellIndex(1, 1));
+        assertEquals(start, board.stateHash(), "Moving back should restore the hash.");
+    }
+}
@@ -0,0 +1,92 @@
+package com.aoopproject.games.sokoban.model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link SokobanDeadlockDetector} class.
+ * These tests verify that each kind of deadlock is recognised around a pushed box,
+ * that movable boxes are not reported, and that spare boxes are tolerated.
+ */
+class SokobanDeadlockDetectorTest {
+
+    /** Creates a detector for a position, counting its spare boxes. */
+    private static SokobanDeadlockDetector detectorFor(SokobanBitboard board) {
+        return new SokobanDeadlockDetector(SokobanLevelAnalysis.of(board), board.getBoxCount() - board.getTargetCount());
+    }
+
+    /**
+     * Verifies a box in a corner, a square of four boxes in open floor, and a square of two boxes
+     * against a wall.
+     */
+    @Test
+    void testDeadSquareAndFrozenSquare() {
+        SokobanBitboard corner = SokobanBitboard.parse(new String[]{"WWWWW", "WB  W", "W P.W", "WWWWW"});
+        assertEquals(SokobanDeadlockDetector.Kind.DEAD_SQUARE,
+                detectorFor(corner).checkPush(corner, corner.cellIndex(1, 1)));
+
+        SokobanBitboard square = SokobanBitboard.parse(new String[]{
+                "WWWWWWW",
+                "W.... W",
+                "W BB  W",
+                "W BB  W",
+                "W  P  W",
+                "WWWWWWW"});
+        assertEquals(SokobanDeadlockDetector.Kind.FROZEN_SQUARE,
+                detectorFor(square).checkPush(square, square.cellIndex(3, 3)));
+
+        SokobanBitboard pair = SokobanBitboard.parse(new String[]{"WWWWWW", "W BB.W", "W  P.W", "WWWWWW"});
+        assertEquals(SokobanDeadlockDetector.Kind.FROZEN_SQUARE,
+                detectorFor(pair).checkPush(pair, pair.cellIndex(1, 3)));
+    }
+
+    /**
+     * Verifies that two boxes each held by a wall on one axis freeze each other on the other,
+     * that a single box against a wall can still be pushed along it, and that a spare box may freeze
+     * without a deadlock.
+     */
+    @Test
+    void testFrozenBoxes() {
+        SokobanBitboard frozen = SokobanBitboard.parse(new String[]{
+                "WWWWWWW",
+                "W.W   W",
+                "W BB  W",
+                "W  W .W",
+                "W P   W",
+                "WWWWWWW"});
+        assertEquals(SokobanDeadlockDetector.Kind.FROZEN_BOX,
+                detectorFor(frozen).checkPush(frozen, frozen.cellIndex(2, 3)));
+
+        SokobanBitboard single = SokobanBitboard.parse(new String[]{"WWWWWW", "W  B.W", "W  P W", "WWWWWW"});
+        assertEquals(SokobanDeadlockDetector.Kind.NONE,
+                detectorFor(single).checkPush(single, single.cellIndex(1, 3)), "The box can be pushed onto the target.");
+
+        SokobanDeadlockDetector tolerant = new SokobanDeadlockDetector(SokobanLevelAnalysis.of(frozen), 2);
+        assertEquals(SokobanDeadlockDetector.Kind.NONE, tolerant.checkPush(frozen, frozen.cellIndex(2, 3)),
+                "Two spare boxes may stay frozen.");
+    }
+
+    /**
+     * Verifies that a box reached along two paths of the freeze check is counted once: an L of three boxes
+     * on targets closes a square around a single box off target, so with one spare box the cluster is frozen
+     * but not a deadlock, while without spare boxes it is.
+     */
+    @Test
+    void testFrozenClusterCountsEachBoxOnce() {
+        SokobanBitboard cluster = SokobanBitboard.parse(new String[]{
+                "WWWWWWW",
+                "W     W",
+                "W $$  W",
+                "W $B  W",
+                "W  P  W",
+                "WWWWWWW"});
+        assertEquals(1, cluster.getBoxCount() - cluster.getTargetCount(), "The level has one spare box.");
+        assertEquals(SokobanDeadlockDetector.Kind.NONE,
+                detectorFor(cluster).checkPush(cluster, cluster.cellIndex(2, 2)),
+                "A single frozen box off target fits within one spare box.");
+
+        SokobanDeadlockDetector strict = new SokobanDeadlockDetector(SokobanLevelAnalysis.of(cluster), 0);
+        assertEquals(SokobanDeadlockDetector.Kind.FROZEN_SQUARE, strict.checkPush(cluster, cluster.cellIndex(2, 2)),
+                "Without spare boxes the box off target is stuck.");
+    }
+}
@@ -0,0 +1,69 @@
+package com.aoopproject.games.sokoban.model;
+
+import com.aoopproject.common.model.DifficultyLevel;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link SokobanLevelAnalysis} class.
+ * These tests verify the dead-square, push-distance and tunnel tables, and that the
+ * analysis is shared between positions of the same level.
+ */
+class SokobanLevelAnalysisTest {
+
+    /**
+     * Analyses a small level and checks its tables cell by cell.
+     */
+    @Test
+    void testTables() {
+        SokobanBitboard board = SokobanBitboard.parse(new String[]{
+                "WWWWWWW",
+                "W    .W",
+                "WWW WWW",
+                "W  PB W",
+                "WWWWWWW"});
+        SokobanLevelAnalysis analysis = SokobanLevelAnalysis.of(board);
+
+        assertEquals(1, analysis.getTargetCount());
+        assertEquals(board.cellIndex(1, 5), analysis.getTargetCell(0));
+        assertEquals(0, analysis.getPushDistance(0, board.cellIndex(1, 5)));
+        assertEquals(2, analysis.getPushDistance(0, board.cellIndex(1, 3)), "Two pushes right along the top row.");
+        assertEquals(3, analysis.getPushDistance(0, board.cellIndex(2, 3)), "One push up into the row, then two right.");
+
+        assertTrue(analysis.isDeadSquare(board.cellIndex(1, 1)), "A corner far from the target is dead.");
+        assertTrue(analysis.isDeadSquare(board.cellIndex(3, 4)), "A box in the bottom row cannot be pushed up.");
+        assertTrue(analysis.isDeadSquare(board.cellIndex(3, 3)), "Nobody can stand below the bottom row to push up.");
+        assertFalse(analysis.isDeadSquare(board.cellIndex(1, 2)));
+        assertEquals(6, analysis.getDeadSquareCount());
+        assertFalse(analysis.isDeadSquare(board.cellIndex(0, 0)), "Walls are not dead squares.");
+        assertEquals(SokobanLevelAnalysis.UNREACHABLE, analysis.getPushDistance(0, board.cellIndex(3, 1)));
+
+        assertTrue(analysis.isTunnel(board.cellIndex(2, 3)), "The gap between the rows is a tunnel.");
+        assertFalse(analysis.isTunnel(board.cellIndex(1, 3)));
+    }
+
+    /**
+     * Verifies that positions of one level share one cached analysis, that a different level does not,
+     * and that the model exposes the analysis of its level.
+     */
+    @Test
+    void testAnalysisIsSharedPerLevel() {
+        SokobanModel model = new SokobanModel(DifficultyLevel.HARD);
+        model.initializeGame();
+        SokobanBitboard start = model.getBitboard().copy();
+        SokobanLevelAnalysis analysis = model.getLevelAnalysis();
+
+        assertNotNull(analysis);
+        assertTrue(analysis.appliesTo(start));
+        start.moveBox(start.cellIndex(2, 3), start.cellIndex(2, 4));
+        assertSame(analysis, SokobanLevelAnalysis.of(start), "Moving a box does not change the level layout.");
+
+        model.initializeGame();
+        assertSame(analysis, model.getLevelAnalysis(), "Restarting the level should reuse its analysis.");
+
+        SokobanBitboard other = SokobanBitboard.parse(new String[]{"WWWWW", "WPB.W", "WWWWW"});
+        assertFalse(analysis.appliesTo(other));
+        assertNotSame(analysis, SokobanLevelAnalysis.of(other));
+    }
+}
@@ -0,0 +1,88 @@
+package com.aoopproject.games.sokoban.model;
+
+import com.aoopproject.common.model.DifficultyLevel;
+import com.aoopproject.framework.core.GameStatus;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Unit tests for the {@link SokobanLevelPack} class.
+ * These tests verify indexing of a small XSB pack with comments, titles and Windows line endings,
+ * the attribution of comments placed after boards, the conversion of XSB characters, and playing a pack level through {@link SokobanModel}.
+ */
+class SokobanLevelPackTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static final String PACK =
+            "; A small test pack\r\n" +
+            "\r\n" +
+            "#####\r\n" +
+            "#@$.#\r\n" +
+            "#####\r\n" +
+            "Title: First\r\n" +
+            "\r\n" +
+            "; Second\n" +
+            "######\n" +
+            "#+*-$#\n" +
+            "#  . #\n" +
+            "######\n" +
+            "; 2\n";
+
+    /**
+     * Opens the pack and checks the level count, the decoded rows and the titles.
+     */
+    @Test
+    void testIndexAndDecode() throws IOException {
+        Path file = tempDir.resolve("test.xsb");
+        Files.writeString(file, PACK);
+        SokobanLevelPack pack = SokobanLevelPack.open(file);
+
+        assertEquals(2, pack.size());
+        assertArrayEquals(new String[]{"WWWWW", "WPB.W", "WWWWW"}, pack.getLevel(0));
+        assertArrayEquals(new String[]{"WWWWWW", "W@$ BW", "W  . W", "WWWWWW"}, pack.getLevel(1));
+        assertEquals("First", pack.getTitle(0));
+        assertEquals("Second", pack.getTitle(1), "A comment just before the board is the title.");
+        assertThrows(IndexOutOfBoundsException.class, () -> pack.getLevel(2));
+    }
+
+    /**
+     * Reads the titles of a pack whose comments follow their boards, which must not be taken as the next level's title.
+     */
+    @Test
+    void testTrailingCommentTitles() throws IOException {
+        Path file = tempDir.resolve("trailing.sok");
+        Files.writeString(file,
+                "#####\n#@$.#\n#####\n; one\n\n" +
+                "######\n#@ $.#\n######\n; two\n\n" +
+                "####\n#$.#\n####\n\n");
+        SokobanLevelPack pack = SokobanLevelPack.open(file);
+
+        assertEquals(3, pack.size());
+        assertEquals("one", pack.getTitle(0));
+        assertEquals("two", pack.getTitle(1));
+        assertNull(pack.getTitle(2), "The previous level's comment is not this level's title.");
+    }
+
+    /**
+     * Plays the first pack level on a model, which decodes it on initialization.
+     */
+    @Test
+    void testModelPlaysPackLevel() throws IOException {
+        Path file = tempDir.resolve("test.sok");
+        Files.writeString(file, PACK);
+        SokobanModel model = new SokobanModel(SokobanLevelPack.open(file), 0, DifficultyLevel.EASY);
+        model.initializeGame();
+
+        assertEquals(0, model.getLevelIndex());
+        assertEquals(1, model.replay("R"));
+        assertEquals(GameStatus.GAME_OVER_WIN, model.getCurrentStatus());
+    }
+}
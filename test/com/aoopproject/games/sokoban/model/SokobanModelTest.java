@@ -6,11 +6,15 @@ import com.aoopproject.framework.core.GameStatus;
 import com.aoopproject.framework.core.Grid;
 import com.aoopproject.games.sokoban.action.Direction;
 import com.aoopproject.games.sokoban.action.SokobanMoveAction;
+import com.aoopproject.games.sokoban.action.SokobanWalkAction;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Unit tests for the {@link SokobanModel} class.
  * These tests verify the core game logic for Sokoban, including level initialization,
@@ -260,6 +264,145 @@ class SokobanModelTest {
         }
     }
 
+    /**
+     * Tests undoing a sequence of walks and pushes on the medium default level.
+     * Each move is undone in reverse order, and after every undo the player position,
+     * score, boxes-on-targets count and all occupants must match the state recorded before that move.
+     */
+    @Test
+    void testUndoSequence_WalksAndPushes() {
+        model = new SokobanModel(DifficultyLevel.MEDIUM);
+        model.initializeGame();
+        Direction[] moves = {Direction.LEFT, Direction.DOWN, Direction.DOWN, Direction.UP, Direction.RIGHT, Direction.DOWN};
+        List<Grid<SokobanTile>> boards = new ArrayList<>();
+        List<int[]> counters = new ArrayList<>();
+
+        for (Direction move : moves) {
+            if (!model.isValidAction(new SokobanMoveAction(move))) {
+                continue;
+            }
+            boards.add(((Grid<SokobanTile>) model.getGameBoard()).deepCopy(SokobanTile::copy));
+            counters.add(new int[]{model.getPlayerRow(), model.getPlayerCol(), model.getScore(), model.getBoxesOnTargets()});
+            model.processGameSpecificAction(new SokobanMoveAction(move));
+        }
+        assertTrue(boards.size() >= 3, "The move sequence should contain several legal moves.");
+
+        for (int i = boards.size() - 1; i >= 0; i--) {
+            model.undoLastMove();
+            int[] expected = counters.get(i);
+            assertArrayEquals(expected, new int[]{model.getPlayerRow(), model.getPlayerCol(), model.getScore(), model.getBoxesOnTargets()},
+                    "Player position, score and boxes on targets should revert for move " + i + ".");
+            Grid<SokobanTile> board = (Grid<SokobanTile>) model.getGameBoard();
+            for (int r = 0; r < board.getRows(); r++) {
+                for (int c = 0; c < board.getColumns(); c++) {
+                    assertEquals(boards.get(i).getEntity(r, c).getOccupant(), board.getEntity(r, c).getOccupant(),
+                            "Occupant at (" + r + "," + c + ") should revert for move " + i + ".");
+                }
+            }
+        }
+        assertFalse(model.canUndo(), "All moves should have been undone.");
+    }
+
+    /**
+     * Tests that pushing a box into the bottom row, from which it can never reach the target,
+     * fires {@code DEADLOCK_DETECTED} at once, and that undoing the push fires {@code DEADLOCK_CLEARED}.
+     */
+    @Test
+    void testDeadlockWarningAndUndo() {
+        model = new SokobanModel(new String[]{
+                "WWWWWW",
+                "W  P W",
+                "W  B.W",
+                "W    W",
+                "WWWWWW"}, DifficultyLevel.EASY);
+        model.initializeGame();
+        List<String> events = new ArrayList<>();
+        model.addObserver(event -> events.add(event.getType()));
+
+        model.processGameSpecificAction(new SokobanMoveAction(Direction.LEFT));
+        assertFalse(model.isDeadlocked(), "Walking cannot cause a deadlock.");
+        model.processGameSpecificAction(new SokobanMoveAction(Direction.RIGHT));
+        model.processGameSpecificAction(new SokobanMoveAction(Direction.DOWN));
+        assertTrue(model.isDeadlocked(), "The box in the bottom row can never be pushed up again.");
+        assertTrue(events.contains("DEADLOCK_DETECTED"));
+
+        model.undoLastMove();
+        assertFalse(model.isDeadlocked(), "Undoing the push should lift the deadlock.");
+        assertTrue(events.contains("DEADLOCK_CLEARED"));
+    }
+
+    /**
+     * Tests that a walk to a clicked cell follows the shortest path around a box as one move:
+     * the score counts every step, one {@code BOARD_CHANGED} event is fired, and a single undo
+     * puts the player back. Cells behind walls or boxes cannot be walked to.
+     */
+    @Test
+    void testWalkActionIsOneUndoableMove() {
+        model = new SokobanModel(new String[]{
+                "WWWWWW",
+                "WP   W",
+                "W WB.W",
+                "W    W",
+                "WWWWWW"}, DifficultyLevel.EASY);
+        model.initializeGame();
+        List<String> events = new ArrayList<>();
+        model.addObserver(event -> events.add(event.getType()));
+
+        assertFalse(model.isValidAction(new SokobanWalkAction(2, 3)), "A box cell cannot be walked to.");
+        assertFalse(model.isValidAction(new SokobanWalkAction(2, 2)), "A wall cell cannot be walked to.");
+        assertTrue(model.isValidAction(new SokobanWalkAction(3, 4)));
+
+        model.processInputAction(new SokobanWalkAction(3, 4));
+        assertEquals(3, model.getPlayerRow());
+        assertEquals(4, model.getPlayerCol());
+        assertEquals(5, model.getScore(), "The shortest path goes down the left column: five steps.");
+        assertEquals(1, events.stream().filter("BOARD_CHANGED"::equals).count(), "The walk should repaint once.");
+        assertEquals(SokobanOccupant.BOX, ((Grid<SokobanTile>) model.getGameBoard()).getEntity(2, 3).getOccupant(),
+                "Walking must not move any box.");
+
+        model.undoLastMove();
+        assertEquals(1, model.getPlayerRow());
+        assertEquals(1, model.getPlayerCol());
+        assertEquals(0, model.getScore());
+        assertFalse(model.canUndo(), "The whole walk should be a single undo entry.");
+    }
+
+    /**
+     * Tests that a solution is verified against the level's start without touching the game, and that
+     * the first illegal step is reported: an unknown character, a blocked move, or a move whose case
+     * does not match whether it pushes.
+     */
+    @Test
+    void testVerifySolution() {
+        model = new SokobanModel(new String[]{
+                "WWWWWW",
+                "WP B.W",
+                "WWWWWW"}, DifficultyLevel.EASY);
+        model.initializeGame();
+        List<String> events = new ArrayList<>();
+        model.addObserver(event -> events.add(event.getType()));
+
+        SokobanReplayResult result = model.verifySolution("rR");
+        assertTrue(result.solved());
+        assertTrue(result.isLegal());
+        assertEquals(2, result.movesPlayed());
+        assertEquals(1, result.pushes());
+        assertTrue(events.isEmpty(), "Verification must not notify observers.");
+        assertEquals(0, model.getScore());
+        assertEquals(1, model.getPlayerCol(), "Verification must not move the player.");
+        assertFalse(model.canUndo());
+
+        assertFalse(model.verifySolution("r").solved(), "Legal moves that leave a box off target do not solve.");
+        assertTrue(model.verifySolution("r").isLegal());
+        assertEquals(0, model.verifySolution("RR").failedStep(), "An upper-case move must push.");
+        assertEquals(1, model.verifySolution("rr").failedStep(), "A push must be written in upper case.");
+        assertEquals(2, model.verifySolution("rRR").failedStep(), "The box cannot be pushed into the wall.");
+        SokobanReplayResult unknown = model.verifySolution("rx");
+        assertEquals(1, unknown.failedStep());
+        assertEquals(1, unknown.movesPlayed());
+        assertNotNull(unknown.failure());
+    }
+
     /**
      * Helper method to find the first valid action on the current model's board.
      * Iterates through all cells and checks if selecting that cell (which is not directly applicable
@@ -0,0 +1,71 @@
+package com.aoopproject.games.sokoban.model;
+
+import com.aoopproject.games.sokoban.action.Direction;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link SokobanMoveGenerator} class.
+ * These tests verify the single-step move and push masks and the list of pushes reachable by walking.
+ */
+class SokobanMoveGeneratorTest {
+
+    private static final String[] LEVEL = {
+            "WWWWWWW",
+            "W P   W",
+            "W B B W",
+            "WB  . W",
+            "WW.WW.W",
+            "WWWWWWW"
+    };
+
+    /**
+     * Verifies the step masks: the player can walk left and right and push down, and up is a wall.
+     */
+    @Test
+    void testSingleStepMasks() {
+        SokobanBitboard board = SokobanBitboard.parse(LEVEL);
+
+        int moves = SokobanMoveGenerator.legalMoves(board);
+        assertEquals(SokobanMoveGenerator.bit(Direction.DOWN) | SokobanMoveGenerator.bit(Direction.LEFT)
+                | SokobanMoveGenerator.bit(Direction.RIGHT), moves);
+        assertEquals(SokobanMoveGenerator.bit(Direction.DOWN), SokobanMoveGenerator.legalPushes(board));
+    }
+
+    /**
+     * Verifies that every push reachable by walking is listed once, in box order, and that pushes needing
+     * the player to stand on a wall or on a cell it cannot walk to are not.
+     */
+    @Test
+    void testGeneratePushes() {
+        SokobanBitboard board = SokobanBitboard.parse(LEVEL);
+        SokobanMoveGenerator generator = new SokobanMoveGenerator();
+        int[] buffer = new int[4 * board.getBoxCount()];
+
+        int count = generator.generatePushes(board, buffer);
+
+        int[] expected = {
+                SokobanMoveGenerator.encodePush(board.cellIndex(2, 2), Direction.UP),
+                SokobanMoveGenerator.encodePush(board.cellIndex(2, 2), Direction.DOWN),
+                SokobanMoveGenerator.encodePush(board.cellIndex(2, 2), Direction.LEFT),
+                SokobanMoveGenerator.encodePush(board.cellIndex(2, 2), Direction.RIGHT),
+                SokobanMoveGenerator.encodePush(board.cellIndex(2, 4), Direction.UP),
+                SokobanMoveGenerator.encodePush(board.cellIndex(2, 4), Direction.DOWN),
+                SokobanMoveGenerator.encodePush(board.cellIndex(2, 4), Direction.LEFT),
+                SokobanMoveGenerator.encodePush(board.cellIndex(2, 4), Direction.RIGHT),
+        };
+        assertEquals(expected.length, count, "The box in the corner cannot be pushed at all.");
+        for (int i = 0; i < count; i++) {
+            assertEquals(expected[i], buffer[i], "Push " + i);
+        }
+        assertEquals(board.cellIndex(2, 4), SokobanMoveGenerator.pushedBox(buffer[4]));
+        assertEquals(Direction.UP, SokobanMoveGenerator.pushDirection(buffer[4]));
+
+        SokobanBitboard corridor = SokobanBitboard.parse(new String[]{"WWWWWWW", "WP B  W", "WWWWWWW"});
+        assertEquals(1, generator.generatePushes(corridor, buffer), "The far side of the box cannot be reached.");
+        assertEquals(SokobanMoveGenerator.encodePush(corridor.cellIndex(1, 3), Direction.RIGHT), buffer[0]);
+
+        assertThrows(IllegalArgumentException.class, () -> generator.generatePushes(board, new int[3]));
+    }
+}
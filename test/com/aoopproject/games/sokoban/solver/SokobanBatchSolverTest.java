@@ -0,0 +1,88 @@
+package com.aoopproject.games.sokoban.solver;
+
+import com.aoopproject.games.sokoban.model.SokobanLevelPack;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Unit tests for the {@link SokobanBatchSolver} class.
+ * These tests run a small pack on several threads and check the streamed reports and the summary,
+ * and check that invalid levels are reported as such rather than solved or unsolvable.
+ */
+class SokobanBatchSolverTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Solves a pack of two solvable levels and one deadlocked level, and verifies that every level is
+     * reported once, that solutions are verified, and that the reports format as CSV and JSON.
+     */
+    @Test
+    void testSolveAllReportsEveryLevel() throws IOException {
+        Path file = tempDir.resolve("batch.xsb");
+        Files.writeString(file,
+                "#####\n#@$.#\n#####\nTitle: Push \"right\"\n\n" +
+                "#####\n#$  #\n# @.#\n#####\n\n" +
+                "######\n#    #\n# $$ #\n#.@ .#\n######\n");
+        SokobanLevelPack pack = SokobanLevelPack.open(file);
+        List<SokobanBatchSolver.LevelReport> reports = new ArrayList<>();
+
+        SokobanBatchSolver.BatchSummary summary = new SokobanBatchSolver(new SolverLimits(5_000, 16L << 20), 3)
+                .solveAll(pack, reports::add);
+
+        assertEquals(3, summary.levels());
+        assertEquals(2, summary.solved());
+        assertEquals(0, summary.invalid());
+        assertEquals(0, summary.failedVerification());
+        assertTrue(summary.levelsPerSecond() > 0);
+        assertEquals(3, reports.size(), "Every level should be reported once.");
+        reports.sort(Comparator.comparingInt(SokobanBatchSolver.LevelReport::level));
+
+        SokobanBatchSolver.LevelReport first = reports.get(0);
+        assertTrue(first.verified());
+        assertEquals(1, first.pushes());
+        assertEquals("1,\"Push \"\"right\"\"\",SOLVED,true,1,1," + first.exploredStates() + "," + first.elapsedMillis(), first.toCsv());
+        assertTrue(first.toJson().startsWith("{\"level\":1,\"title\":\"Push \\\"right\\\"\",\"outcome\":\"SOLVED\""));
+
+        assertEquals(SolverResult.Outcome.UNSOLVABLE, reports.get(1).outcome(), "A box in a corner cannot be solved.");
+        assertFalse(reports.get(1).verified());
+        assertTrue(reports.get(2).verified());
+    }
+
+    /**
+     * Runs a pack of levels without a target, without a player and with fewer boxes than targets, which must
+     * all be reported as invalid instead of trivially solved or unsolvable.
+     */
+    @Test
+    void testInvalidLevelsAreReported() throws IOException {
+        Path file = tempDir.resolve("invalid.xsb");
+        Files.writeString(file,
+                "#####\n#@$ #\n#####\n\n" +
+                "#####\n# $.#\n#####\n\n" +
+                "######\n#@$..#\n######\n");
+        List<SokobanBatchSolver.LevelReport> reports = new ArrayList<>();
+
+        SokobanBatchSolver.BatchSummary summary = new SokobanBatchSolver(new SolverLimits(5_000, 16L << 20), 2)
+                .solveAll(SokobanLevelPack.open(file), reports::add);
+
+        assertEquals(0, summary.solved());
+        assertEquals(3, summary.invalid());
+        assertEquals(3, reports.size());
+        for (SokobanBatchSolver.LevelReport report : reports) {
+            assertEquals(SolverResult.Outcome.INVALID_LEVEL, report.outcome(), "Level " + report.level() + " is not valid.");
+            assertFalse(report.verified());
+            assertTrue(report.toCsv().contains(",INVALID_LEVEL,false,0,0,"));
+            assertTrue(report.toJson().contains("\"outcome\":\"INVALID_LEVEL\""));
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.aoopproject.games.sokoban.solver;
+
+import com.aoopproject.common.model.DifficultyLevel;
+import com.aoopproject.framework.core.GameStatus;
+import com.aoopproject.games.sokoban.model.SokobanBitboard;
+import com.aoopproject.games.sokoban.model.SokobanModel;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link SokobanSolver} class.
+ * These tests verify that solutions found for the built-in levels replay to a win on a
+ * {@link SokobanModel}, that deadlocked levels are reported as unsolvable, and that the
+ * search respects its memory budget without reporting non-optimal solutions.
+ */
+class SokobanSolverTest {
+
+    /** The layout of the model's hard default level. */
+    private static final String[] HARD_LEVEL = {
+            "  WWWWW ",
+            "WWW   W ",
+            "W.PB  W ",
+            "WWW B.W ",
+            "W.WWB W ",
+            "W W . WW",
+            "WB BBB.W",
+            "W   .  W",
+            "WWWWWWWW"
+    };
+
+    /**
+     * Solves the easy, medium and hard default levels and replays each solution on a fresh model,
+     * which must end in a win after exactly the returned number of moves.
+     */
+    @Test
+    void testSolutionsReplayToWinOnDefaultLevels() {
+        SokobanSolver solver = new SokobanSolver();
+        for (DifficultyLevel difficulty : DifficultyLevel.values()) {
+            SokobanModel model = new SokobanModel(difficulty);
+            model.initializeGame();
+
+            SolverResult result = solver.solve(model.getBitboard());
+
+            assertTrue(result.isSolved(), "Default " + difficulty + " level should be solvable.");
+            assertEquals(result.moves().length(), model.replay(result.moves()), "Every move should be played.");
+            assertEquals(GameStatus.GAME_OVER_WIN, model.getCurrentStatus(), "Replaying the solution should win.");
+            assertEquals(result.pushes(), result.moves().chars().filter(Character::isUpperCase).count());
+        }
+    }
+
+    /**
+     * Verifies that the hard level is solved quickly with the fewest possible pushes (11, as found by
+     * an exhaustive breadth-first search), and that a position already solved needs no moves.
+     */
+    @Test
+    void testHardLevelIsPushOptimal() {
+        SolverResult result = new SokobanSolver().solve(SokobanBitboard.parse(HARD_LEVEL));
+        assertTrue(result.isSolved());
+        assertEquals(11, result.pushes(), "The solution should use the fewest pushes.");
+        assertTrue(result.elapsedMillis() < 2_000, "The hard level should be solved quickly.");
+
+        SolverResult trivial = new SokobanSolver().solve(SokobanBitboard.parse(new String[]{"P$"}));
+        assertTrue(trivial.isSolved());
+        assertEquals("", trivial.moves());
+    }
+
+    /**
+     * Verifies that a box in a corner makes a level unsolvable, that boxes which are only
+     * temporarily blocked by each other are not mistaken for a deadlock, and that an exhausted
+     * memory budget is reported as such.
+     */
+    @Test
+    void testDeadlocksAndLimits() {
+        SolverResult corner = new SokobanSolver().solve(SokobanBitboard.parse(new String[]{
+                "WWWWW",
+                "WB  W",
+                "W P.W",
+                "WWWWW"}));
+        assertEquals(SolverResult.Outcome.UNSOLVABLE, corner.outcome(), "A box in a corner can never reach a target.");
+
+        SolverResult adjacent = new SokobanSolver().solve(SokobanBitboard.parse(new String[]{
+                "WWWWWW",
+                "W    W",
+                "W BB W",
+                "W.P .W",
+                "WWWWWW"}));
+        assertTrue(adjacent.isSolved(), "Two adjacent boxes in open space should reach their targets.");
+
+        SolverResult limited = new SokobanSolver(new SolverLimits(10_000, 64)).solve(SokobanBitboard.parse(HARD_LEVEL));
+        assertEquals(SolverResult.Outcome.MEMORY_LIMIT, limited.outcome());
+        assertEquals("", limited.moves());
+
+        for (long budget = 1 << 10; budget <= 1 << 16; budget += 1 << 10) {
+            SolverResult result = new SokobanSolver(new SolverLimits(10_000, budget)).solve(SokobanBitboard.parse(HARD_LEVEL));
+            if (result.isSolved()) {
+                assertEquals(11, result.pushes(), "A solution found within a tight budget must still be push-optimal.");
+            } else {
+                assertEquals(SolverResult.Outcome.MEMORY_LIMIT, result.outcome());
+            }
+        }
+    }
+}